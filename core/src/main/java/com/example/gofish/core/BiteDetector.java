@@ -0,0 +1,285 @@
+package com.example.gofish.core;
+
+/**
+ * Bite detection on decoded packet fields, shared by the live packet handler and the capture replay
+ * Tracks the bobbers in range, follows the local hook and fuses splash evidence near it into bite decisions.
+ * Uses no Minecraft classes, so a recorded session can be fed through the same code outside the game.
+ * Not thread-safe: feed it from a single thread (the Netty thread when live).
+ */
+public class BiteDetector {
+
+    // Object type of fishing bobbers in S0EPacketSpawnObject
+    public static final int FISHING_BOBBER_OBJECT_TYPE = 90;
+
+    // Particle ID of EnumParticleTypes.WATER_SPLASH
+    public static final int WATER_SPLASH_PARTICLE_ID = 5;
+
+    public static final String SPLASH_SOUND = "random.splash";
+    public static final String WATER_SPLASH_SOUND = "game.player.swim.splash";
+
+    // Detection radii around the hook, squared so the packet path never needs a sqrt
+    private static final double SOUND_BITE_RADIUS_SQ = 2.0 * 2.0;
+    private static final double PARTICLE_BITE_RADIUS_SQ = 1.5 * 1.5;
+
+    // Box around our bobber (in 1/32 blocks) outside of which a splash is rejected without any distance math
+    // Larger than the detection radii because the server only sends bobber movement every few ticks
+    private static final int BOBBER_BOX_RADIUS = 3 * BobberRegistry.FIXED_POINT_SCALE;
+    private static final int BOBBER_REGISTRY_CAPACITY = 32;
+
+    // Vertical hook velocity (in blocks per tick) a bite has to exceed
+    private static final double MIN_BITE_MOTION_Y = 0.2;
+
+    /**
+     * Detection settings, read for every signal so changes apply immediately
+     */
+    public interface Settings {
+        boolean isEnabled();
+        double getSignalWeight(int signal);
+        double getScoreThreshold();
+        long getFusionWindow();
+    }
+
+    /**
+     * Source of the player's fishing state
+     */
+    public interface SnapshotSource {
+        FishingSnapshot getSnapshot();
+    }
+
+    /**
+     * Receives every bite decision
+     */
+    public interface Listener {
+        /**
+         * @param hookEntityId Entity ID of the hook that was bitten
+         * @param signalMask Signals that made up the decision, as a mask of 1 << BiteSignalFusion.SIGNAL_ bits
+         * @param firstSignalTime Time of the first signal that counted towards the decision
+         * @param time Time of the decision
+         */
+        void onBite(int hookEntityId, int signalMask, long firstSignalTime, long time);
+    }
+
+    private final Settings settings;
+    private final SnapshotSource snapshots;
+    private final DetectionStats stats;
+    private final HookTrajectoryTracker hookTrajectory;
+    private final Listener listener;
+
+    // Every bobber in range
+    private final BobberRegistry bobbers = new BobberRegistry(BOBBER_REGISTRY_CAPACITY);
+
+    // Combines the bite signals of the current hook into one decision
+    private final BiteSignalFusion biteFusion = new BiteSignalFusion();
+
+    public BiteDetector(Settings settings, SnapshotSource snapshots, DetectionStats stats,
+                        HookTrajectoryTracker hookTrajectory, Listener listener) {
+        this.settings = settings;
+        this.snapshots = snapshots;
+        this.stats = stats;
+        this.hookTrajectory = hookTrajectory;
+        this.listener = listener;
+    }
+
+    /**
+     * Get the registry of bobbers in range
+     */
+    public BobberRegistry getBobbers() {
+        return bobbers;
+    }
+
+    /**
+     * The join packet carries our own entity ID, which owns our bobber
+     */
+    public void onJoinGame(int playerEntityId) {
+        bobbers.clear();
+        hookTrajectory.reset();
+        bobbers.setLocalPlayerId(playerEntityId);
+    }
+
+    /**
+     * All entities are dropped on respawn or world change, the player keeps their entity ID
+     */
+    public void onRespawn() {
+        bobbers.clear();
+        hookTrajectory.reset();
+    }
+
+    /**
+     * Register bobbers as they spawn, the spawn data holds the entity ID of the angler
+     * @param x Position in 1/32 blocks, as sent by the server
+     */
+    public void onSpawnObject(int entityId, int type, int data, int x, int y, int z, long time) {
+        if (type != FISHING_BOBBER_OBJECT_TYPE) return;
+
+        bobbers.add(entityId, data, x, y, z);
+        if (entityId == bobbers.getLocalBobberId()) {
+            hookTrajectory.start(entityId, time);
+        }
+    }
+
+    public void onDestroyEntity(int entityId) {
+        if (bobbers.size() == 0) return;
+
+        bobbers.remove(entityId);
+        hookTrajectory.remove(entityId);
+    }
+
+    /**
+     * @param dx Relative movement in 1/32 blocks
+     */
+    public void onEntityMove(int entityId, int dx, int dy, int dz, boolean onGround, long time) {
+        if (bobbers.size() == 0) return;
+
+        if (bobbers.moveBy(entityId, dx, dy, dz)) {
+            hookTrajectory.onMove(entityId, dy, onGround, time);
+        }
+    }
+
+    /**
+     * @param x Position in 1/32 blocks
+     */
+    public void onEntityTeleport(int entityId, int x, int y, int z, boolean onGround, long time) {
+        if (bobbers.size() == 0) return;
+
+        int dy = entityId == bobbers.getLocalBobberId() ? y - bobbers.getLocalBobberY() : 0;
+        if (bobbers.moveTo(entityId, x, y, z)) {
+            hookTrajectory.onMove(entityId, dy, onGround, time);
+        }
+    }
+
+    /**
+     * Splash sounds near the hook indicate a bite
+     */
+    public void onSound(String soundName, double x, double y, double z, long time) {
+        if (!soundName.equals(SPLASH_SOUND) && !soundName.equals(WATER_SPLASH_SOUND)) {
+            stats.record(DetectionStats.IRRELEVANT, DetectionStats.PACKET_SOUND);
+            return;
+        }
+
+        // Casts are reported by the state tracker, so a splash only matters while fishing
+        FishingSnapshot current = snapshots.getSnapshot();
+        if (!isDetectionActive(current, DetectionStats.PACKET_SOUND)) {
+            return;
+        }
+        if (isForeignSplash(x, y, z)) {
+            stats.record(DetectionStats.FOREIGN_BOBBER, DetectionStats.PACKET_SOUND);
+            return;
+        }
+
+        // If the splash is close to the fishing hook (likely a fish bite)
+        if (current.distanceSquaredTo(x, y, z) < SOUND_BITE_RADIUS_SQ) {
+            offerBiteSignal(BiteSignalFusion.SIGNAL_SOUND, DetectionStats.PACKET_SOUND, getHookEntityId(current), time);
+        } else {
+            stats.record(DetectionStats.OUT_OF_RANGE, DetectionStats.PACKET_SOUND);
+        }
+    }
+
+    /**
+     * Water splash particles often appear when a fish bites
+     */
+    public void onParticle(int particleId, double x, double y, double z, long time) {
+        if (particleId != WATER_SPLASH_PARTICLE_ID) {
+            stats.record(DetectionStats.IRRELEVANT, DetectionStats.PACKET_PARTICLE);
+            return;
+        }
+
+        FishingSnapshot current = snapshots.getSnapshot();
+        if (!isDetectionActive(current, DetectionStats.PACKET_PARTICLE)) {
+            return;
+        }
+        if (isForeignSplash(x, y, z)) {
+            stats.record(DetectionStats.FOREIGN_BOBBER, DetectionStats.PACKET_PARTICLE);
+            return;
+        }
+
+        // If the particles are close to the fishing hook (likely a fish bite)
+        if (current.distanceSquaredTo(x, y, z) < PARTICLE_BITE_RADIUS_SQ) {
+            offerBiteSignal(BiteSignalFusion.SIGNAL_PARTICLE, DetectionStats.PACKET_PARTICLE, getHookEntityId(current), time);
+        } else {
+            stats.record(DetectionStats.OUT_OF_RANGE, DetectionStats.PACKET_PARTICLE);
+        }
+    }
+
+    /**
+     * A sudden vertical velocity change of our hook indicates a bite
+     * @param motionY Vertical velocity as sent by the server (1/8000 blocks per tick)
+     */
+    public void onVelocity(int entityId, int motionY, long time) {
+        // Most velocity packets belong to other entities, so compare the ID before anything else
+        // The registry learns about our bobber from its spawn packet, before the snapshot does
+        FishingSnapshot current = snapshots.getSnapshot();
+        int hookEntityId = getHookEntityId(current);
+        if (hookEntityId == FishingSnapshot.NO_HOOK || entityId != hookEntityId) {
+            stats.record(DetectionStats.OTHER_ENTITY, DetectionStats.PACKET_VELOCITY);
+            return;
+        }
+
+        hookTrajectory.onVelocity(hookEntityId, motionY, time);
+
+        // If the hook has significant vertical velocity, it might be a bite
+        if (Math.abs(motionY / 8000.0) <= MIN_BITE_MOTION_Y) {
+            stats.record(DetectionStats.WEAK_MOTION, DetectionStats.PACKET_VELOCITY);
+        } else if (isDetectionActive(current, DetectionStats.PACKET_VELOCITY)) {
+            offerBiteSignal(BiteSignalFusion.SIGNAL_VELOCITY, DetectionStats.PACKET_VELOCITY, hookEntityId, time);
+        }
+    }
+
+    /**
+     * Check if bite detection should run for the current packet, and count why not
+     */
+    private boolean isDetectionActive(FishingSnapshot current, int packetType) {
+        // Only process if notifications are enabled and the player is actually fishing
+        if (!settings.isEnabled()) {
+            stats.record(DetectionStats.DISABLED, packetType);
+            return false;
+        }
+        if (!current.isFishing() || !current.hasHook()) {
+            stats.record(DetectionStats.NOT_FISHING, packetType);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the entity ID of our hook, from the registry if it has seen the spawn packet
+     */
+    private int getHookEntityId(FishingSnapshot current) {
+        return bobbers.hasLocalBobber() ? bobbers.getLocalBobberId() : current.getHookEntityId();
+    }
+
+    /**
+     * Score a bite signal and report a bite once there is enough evidence
+     */
+    private void offerBiteSignal(int signal, int packetType, int hookEntityId, long time) {
+        int result = biteFusion.offer(signal, hookEntityId, settings.getSignalWeight(signal),
+                                      settings.getScoreThreshold(), settings.getFusionWindow(), time);
+        if (result == BiteSignalFusion.RESULT_BITE) {
+            stats.record(DetectionStats.ACCEPTED, packetType);
+            listener.onBite(hookEntityId, biteFusion.getLastDecisionMask(), biteFusion.getLastDecisionWindowStart(), time);
+        } else if (result == BiteSignalFusion.RESULT_PENDING) {
+            stats.record(DetectionStats.FUSION_PENDING, packetType);
+        } else {
+            stats.record(DetectionStats.FUSION_DUPLICATE, packetType);
+        }
+    }
+
+    /**
+     * Check if a splash at the given position cannot come from our bobber
+     * Only integer comparisons against the bobber registry, so most splashes at a crowded spot end here
+     */
+    private boolean isForeignSplash(double x, double y, double z) {
+        // Without our bobber in the registry, leave the decision to the distance check
+        if (!bobbers.hasLocalBobber()) return false;
+
+        int fixedX = BobberRegistry.toFixed(x);
+        int fixedY = BobberRegistry.toFixed(y);
+        int fixedZ = BobberRegistry.toFixed(z);
+
+        if (!bobbers.isNearLocalBobber(fixedX, fixedY, fixedZ, BOBBER_BOX_RADIUS)) {
+            return true;
+        }
+
+        // Close to ours, but another player's bobber may be even closer
+        return bobbers.size() > 1 && bobbers.isCloserToForeignBobber(fixedX, fixedY, fixedZ);
+    }
+}
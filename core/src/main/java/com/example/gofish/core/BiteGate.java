@@ -0,0 +1,40 @@
+package com.example.gofish.core;
+
+/**
+ * Final check of a detected bite before the fishing handler acts on it
+ * Bites right after a cast are the splash of the hook landing, and bites right after another one are the same fish.
+ * Not thread-safe: only use it from the thread that handles bites (the client thread when live).
+ */
+public class BiteGate {
+
+    private long lastCastTime = 0;
+    private long lastBiteTime = 0;
+
+    /**
+     * Remember when the hook was cast
+     */
+    public void onCast(long time) {
+        lastCastTime = time;
+    }
+
+    /**
+     * Check a detected bite, and remember it if it is accepted
+     * @param castIgnoreTime Time in ms after a cast during which bites are ignored
+     * @param cooldown Minimum time in ms between two accepted bites
+     * @return DetectionStats.ACCEPTED, CAST_IGNORE or COOLDOWN
+     */
+    public int check(long time, long castIgnoreTime, long cooldown) {
+        // Ignore bites that are too close to the cast time
+        if (time - lastCastTime < castIgnoreTime) {
+            return DetectionStats.CAST_IGNORE;
+        }
+
+        // Check for cooldown to prevent spam
+        if (time - lastBiteTime < cooldown) {
+            return DetectionStats.COOLDOWN;
+        }
+
+        lastBiteTime = time;
+        return DetectionStats.ACCEPTED;
+    }
+}
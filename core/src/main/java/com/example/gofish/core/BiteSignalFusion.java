@@ -0,0 +1,122 @@
+package com.example.gofish.core;
+
+/**
+ * Combines the sound, particle and velocity evidence of a bite into a single decision
+ * Signals for the current hook are collected in a short window. Each signal type counts once
+ * per window with its configured weight, and a bite is reported as soon as the score reaches the threshold.
+ * Only primitive fields, so scoring never allocates. Not thread-safe: only use it from the packet thread.
+ */
+public class BiteSignalFusion {
+
+    // Signal types (bit positions in the window mask)
+    public static final int SIGNAL_SOUND = 0;
+    public static final int SIGNAL_PARTICLE = 1;
+    public static final int SIGNAL_VELOCITY = 2;
+
+    // Results of offering a signal
+    public static final int RESULT_BITE = 0;      // Signal completed a bite decision
+    public static final int RESULT_PENDING = 1;   // Signal scored, not enough evidence yet
+    public static final int RESULT_DUPLICATE = 2; // Signal was already counted for this bite
+
+    private int hookEntityId = BobberRegistry.NO_BOBBER;
+
+    // Current window
+    private long windowStart = 0;
+    private int signalMask = 0;
+    private double score = 0;
+
+    // Last decision, signals right after it belong to the same bite
+    private long lastDecisionTime = 0;
+    private boolean decided = false;
+    private double lastDecisionScore = 0;
+    private int lastDecisionMask = 0;
+    private long lastDecisionWindowStart = 0;
+
+    /**
+     * Add a signal for a hook
+     * @param signal One of the SIGNAL_ constants
+     * @param hookEntityId Entity ID of the hook the signal was matched to
+     * @param weight Weight of this signal type
+     * @param threshold Score needed for a bite
+     * @param window Length of the collection window in ms
+     * @param time Time the signal was received
+     * @return one of the RESULT_ constants
+     */
+    public int offer(int signal, int hookEntityId, double weight, double threshold, long window, long time) {
+        if (hookEntityId != this.hookEntityId) {
+            // New cast, nothing from the old hook carries over
+            reset(hookEntityId);
+        }
+
+        // Swallow the rest of a bite that has already been reported
+        if (decided && time - lastDecisionTime < window * 2) {
+            return RESULT_DUPLICATE;
+        }
+        decided = false;
+
+        if (signalMask == 0 || time - windowStart > window) {
+            windowStart = time;
+            signalMask = 0;
+            score = 0;
+        }
+
+        int bit = 1 << signal;
+        if ((signalMask & bit) != 0) {
+            // Repeated packets of the same kind add no new evidence
+            return RESULT_DUPLICATE;
+        }
+        signalMask |= bit;
+        score += weight;
+
+        if (score < threshold) {
+            return RESULT_PENDING;
+        }
+
+        decided = true;
+        lastDecisionTime = time;
+        lastDecisionScore = score;
+        lastDecisionMask = signalMask;
+        lastDecisionWindowStart = windowStart;
+        signalMask = 0;
+        score = 0;
+        return RESULT_BITE;
+    }
+
+    /**
+     * Drop all collected signals and follow a new hook
+     */
+    public void reset(int hookEntityId) {
+        this.hookEntityId = hookEntityId;
+        signalMask = 0;
+        score = 0;
+        decided = false;
+    }
+
+    /**
+     * Get the score of the last bite decision
+     */
+    public double getLastDecisionScore() {
+        return lastDecisionScore;
+    }
+
+    /**
+     * Get the signals that made up the last bite decision, as a mask of 1 << SIGNAL_ bits
+     */
+    public int getLastDecisionMask() {
+        return lastDecisionMask;
+    }
+
+    /**
+     * Get the time of the first signal that counted towards the last bite decision
+     */
+    public long getLastDecisionWindowStart() {
+        return lastDecisionWindowStart;
+    }
+
+    /**
+     * Check if a signal type is part of a signal mask
+     */
+    public static boolean hasSignal(int mask, int signal) {
+        return (mask & (1 << signal)) != 0;
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.gofish.core;
+
+import java.util.Arrays;
+
+/**
+ * Registry of every fishing bobber the server has spawned in range, keyed by entity ID
+ * Positions are kept in the protocol's fixed-point format (1/32 block), so updates never touch doubles.
+ * Uses open addressing over primitive arrays, so adding, moving and looking up bobbers never allocates
+ * (apart from growing the table). Not thread-safe: only use it from the packet thread.
+ */
+public class BobberRegistry {
+
+    public static final int NO_BOBBER = -1;
+    public static final int NO_PLAYER = -1;
+
+    // Protocol fixed-point scale for entity positions
+    public static final int FIXED_POINT_SCALE = 32;
+
+    // Marks a free slot, entity IDs handed out by the server are never negative
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] keys;
+    private int[] owners;
+    private int[] xs;
+    private int[] ys;
+    private int[] zs;
+    private int mask;
+    private int size = 0;
+
+    private int localPlayerId = NO_PLAYER;
+    private int localBobberId = NO_BOBBER;
+    private int localSlot = -1;
+
+    /**
+     * Constructor
+     * @param initialCapacity Expected number of bobbers (rounded up to a power of two)
+     */
+    public BobberRegistry(int initialCapacity) {
+        int capacity = 8;
+        while (capacity < initialCapacity * 2) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Convert a block coordinate to the protocol's fixed-point format
+     */
+    public static int toFixed(double coordinate) {
+        return (int) Math.floor(coordinate * FIXED_POINT_SCALE);
+    }
+
+    /**
+     * Set the entity ID of the local player, used to tell our bobber apart from the others
+     */
+    public void setLocalPlayerId(int playerId) {
+        localPlayerId = playerId;
+        findLocalBobber();
+    }
+
+    /**
+     * Get the entity ID of the local player's bobber, or NO_BOBBER
+     */
+    public int getLocalBobberId() {
+        return localBobberId;
+    }
+
+    /**
+     * Get the x coordinate of the local player's bobber in fixed-point units, only valid if hasLocalBobber()
+     */
+    public int getLocalBobberX() {
+        return localBobberId != NO_BOBBER ? xs[localSlot] : 0;
+    }
+
+    /**
+     * Get the height of the local player's bobber in fixed-point units, only valid if hasLocalBobber()
+     */
+    public int getLocalBobberY() {
+        return localBobberId != NO_BOBBER ? ys[localSlot] : 0;
+    }
+
+    /**
+     * Get the z coordinate of the local player's bobber in fixed-point units, only valid if hasLocalBobber()
+     */
+    public int getLocalBobberZ() {
+        return localBobberId != NO_BOBBER ? zs[localSlot] : 0;
+    }
+
+    /**
+     * Check if the local player's bobber is known
+     */
+    public boolean hasLocalBobber() {
+        return localBobberId != NO_BOBBER;
+    }
+
+    /**
+     * Get the number of bobbers currently in range
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if an entity is a known bobber
+     */
+    public boolean contains(int entityId) {
+        return entityId != EMPTY && keys[indexOf(entityId)] == entityId;
+    }
+
+    /**
+     * Add a bobber, or replace it if the ID is already known
+     * @param ownerId Entity ID of the player who cast it (the spawn packet's data field)
+     */
+    public void add(int entityId, int ownerId, int x, int y, int z) {
+        if (entityId == EMPTY) return;
+
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+
+        int slot = indexOf(entityId);
+        if (keys[slot] != entityId) {
+            keys[slot] = entityId;
+            size++;
+        }
+        owners[slot] = ownerId;
+        xs[slot] = x;
+        ys[slot] = y;
+        zs[slot] = z;
+
+        if (ownerId == localPlayerId && localPlayerId != NO_PLAYER) {
+            localBobberId = entityId;
+            localSlot = slot;
+        }
+    }
+
+    /**
+     * Move a bobber by a relative offset
+     * @return false if the entity is not a bobber
+     */
+    public boolean moveBy(int entityId, int dx, int dy, int dz) {
+        if (entityId == EMPTY) return false;
+
+        int slot = indexOf(entityId);
+        if (keys[slot] != entityId) return false;
+
+        xs[slot] += dx;
+        ys[slot] += dy;
+        zs[slot] += dz;
+        return true;
+    }
+
+    /**
+     * Move a bobber to an absolute position
+     * @return false if the entity is not a bobber
+     */
+    public boolean moveTo(int entityId, int x, int y, int z) {
+        if (entityId == EMPTY) return false;
+
+        int slot = indexOf(entityId);
+        if (keys[slot] != entityId) return false;
+
+        xs[slot] = x;
+        ys[slot] = y;
+        zs[slot] = z;
+        return true;
+    }
+
+    /**
+     * Remove a bobber if it is known
+     */
+    public void remove(int entityId) {
+        if (entityId == EMPTY) return;
+
+        int slot = indexOf(entityId);
+        if (keys[slot] != entityId) return;
+
+        keys[slot] = EMPTY;
+        size--;
+        if (entityId == localBobberId) {
+            localBobberId = NO_BOBBER;
+        }
+
+        // Shift the following entries of the probe chain back so lookups never hit a gap
+        int gap = slot;
+        int next = (slot + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next]) & mask;
+            // Move the entry unless its home slot lies cyclically between the gap and its current slot
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                owners[gap] = owners[next];
+                xs[gap] = xs[next];
+                ys[gap] = ys[next];
+                zs[gap] = zs[next];
+                keys[next] = EMPTY;
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        if (localBobberId != NO_BOBBER) {
+            localSlot = indexOf(localBobberId);
+        }
+    }
+
+    /**
+     * Forget every bobber (e.g. after a world change), keeps the local player ID
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        localBobberId = NO_BOBBER;
+        localSlot = -1;
+    }
+
+    /**
+     * Check if a position lies inside a box around the local bobber
+     * @param radius Half the box size, in fixed-point units
+     */
+    public boolean isNearLocalBobber(int x, int y, int z, int radius) {
+        if (localBobberId == NO_BOBBER) return false;
+
+        return Math.abs(x - xs[localSlot]) <= radius &&
+               Math.abs(y - ys[localSlot]) <= radius &&
+               Math.abs(z - zs[localSlot]) <= radius;
+    }
+
+    /**
+     * Check if another player's bobber is closer to a position than the local bobber
+     */
+    public boolean isCloserToForeignBobber(int x, int y, int z) {
+        if (localBobberId == NO_BOBBER) return size > 0;
+
+        long localDistanceSq = distanceSquared(localSlot, x, y, z);
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == EMPTY || slot == localSlot) continue;
+
+            if (distanceSquared(slot, x, y, z) < localDistanceSq) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long distanceSquared(int slot, int x, int y, int z) {
+        long dx = x - xs[slot];
+        long dy = y - ys[slot];
+        long dz = z - zs[slot];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Find the slot holding the key, or the free slot where it would go
+     */
+    private int indexOf(int entityId) {
+        int slot = hash(entityId) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != entityId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(int key) {
+        // Entity IDs are mostly sequential, spread them over the table
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void findLocalBobber() {
+        localBobberId = NO_BOBBER;
+        localSlot = -1;
+        if (localPlayerId == NO_PLAYER) return;
+
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY && owners[slot] == localPlayerId) {
+                localBobberId = keys[slot];
+                localSlot = slot;
+                return;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        owners = new int[capacity];
+        xs = new int[capacity];
+        ys = new int[capacity];
+        zs = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldOwners = owners;
+        int[] oldXs = xs;
+        int[] oldYs = ys;
+        int[] oldZs = zs;
+
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) continue;
+
+            int slot = indexOf(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            owners[slot] = oldOwners[i];
+            xs[slot] = oldXs[i];
+            ys[slot] = oldYs[i];
+            zs[slot] = oldZs[i];
+            size++;
+        }
+        findLocalBobber();
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.gofish.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled set of chat events, loaded from a catalog file
+ * All leading phrases share one trie, so a chat line costs the same however many events there are:
+ * other lines fail within their first few characters, and only a match allocates.
+ * Immutable once loaded, so a reload builds a new catalog and swaps it in.
+ */
+public final class ChatEventCatalog {
+
+    // Catalog bundled with the mod
+    public static final String DEFAULT_RESOURCE = "chat_events.txt";
+
+    public static final String NAME_PLACEHOLDER = "{name}";
+
+    private static final char SECTION_SIGN = '\u00A7';
+    private static final char ANY_COLOR = 0;
+    private static final char RESET_COLOR = 'f';
+    private static final String NONE = "-";
+    private static final int FIELD_COUNT = 6;
+
+    private final Node root = new Node();
+    private final List<Event> events;
+    private final String source;
+
+    /**
+     * One chat event of the catalog
+     */
+    public static class Event {
+        public final String id;
+        public final int type;
+        // Color code the chat line starts with, or 0 for any
+        public final char color;
+        // Visible text before and after the name
+        public final String prefix;
+        public final String suffix;
+        public final boolean hasName;
+        // Chat message with & color codes and {name}, or null
+        public final String notification;
+        // Sound name, or null
+        public final String sound;
+
+        Event(String id, int type, char color, String prefix, String suffix, boolean hasName, String notification, String sound) {
+            this.id = id;
+            this.type = type;
+            this.color = color;
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.hasName = hasName;
+            this.notification = notification;
+            this.sound = sound;
+        }
+
+        /**
+         * Get the notification with the name filled in, or null if the event has none
+         */
+        public String formatNotification(String name) {
+            return notification != null ? notification.replace(NAME_PLACEHOLDER, name) : null;
+        }
+    }
+
+    /**
+     * Trie node, one child per next character of a leading phrase
+     */
+    private static class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private Event[] events = new Event[0];
+
+        Node next(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) return children[i];
+            }
+            return null;
+        }
+
+        Node add(char c) {
+            Node child = next(c);
+            if (child != null) return child;
+
+            child = new Node();
+            int count = keys.length;
+            char[] newKeys = new char[count + 1];
+            Node[] newChildren = new Node[count + 1];
+            System.arraycopy(keys, 0, newKeys, 0, count);
+            System.arraycopy(children, 0, newChildren, 0, count);
+            newKeys[count] = c;
+            newChildren[count] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        void addEvent(Event event) {
+            Event[] newEvents = new Event[events.length + 1];
+            System.arraycopy(events, 0, newEvents, 0, events.length);
+            newEvents[events.length] = event;
+            events = newEvents;
+        }
+    }
+
+    private ChatEventCatalog(List<Event> events, String source) {
+        this.events = events;
+        this.source = source;
+        for (Event event : events) {
+            Node node = root;
+            for (int i = 0; i < event.prefix.length(); i++) {
+                node = node.add(event.prefix.charAt(i));
+            }
+            node.addEvent(event);
+        }
+    }
+
+    /**
+     * Load the catalog bundled with the mod
+     * @throws IOException if the resource is missing or invalid
+     */
+    public static ChatEventCatalog loadDefault() throws IOException {
+        InputStream in = ChatEventCatalog.class.getResourceAsStream(DEFAULT_RESOURCE);
+        if (in == null) {
+            throw new IOException("Missing resource " + DEFAULT_RESOURCE);
+        }
+        return load(in, DEFAULT_RESOURCE);
+    }
+
+    /**
+     * Load and compile a catalog, closing the stream
+     * @param source Name of the catalog for error messages
+     * @throws IOException if the catalog can't be read or a line is invalid
+     */
+    public static ChatEventCatalog load(InputStream in, String source) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try {
+            List<Event> events = new ArrayList<>();
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                try {
+                    events.add(parseEvent(line));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(source + ":" + lineNumber + ": " + e.getMessage());
+                }
+            }
+            return new ChatEventCatalog(events, source);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static Event parseEvent(String line) {
+        String[] fields = line.split("\\|", -1);
+        if (fields.length != FIELD_COUNT) {
+            throw new IllegalArgumentException("Expected " + FIELD_COUNT + " fields separated by |, found " + fields.length);
+        }
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = fields[i].trim();
+        }
+
+        String id = fields[0];
+        if (id.isEmpty()) {
+            throw new IllegalArgumentException("Missing event id");
+        }
+
+        int type = parseType(fields[1]);
+
+        char color;
+        if (fields[2].equals("*")) {
+            color = ANY_COLOR;
+        } else if (fields[2].length() == 1 && isColorCode(Character.toLowerCase(fields[2].charAt(0)))) {
+            color = Character.toLowerCase(fields[2].charAt(0));
+        } else {
+            throw new IllegalArgumentException("Invalid color '" + fields[2] + "', use a color code 0-9/a-f or *");
+        }
+
+        String message = fields[3];
+        if (message.isEmpty()) {
+            throw new IllegalArgumentException("Missing message");
+        }
+        int nameIndex = message.indexOf(NAME_PLACEHOLDER);
+        if (nameIndex >= 0 && message.indexOf(NAME_PLACEHOLDER, nameIndex + 1) >= 0) {
+            throw new IllegalArgumentException("Message can only contain " + NAME_PLACEHOLDER + " once");
+        }
+
+        String prefix = nameIndex >= 0 ? message.substring(0, nameIndex) : message;
+        String suffix = nameIndex >= 0 ? message.substring(nameIndex + NAME_PLACEHOLDER.length()) : "";
+        String notification = fields[4].equals(NONE) || fields[4].isEmpty() ? null : fields[4];
+        String sound = fields[5].equals(NONE) || fields[5].isEmpty() ? null : fields[5];
+        return new Event(id, type, color, prefix, suffix, nameIndex >= 0, notification, sound);
+    }
+
+    private static int parseType(String category) {
+        switch (category) {
+            case "fish": return FishingChatMatcher.TYPE_FISH_CAUGHT;
+            case "sea_creature": return FishingChatMatcher.TYPE_SEA_CREATURE;
+            case "treasure": return FishingChatMatcher.TYPE_TREASURE;
+            case "other": return FishingChatMatcher.TYPE_OTHER;
+            default: throw new IllegalArgumentException("Unknown category '" + category + "'");
+        }
+    }
+
+    private static boolean isColorCode(char code) {
+        return (code >= '0' && code <= '9') || (code >= 'a' && code <= 'f');
+    }
+
+    public int getEventCount() {
+        return events.size();
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Get the first event of a category
+     * @return The event, or null if the catalog has none of that category
+     */
+    public Event getFirstEvent(int type) {
+        for (Event event : events) {
+            if (event.type == type) return event;
+        }
+        return null;
+    }
+
+    /**
+     * Match a chat line against the events
+     * @param message Formatted or plain chat text
+     * @return The matched event and name, or null if no event matches
+     */
+    public FishingChatMatcher.Match match(CharSequence message) {
+        // The color the line starts with, format codes like bold don't change it
+        int length = message.length();
+        int start = 0;
+        char color = ANY_COLOR;
+        while (start + 1 < length && message.charAt(start) == SECTION_SIGN) {
+            char code = Character.toLowerCase(message.charAt(start + 1));
+            if (isColorCode(code)) {
+                color = code;
+            } else if (code == 'r') {
+                color = RESET_COLOR;
+            }
+            start += 2;
+        }
+        return matchNode(root, message, start, color);
+    }
+
+    /**
+     * Follow the trie as far as the line goes, then try the events of the longest phrases first
+     */
+    private FishingChatMatcher.Match matchNode(Node node, CharSequence message, int index, char color) {
+        int length = message.length();
+        int next = index;
+        while (next + 1 < length && message.charAt(next) == SECTION_SIGN) {
+            next += 2;
+        }
+        if (next < length) {
+            Node child = node.next(message.charAt(next));
+            if (child != null) {
+                FishingChatMatcher.Match match = matchNode(child, message, next + 1, color);
+                if (match != null) return match;
+            }
+        }
+
+        for (int i = 0; i < node.events.length; i++) {
+            FishingChatMatcher.Match match = matchEvent(node.events[i], message, index, color);
+            if (match != null) return match;
+        }
+        return null;
+    }
+
+    private static FishingChatMatcher.Match matchEvent(Event event, CharSequence message, int nameStart, char color) {
+        // A colored line must start in the event's color, plain text has no colors to check
+        if (event.color != ANY_COLOR && color != ANY_COLOR && color != event.color) return null;
+
+        int nameEnd = findSuffix(message, nameStart, event.suffix);
+        if (nameEnd < 0) return null;
+
+        if (!event.hasName) {
+            // The message is the whole line
+            return previousVisible(message, nameStart, nameEnd) < 0 ? new FishingChatMatcher.Match(event, "") : null;
+        }
+
+        String name = stripColorCodes(message, nameStart, nameEnd);
+        if (name.isEmpty()) return null;
+        return new FishingChatMatcher.Match(event, name);
+    }
+
+    /**
+     * Check if the visible text ends with a suffix
+     * @return Index of the suffix's first character, or -1 if the text doesn't end with it
+     */
+    private static int findSuffix(CharSequence message, int start, String suffix) {
+        int i = message.length();
+        for (int s = suffix.length() - 1; s >= 0; s--) {
+            i = previousVisible(message, start, i);
+            if (i < 0 || message.charAt(i) != suffix.charAt(s)) return -1;
+        }
+        if (!suffix.isEmpty()) return i;
+
+        // Without a suffix the name ends at the last visible character, trailing color codes don't count
+        int last = previousVisible(message, start, i);
+        return last < 0 ? start : last + 1;
+    }
+
+    /**
+     * Get the index of the last visible character before an index, skipping color codes
+     * @return The index, or -1 if there is none at or after start
+     */
+    private static int previousVisible(CharSequence message, int start, int before) {
+        int i = before - 1;
+        while (i >= start) {
+            if (i > start && message.charAt(i - 1) == SECTION_SIGN) {
+                i -= 2;
+                continue;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static String stripColorCodes(CharSequence message, int start, int end) {
+        StringBuilder name = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = message.charAt(i);
+            if (c == SECTION_SIGN && i + 1 < end) {
+                i++;
+                continue;
+            }
+            name.append(c);
+        }
+        return name.toString().trim();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.gofish.core;
+
+/**
+ * Source of the time every timing decision is made with, in milliseconds
+ * Only the difference between two readings of the same clock means anything, readings can't be
+ * compared with wall time or with readings of another clock.
+ */
+public interface Clock {
+
+    long millis();
+}
@@ -0,0 +1,136 @@
+package com.example.gofish.core;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Debug logger shared by the mod, one instance per source
+ * With debug output off a call is a single check and allocates nothing, as long as the arguments are
+ * objects the caller already has; primitives get boxed at the call, so hot paths with numbers check
+ * isEnabled() first. With debug output on, records go to a bounded ring that an appender drains to a file
+ * on its own thread, and only INFO and WARN records are mirrored to chat.
+ */
+public final class DebugLog {
+
+    // Levels
+    public static final int DEBUG = 0;
+    public static final int INFO = 1;
+    public static final int WARN = 2;
+
+    private static final String[] LEVEL_NAMES = {"DEBUG", "INFO", "WARN"};
+
+    // Records the appender hasn't written yet, a few seconds of heavy logging
+    private static final int BUFFER_CAPACITY = 4096;
+
+    /**
+     * Receives the records shown in chat as well
+     */
+    public interface Mirror {
+        void onRecord(int level, String source, String message);
+    }
+
+    private static final DebugLogBuffer BUFFER = new DebugLogBuffer(BUFFER_CAPACITY);
+
+    private static volatile BooleanSupplier enabledCheck = () -> false;
+    private static volatile Mirror mirror = null;
+
+    private final String source;
+
+    private DebugLog(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Get a logger, callers keep it in a static field
+     * @param source Short name written with every record
+     */
+    public static DebugLog get(String source) {
+        return new DebugLog(source);
+    }
+
+    /**
+     * Set the check that turns debug output on and off, read on every call
+     */
+    public static void setEnabledCheck(BooleanSupplier check) {
+        enabledCheck = check;
+    }
+
+    /**
+     * Set where INFO and WARN records are mirrored to, or null for nowhere
+     */
+    public static void setMirror(Mirror newMirror) {
+        mirror = newMirror;
+    }
+
+    /**
+     * Get the ring the records wait in for the appender
+     */
+    public static DebugLogBuffer getBuffer() {
+        return BUFFER;
+    }
+
+    public static String getLevelName(int level) {
+        return level >= 0 && level < LEVEL_NAMES.length ? LEVEL_NAMES[level] : "?";
+    }
+
+    public boolean isEnabled() {
+        return enabledCheck.getAsBoolean();
+    }
+
+    public void debug(String message) {
+        if (isEnabled()) log(DEBUG, message, 0, null, null, null);
+    }
+
+    public void debug(String format, Object arg) {
+        if (isEnabled()) log(DEBUG, format, 1, arg, null, null);
+    }
+
+    public void debug(String format, Object arg1, Object arg2) {
+        if (isEnabled()) log(DEBUG, format, 2, arg1, arg2, null);
+    }
+
+    public void debug(String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled()) log(DEBUG, format, 3, arg1, arg2, arg3);
+    }
+
+    /**
+     * Log a message that is only built with debug output on
+     */
+    public void debug(Supplier<String> message) {
+        if (isEnabled()) log(DEBUG, message.get(), 0, null, null, null);
+    }
+
+    public void info(String message) {
+        if (isEnabled()) log(INFO, message, 0, null, null, null);
+    }
+
+    public void info(String format, Object arg) {
+        if (isEnabled()) log(INFO, format, 1, arg, null, null);
+    }
+
+    public void info(String format, Object arg1, Object arg2) {
+        if (isEnabled()) log(INFO, format, 2, arg1, arg2, null);
+    }
+
+    public void warn(String message) {
+        if (isEnabled()) log(WARN, message, 0, null, null, null);
+    }
+
+    public void warn(String format, Object arg) {
+        if (isEnabled()) log(WARN, format, 1, arg, null, null);
+    }
+
+    public void warn(String format, Object arg1, Object arg2) {
+        if (isEnabled()) log(WARN, format, 2, arg1, arg2, null);
+    }
+
+    private void log(int level, String format, int argumentCount, Object arg1, Object arg2, Object arg3) {
+        BUFFER.offer(System.currentTimeMillis(), level, source, format, argumentCount, arg1, arg2, arg3);
+
+        Mirror currentMirror = mirror;
+        if (level >= INFO && currentMirror != null) {
+            Object[] args = {arg1, arg2, arg3};
+            currentMirror.onRecord(level, source, DebugLogBuffer.format(format, args, argumentCount));
+        }
+    }
+}
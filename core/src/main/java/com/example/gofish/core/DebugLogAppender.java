@@ -0,0 +1,165 @@
+package com.example.gofish.core;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Background thread that writes the debug records to a log file
+ * Wakes up a few times per second, so logging never waits on the disk. The file is opened on the first
+ * record and moved aside to a .1 file when it grows past its size limit.
+ */
+public class DebugLogAppender implements Runnable, DebugLogBuffer.Sink {
+
+    private static final long FLUSH_INTERVAL = 250;
+    private static final int BATCH_SIZE = 256;
+    private static final long MAX_FILE_SIZE = 4L * 1024 * 1024;
+
+    private final DebugLogBuffer buffer;
+    private final File file;
+    private final DebugLogBuffer.Batch batch = new DebugLogBuffer.Batch(BATCH_SIZE);
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+    private final Date date = new Date();
+    private final StringBuilder line = new StringBuilder(128);
+
+    private volatile boolean running = false;
+    private Thread thread = null;
+    private Writer writer = null;
+    private long fileSize = 0;
+    private long lastDroppedRecords = 0;
+
+    public DebugLogAppender(DebugLogBuffer buffer, File file) {
+        this.buffer = buffer;
+        this.file = file;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Start the appender thread
+     */
+    public synchronized void start() {
+        if (running) return;
+
+        running = true;
+        thread = new Thread(this, "GoFish Debug Log");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Write what is left and stop the appender thread
+     */
+    public synchronized void stop() {
+        if (!running) return;
+
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(FLUSH_INTERVAL * 4);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                Thread.sleep(FLUSH_INTERVAL);
+            } catch (InterruptedException e) {
+                // Stopping, write what is left below
+            }
+            writePending();
+        }
+        close();
+    }
+
+    private void writePending() {
+        try {
+            boolean wrote = false;
+            while (buffer.drain(this, batch) > 0) {
+                wrote = true;
+            }
+
+            long dropped = buffer.getDroppedRecords();
+            if (dropped != lastDroppedRecords) {
+                accept(System.currentTimeMillis(), DebugLog.WARN, "DebugLog",
+                       (dropped - lastDroppedRecords) + " records dropped, the buffer was full");
+                lastDroppedRecords = dropped;
+                wrote = true;
+            }
+
+            if (wrote && writer != null) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("[GoFish] Error writing debug log: " + e.getMessage());
+            close();
+        }
+    }
+
+    @Override
+    public void accept(long time, int level, String source, String message) {
+        try {
+            if (writer == null || fileSize > MAX_FILE_SIZE) {
+                open();
+            }
+
+            date.setTime(time);
+            line.setLength(0);
+            line.append(timeFormat.format(date)).append(' ')
+                .append(DebugLog.getLevelName(level)).append(" [")
+                .append(source).append("] ")
+                .append(message).append('\n');
+            writer.write(line.toString());
+            fileSize += line.length();
+        } catch (IOException e) {
+            System.err.println("[GoFish] Error writing debug log: " + e.getMessage());
+            close();
+        }
+    }
+
+    private void open() throws IOException {
+        close();
+
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Failed to create directory " + dir.getPath());
+        }
+
+        // Keep one old file around
+        if (file.length() > MAX_FILE_SIZE) {
+            File old = new File(file.getPath() + ".1");
+            if (old.exists() && !old.delete()) {
+                throw new IOException("Failed to delete " + old.getPath());
+            }
+            if (!file.renameTo(old)) {
+                throw new IOException("Failed to move " + file.getPath());
+            }
+        }
+
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+        fileSize = file.length();
+    }
+
+    private void close() {
+        if (writer == null) return;
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("[GoFish] Error closing debug log: " + e.getMessage());
+        }
+        writer = null;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.gofish.core;
+
+/**
+ * Bounded ring of debug records, written by any thread and drained by the file appender
+ * Records keep their format and arguments as they were logged; the message is only built when the
+ * record is drained, on the appender's thread. When the ring is full new records are dropped and counted.
+ */
+public class DebugLogBuffer {
+
+    /**
+     * Receives drained records with their message built
+     */
+    public interface Sink {
+        void accept(long time, int level, String source, String message);
+    }
+
+    private static final String PLACEHOLDER = "{}";
+
+    private final int capacity;
+    private final long[] times;
+    private final int[] levels;
+    private final String[] sources;
+    private final String[] formats;
+    private final Object[][] arguments;
+    private final int[] argumentCounts;
+
+    // Guarded by this
+    private int head = 0;
+    private int size = 0;
+    private long droppedRecords = 0;
+
+    public DebugLogBuffer(int capacity) {
+        this.capacity = capacity;
+        this.times = new long[capacity];
+        this.levels = new int[capacity];
+        this.sources = new String[capacity];
+        this.formats = new String[capacity];
+        this.arguments = new Object[capacity][3];
+        this.argumentCounts = new int[capacity];
+    }
+
+    /**
+     * Add a record
+     * @param format Message with a {} placeholder for each argument
+     * @return false if the ring was full and the record was dropped
+     */
+    public synchronized boolean offer(long time, int level, String source, String format,
+                                      int argumentCount, Object arg1, Object arg2, Object arg3) {
+        if (size == capacity) {
+            droppedRecords++;
+            return false;
+        }
+
+        int index = (head + size) % capacity;
+        times[index] = time;
+        levels[index] = level;
+        sources[index] = source;
+        formats[index] = format;
+        argumentCounts[index] = argumentCount;
+        Object[] args = arguments[index];
+        args[0] = arg1;
+        args[1] = arg2;
+        args[2] = arg3;
+        size++;
+        return true;
+    }
+
+    /**
+     * Pass every record to the sink, oldest first
+     * Records are copied out under the lock and formatted after it is released, so producers never wait on a sink.
+     * @param batch Scratch space for the copy, reused between calls
+     * @return the number of records drained
+     */
+    public int drain(Sink sink, Batch batch) {
+        int count;
+        synchronized (this) {
+            count = Math.min(size, batch.times.length);
+            for (int i = 0; i < count; i++) {
+                int index = (head + i) % capacity;
+                batch.times[i] = times[index];
+                batch.levels[i] = levels[index];
+                batch.sources[i] = sources[index];
+                batch.formats[i] = formats[index];
+                batch.argumentCounts[i] = argumentCounts[index];
+                System.arraycopy(arguments[index], 0, batch.arguments[i], 0, 3);
+
+                // Don't keep logged objects reachable from the ring
+                sources[index] = null;
+                formats[index] = null;
+                arguments[index][0] = null;
+                arguments[index][1] = null;
+                arguments[index][2] = null;
+            }
+            head = (head + count) % capacity;
+            size -= count;
+        }
+
+        for (int i = 0; i < count; i++) {
+            String message = format(batch.formats[i], batch.arguments[i], batch.argumentCounts[i]);
+            sink.accept(batch.times[i], batch.levels[i], batch.sources[i], message);
+            batch.arguments[i][0] = null;
+            batch.arguments[i][1] = null;
+            batch.arguments[i][2] = null;
+        }
+        return count;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Get the number of records dropped because the ring was full
+     */
+    public synchronized long getDroppedRecords() {
+        return droppedRecords;
+    }
+
+    /**
+     * Fill the {} placeholders of a format with its arguments
+     */
+    public static String format(String format, Object[] args, int argumentCount) {
+        if (argumentCount == 0) return format;
+
+        StringBuilder message = new StringBuilder(format.length() + 16 * argumentCount);
+        int start = 0;
+        for (int i = 0; i < argumentCount; i++) {
+            int placeholder = format.indexOf(PLACEHOLDER, start);
+            if (placeholder < 0) break;
+
+            message.append(format, start, placeholder).append(args[i]);
+            start = placeholder + PLACEHOLDER.length();
+        }
+        return message.append(format, start, format.length()).toString();
+    }
+
+    /**
+     * Scratch space of one drain call, owned by the draining thread
+     */
+    public static class Batch {
+        private final long[] times;
+        private final int[] levels;
+        private final String[] sources;
+        private final String[] formats;
+        private final Object[][] arguments;
+        private final int[] argumentCounts;
+
+        public Batch(int size) {
+            this.times = new long[size];
+            this.levels = new int[size];
+            this.sources = new String[size];
+            this.formats = new String[size];
+            this.arguments = new Object[size][3];
+            this.argumentCounts = new int[size];
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.gofish.core;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for every accept/reject decision of the bite detection, per packet type
+ * Backed by striped LongAdders, so recording from the packet and client threads is cheap enough to leave on.
+ */
+public class DetectionStats {
+
+    // Packet types
+    public static final int PACKET_SOUND = 0;
+    public static final int PACKET_PARTICLE = 1;
+    public static final int PACKET_VELOCITY = 2;
+    public static final int PACKET_BITE = 3; // Fused bite decision, checked on the client thread
+    public static final int PACKET_TYPE_COUNT = 4;
+
+    // Decisions
+    public static final int ACCEPTED = 0;
+    public static final int NOT_ON_HYPIXEL = 1;
+    public static final int IRRELEVANT = 2;       // Not a splash sound / splash particle
+    public static final int DISABLED = 3;         // Notifications turned off
+    public static final int NOT_FISHING = 4;
+    public static final int FOREIGN_BOBBER = 5;   // Rejected by the bobber registry
+    public static final int OUT_OF_RANGE = 6;     // Rejected by the distance check
+    public static final int OTHER_ENTITY = 7;     // Velocity of an entity that isn't our hook
+    public static final int WEAK_MOTION = 8;      // Hook velocity below the bite threshold
+    public static final int FUSION_PENDING = 9;   // Signal scored, not enough evidence yet
+    public static final int FUSION_DUPLICATE = 10; // Signal already counted for this bite
+    public static final int CAST_IGNORE = 11;
+    public static final int COOLDOWN = 12;
+    public static final int REASON_COUNT = 13;
+
+    private static final String[] PACKET_TYPE_NAMES = { "sound", "particle", "velocity", "bite" };
+    private static final String[] REASON_NAMES = {
+        "accepted", "not on hypixel", "irrelevant", "disabled", "not fishing", "foreign bobber",
+        "out of range", "other entity", "weak motion", "fusion pending", "fusion duplicate",
+        "cast ignore", "cooldown"
+    };
+
+    private final LongAdder[] counters = new LongAdder[REASON_COUNT * PACKET_TYPE_COUNT];
+
+    public DetectionStats() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Count a decision for a packet type
+     */
+    public void record(int reason, int packetType) {
+        counters[reason * PACKET_TYPE_COUNT + packetType].increment();
+    }
+
+    /**
+     * Read all counters and reset them
+     * @return counts indexed by [reason][packet type]
+     */
+    public long[][] sumThenReset() {
+        long[][] result = new long[REASON_COUNT][PACKET_TYPE_COUNT];
+        for (int reason = 0; reason < REASON_COUNT; reason++) {
+            for (int type = 0; type < PACKET_TYPE_COUNT; type++) {
+                result[reason][type] = counters[reason * PACKET_TYPE_COUNT + type].sumThenReset();
+            }
+        }
+        return result;
+    }
+
+    public static String getPacketTypeName(int packetType) {
+        return PACKET_TYPE_NAMES[packetType];
+    }
+
+    public static String getReasonName(int reason) {
+        return REASON_NAMES[reason];
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.gofish.core;
+
+import java.io.IOException;
+
+/**
+ * Recognizes the fishing messages Hypixel sends in chat, using the current chat event catalog
+ * Works on formatted text with § color codes as well as on plain text. The catalog can be replaced
+ * at any time; a message is always matched against one whole catalog, old or new.
+ */
+public class FishingChatMatcher {
+
+    public static final int TYPE_NONE = 0;
+    public static final int TYPE_FISH_CAUGHT = 1;
+    public static final int TYPE_SEA_CREATURE = 2;
+    public static final int TYPE_TREASURE = 3;
+    public static final int TYPE_OTHER = 4;
+
+    private volatile ChatEventCatalog catalog;
+
+    /**
+     * A recognized fishing message
+     */
+    public static class Match {
+        public final ChatEventCatalog.Event event;
+        public final int type;
+        public final String name;
+
+        public Match(ChatEventCatalog.Event event, String name) {
+            this.event = event;
+            this.type = event.type;
+            this.name = name;
+        }
+    }
+
+    /**
+     * Create a matcher with the catalog bundled with the mod
+     */
+    public FishingChatMatcher() {
+        try {
+            this.catalog = ChatEventCatalog.loadDefault();
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid bundled chat event catalog: " + e.getMessage(), e);
+        }
+    }
+
+    public FishingChatMatcher(ChatEventCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    public ChatEventCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Replace the catalog, the next message is matched against the new one
+     */
+    public void setCatalog(ChatEventCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Match a chat message against the fishing messages
+     * @param message Formatted or plain chat text
+     * @return The event and the caught item or creature, or null if it isn't a fishing message
+     */
+    public Match match(CharSequence message) {
+        return catalog.match(message);
+    }
+}
@@ -0,0 +1,701 @@
+package com.example.gofish.core;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Cast/reel state machine of auto-fishing
+ * The cycle is an explicit State with a declared transition table. Every state either ends within the
+ * few ticks of a simulated right click or has a timeout on the tick driver's timer wheel, so there is no
+ * state the machine can get stuck in and nothing has to poll for a missed recast. The last transitions
+ * are kept in a bounded trace.
+ * The reel after a bite is timed to the millisecond: with a precise scheduler it runs between ticks at the
+ * moment the catch is due, and it uses the item right away instead of pressing the key for the next tick.
+ * Time is passed in by the caller, so the same logic runs against the client clock in game and against
+ * virtual time in tests and tools.
+ * Every entry point, the timers included, catches its own exceptions and drops back to IDLE with the idle
+ * check armed, so an error can't leave a state without its timeout either.
+ * Not thread-safe: only use it from the client thread.
+ */
+public class FishingController {
+
+    private static final int RIGHT_CLICK_TICKS = 1; // Hold right-click for this many ticks
+    private static final int IDLE_CHECK_INTERVAL = 1000; // Look for a reason to cast once a second while idle
+    private static final int CLICK_RESULT_TIMEOUT = 2000; // Give up waiting for the hook after 2 seconds
+    private static final int LIQUID_CHECK_DELAY = 1500; // Fall back to the hook heuristic 1.5 seconds after casting
+    private static final int BITE_TIMEOUT = 60000; // Reel in and recast if no bite is seen for a minute
+    private static final int CAST_RETRY_DELAY = 1000; // Server lag protection between cast attempts
+    private static final int TRACE_CAPACITY = 64;
+
+    // Timeout of the states that end on their own after the simulated click
+    private static final int NO_TIMEOUT = -1;
+
+    private static final DebugLog LOG = DebugLog.get("Controller");
+
+    /**
+     * States of the cast/bite/reel/recast cycle, each with the timeout it is entered with
+     */
+    public enum State {
+        // Not fishing on our own, looks for a reason to cast now and then
+        IDLE(IDLE_CHECK_INTERVAL),
+        // Right-click held to cast
+        CASTING(NO_TIMEOUT),
+        // Click released, waiting for our hook to appear
+        AWAITING_CAST(CLICK_RESULT_TIMEOUT),
+        // Hook is out, waiting to learn whether it landed in liquid
+        CHECKING_LIQUID(LIQUID_CHECK_DELAY),
+        // Hook is in the water
+        WAITING_FOR_BITE(BITE_TIMEOUT),
+        // Bite seen, the reel is due after the catch delay chosen on entry; the timeout only fires if the
+        // precise scheduler didn't catch it first
+        CATCH_SCHEDULED(0),
+        // Right-click held to reel in
+        REELING(NO_TIMEOUT),
+        // Click released, waiting for our hook to disappear
+        AWAITING_REEL(CLICK_RESULT_TIMEOUT),
+        // Hook is in, the cast is due after the recast delay chosen on entry
+        RECAST_SCHEDULED(0);
+
+        private final int timeout;
+
+        State(int timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    // States every state may move to
+    private static final Map<State, Set<State>> TRANSITIONS = new EnumMap<>(State.class);
+
+    static {
+        allow(State.IDLE, State.CASTING, State.WAITING_FOR_BITE, State.RECAST_SCHEDULED);
+        allow(State.CASTING, State.AWAITING_CAST, State.IDLE);
+        allow(State.AWAITING_CAST, State.CHECKING_LIQUID, State.WAITING_FOR_BITE, State.RECAST_SCHEDULED, State.IDLE);
+        allow(State.CHECKING_LIQUID, State.WAITING_FOR_BITE, State.CATCH_SCHEDULED, State.REELING, State.RECAST_SCHEDULED, State.IDLE);
+        allow(State.WAITING_FOR_BITE, State.CATCH_SCHEDULED, State.REELING, State.RECAST_SCHEDULED, State.IDLE);
+        allow(State.CATCH_SCHEDULED, State.REELING, State.AWAITING_REEL, State.RECAST_SCHEDULED, State.IDLE);
+        allow(State.REELING, State.AWAITING_REEL, State.IDLE);
+        allow(State.AWAITING_REEL, State.WAITING_FOR_BITE, State.RECAST_SCHEDULED, State.IDLE);
+        allow(State.RECAST_SCHEDULED, State.CASTING, State.WAITING_FOR_BITE, State.IDLE);
+    }
+
+    private static void allow(State from, State... to) {
+        Set<State> targets = EnumSet.noneOf(State.class);
+        for (State state : to) {
+            targets.add(state);
+        }
+        TRANSITIONS.put(from, targets);
+    }
+
+    private final GameState state;
+    private final GameInput input;
+    private final GameMessages messages;
+    private final FishingSettings settings;
+    private final Random random;
+    private final TimerWheel timers;
+
+    // Where the bobber of the current cast landed, optional
+    private HookTrajectoryTracker hookTrajectory;
+
+    // Runs the catch between ticks, optional; without it the catch waits for the state timeout
+    private PreciseScheduler catchScheduler;
+    private final TimerWheel.Task catchTask = this::onCatchDue;
+    private long catchDueTime = 0;
+
+    // Current state and the timer of its timeout
+    private State current = State.IDLE;
+    private final TimerWheel.Timer stateTimer;
+    private final FishingTrace trace = new FishingTrace(TRACE_CAPACITY);
+
+    // Ticks the right click has been held in CASTING and REELING
+    private int rightClickDuration = 0;
+
+    // Track failed casts for reliability
+    private int failedLiquidCastAttempts = 0;
+    private long lastCastAttemptTime = 0;
+
+    /**
+     * Constructor
+     * @param timers Wheel the state timeouts run from, advanced by the caller
+     */
+    public FishingController(GameState state, GameInput input, GameMessages messages, FishingSettings settings,
+                             Random random, TimerWheel timers) {
+        this.state = state;
+        this.input = input;
+        this.messages = messages;
+        this.settings = settings;
+        this.random = random;
+        this.timers = timers;
+
+        stateTimer = timers.newTimer("fishing state", this::onStateTimer);
+
+        // Runs the first idle check on the first advance
+        timers.schedule(stateTimer, 0);
+    }
+
+    public void setHookTrajectory(HookTrajectoryTracker hookTrajectory) {
+        this.hookTrajectory = hookTrajectory;
+    }
+
+    public void setCatchScheduler(PreciseScheduler catchScheduler) {
+        this.catchScheduler = catchScheduler;
+    }
+
+    public State getState() {
+        return current;
+    }
+
+    /**
+     * Get the last state transitions
+     */
+    public FishingTrace getTrace() {
+        return trace;
+    }
+
+    /**
+     * Move to another state, arming its timeout
+     * @param reason Why, recorded in the trace; always a constant so recording allocates nothing
+     * @throws IllegalStateException if the transition table doesn't allow it
+     */
+    private void transition(State next, long now, String reason) {
+        transition(next, now, next.timeout, reason);
+    }
+
+    /**
+     * Move to another state with a timeout chosen for this entry
+     */
+    private void transition(State next, long now, int timeout, String reason) {
+        if (!TRANSITIONS.get(current).contains(next)) {
+            throw new IllegalStateException("No transition from " + current + " to " + next + " (" + reason + ")");
+        }
+
+        trace.record(now, current, next, reason);
+        LOG.debug("{} -> {} ({})", current, next, reason);
+
+        if (current == State.CATCH_SCHEDULED && catchScheduler != null) {
+            catchScheduler.cancel();
+        }
+
+        current = next;
+        rightClickDuration = 0;
+        if (timeout == NO_TIMEOUT) {
+            timers.cancel(stateTimer);
+        } else {
+            timers.schedule(stateTimer, now + timeout);
+        }
+    }
+
+    /**
+     * Called when a fish bite is detected
+     * Schedules an auto-catch with a random delay
+     * @param now When the bite reached the client, the delay is counted from then rather than from the tick
+     *            that handles it
+     */
+    public void onFishBite(long now) {
+        try {
+            scheduleCatch(now);
+        } catch (RuntimeException e) {
+            abortAfterError(now, "bite", e);
+        }
+    }
+
+    private void scheduleCatch(long now) {
+        if (!state.isInGame()) return;
+
+        // Only proceed if auto-catch is enabled
+        if (!settings.isAutoCatchEnabled()) return;
+
+        // Only a hook in the water can catch anything
+        if (current != State.WAITING_FOR_BITE && current != State.CHECKING_LIQUID) {
+            LOG.debug("Bite ignored in state {}", current);
+            return;
+        }
+
+        // Determine if we should intentionally miss this fish
+        boolean shouldMiss = settings.isMissChanceEnabled() &&
+                             random.nextInt(100) < settings.getMissChancePercentage();
+
+        // Calculate base delay
+        int delay = settings.getMinCatchDelay() +
+                    random.nextInt(settings.getMaxCatchDelay() - settings.getMinCatchDelay() + 1);
+
+        // Apply timing offset if we should miss
+        int timingOffset = 0;
+        if (shouldMiss) {
+            // Generate a random offset between min and max miss timing
+            timingOffset = settings.getMinMissTimingOffset() +
+                           random.nextInt(settings.getMaxMissTimingOffset() - settings.getMinMissTimingOffset() + 1);
+
+            LOG.debug("Intentionally missing fish ({} by {}ms)", timingOffset < 0 ? "early" : "late", Math.abs(timingOffset));
+        }
+
+        // Apply the final delay (base delay + timing offset if missing)
+        int finalDelay = delay + timingOffset;
+        if (finalDelay < 0) finalDelay = 0; // Ensure we don't get negative delay
+
+        transition(State.CATCH_SCHEDULED, now, finalDelay, shouldMiss ? "bite, missing on purpose" : "bite");
+
+        catchDueTime = now + finalDelay;
+        if (catchScheduler != null) {
+            catchScheduler.schedule(catchDueTime, catchTask);
+        }
+
+        // Notify the player that auto-catch is scheduled
+        if (shouldMiss) {
+            LOG.info("Auto-catch scheduled in {}ms (miss by {}ms)", finalDelay, timingOffset);
+        } else {
+            LOG.info("Auto-catch scheduled in {}ms", finalDelay);
+        }
+    }
+
+    /**
+     * Schedule a recast of the fishing rod after a random delay
+     */
+    private void scheduleRecast(long now, String reason) {
+        // Schedule recast with a random delay between minRecastDelay and maxRecastDelay
+        int delay = settings.getMinRecastDelay() +
+                    random.nextInt(settings.getMaxRecastDelay() - settings.getMinRecastDelay() + 1);
+
+        transition(State.RECAST_SCHEDULED, now, delay, reason);
+
+        LOG.info("Auto-recast scheduled in {}ms", delay);
+    }
+
+    /**
+     * Our hook is gone, recast if auto-recast is on and we still hold a rod
+     */
+    private void afterHookGone(long now, String reason) {
+        if (settings.isAutoRecastEnabled() && state.isHoldingRod()) {
+            scheduleRecast(now, reason);
+        } else {
+            transition(State.IDLE, now, reason);
+        }
+    }
+
+    /**
+     * Start the right click that casts
+     */
+    private void startCast(long now, String reason) {
+        LOG.info("Auto-casting fishing rod");
+
+        // Update last cast attempt time for lag protection
+        lastCastAttemptTime = now;
+        transition(State.CASTING, now, reason);
+    }
+
+    /**
+     * Cast the fishing rod if not already fishing
+     */
+    public void castRodIfNeeded(long now) {
+        if (!state.isInGame()) return;
+
+        // Only cast if we're holding a fishing rod and not already fishing
+        if (current != State.IDLE || state.isFishing() || !state.isHoldingRod()) return;
+
+        // Check if we're ready to cast (server lag protection)
+        if (now - lastCastAttemptTime < CAST_RETRY_DELAY) {
+            LOG.debug("Server lag protection: Waiting before attempting to cast again");
+            scheduleRecast(now, "cast requested too soon");
+            return;
+        }
+
+        startCast(now, "cast requested");
+    }
+
+    /**
+     * Reel in the fishing rod if currently fishing
+     */
+    public void reelInIfNeeded(long now) {
+        if (!state.isInGame()) return;
+
+        // Only reel in if our hook is out and we aren't clicking already
+        if (!state.isFishing()) return;
+        if (current != State.WAITING_FOR_BITE && current != State.CHECKING_LIQUID && current != State.CATCH_SCHEDULED) return;
+
+        LOG.info("Auto-reeling in fishing rod");
+        transition(State.REELING, now, "reel requested");
+    }
+
+    /**
+     * Called on the tick our hook appears
+     */
+    public void onCast(long now, int hookEntityId) {
+        try {
+            confirmCast(now, hookEntityId);
+        } catch (RuntimeException e) {
+            abortAfterError(now, "cast", e);
+        }
+    }
+
+    private void confirmCast(long now, int hookEntityId) {
+        if (current == State.AWAITING_CAST) {
+            LOG.debug("Cast confirmed - hook entity {}", hookEntityId);
+
+            // The liquid check gives up LIQUID_CHECK_DELAY after the click, not after the hook appeared
+            int remaining = (int) Math.max(0, LIQUID_CHECK_DELAY - (now - lastCastAttemptTime));
+            transition(State.CHECKING_LIQUID, now, remaining, "cast confirmed");
+        } else if (current == State.IDLE || current == State.RECAST_SCHEDULED) {
+            // The player cast by hand
+            transition(State.WAITING_FOR_BITE, now, "cast by hand");
+        }
+    }
+
+    /**
+     * Called on the tick our hook disappears
+     */
+    public void onReel(long now) {
+        try {
+            confirmReel(now);
+        } catch (RuntimeException e) {
+            abortAfterError(now, "reel", e);
+        }
+    }
+
+    private void confirmReel(long now) {
+        switch (current) {
+            case AWAITING_REEL:
+                LOG.debug("Reel confirmed - hook removed");
+                afterHookGone(now, "reel confirmed");
+                break;
+            case CHECKING_LIQUID:
+            case WAITING_FOR_BITE:
+            case CATCH_SCHEDULED:
+                // Reeled in by hand, or the hook was pulled
+                afterHookGone(now, "hook gone");
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Get the state of the bobber from the current cast
+     * Returns STATE_NONE while the hook from this cast hasn't spawned yet
+     */
+    private int getHookState(long now) {
+        if (hookTrajectory == null || !state.isFishing() ||
+            hookTrajectory.getSpawnTime() < lastCastAttemptTime) {
+            return HookTrajectoryTracker.STATE_NONE;
+        }
+        return hookTrajectory.getState(now);
+    }
+
+    /**
+     * Simulate the right clicks, watch the safety trigger and the hook of a new cast, called once per client tick
+     * The state timeouts run from the timer wheel, which the caller advances after this.
+     */
+    public void tick(long now) {
+        if (!state.isInGame()) return;
+
+        // Check if safety is triggered and disable auto-catch if needed
+        if (state.isSafetyTriggered() && settings.isAutoCatchEnabled()) {
+            settings.setAutoCatchEnabled(false);
+            settings.setAutoRecastEnabled(false);
+            settings.save();
+
+            String reason = state.getSafetyTriggerReason();
+            LOG.warn("Safety triggered: {}", reason);
+
+            // Notify player that auto-fishing was disabled
+            messages.sendMessage("&c[GoFish] &fAuto-fishing disabled for safety: " + reason);
+
+            stop(now, "safety triggered");
+            return;
+        }
+
+        switch (current) {
+            case CASTING:
+            case REELING:
+                simulateRightClick(now);
+                break;
+            case CHECKING_LIQUID:
+                // The trajectory tracker usually knows within a few hundred ms, well before the timeout. A hook
+                // that only went still is decided by the heuristic when the check times out.
+                int hookState = getHookState(now);
+                if (hookState == HookTrajectoryTracker.STATE_IN_LIQUID || hookState == HookTrajectoryTracker.STATE_DRY) {
+                    finishLiquidCheck(now, hookState);
+                }
+                break;
+            case WAITING_FOR_BITE:
+            case CATCH_SCHEDULED:
+                // The hook can disappear without its reel event reaching us, don't sit out the timeout
+                if (!state.isFishing()) {
+                    afterHookGone(now, "hook gone, reel not seen");
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void simulateRightClick(long now) {
+        // Press the right mouse button
+        if (rightClickDuration <= RIGHT_CLICK_TICKS) {
+            input.setUseItemPressed(true);
+
+            rightClickDuration++;
+
+            if (rightClickDuration == 1) {
+                LOG.debug("Pressing right mouse button");
+            }
+            return;
+        }
+
+        // Release the use item key after the duration
+        input.setUseItemPressed(false);
+
+        LOG.debug("Released right mouse button");
+
+        // The server removes or spawns the hook a few ticks later, so wait for the
+        // reel/cast event instead of forcing an entity update
+        transition(current == State.CASTING ? State.AWAITING_CAST : State.AWAITING_REEL, now, "click released");
+    }
+
+    /**
+     * Called by the state timer, the wheel has already taken it off when this runs
+     */
+    private void onStateTimer(long now) {
+        try {
+            onStateTimeout(now);
+        } catch (RuntimeException e) {
+            abortAfterError(now, "state timeout", e);
+        }
+    }
+
+    /**
+     * Called when the current state timed out
+     */
+    private void onStateTimeout(long now) {
+        if (!state.isInGame()) {
+            timers.schedule(stateTimer, now + IDLE_CHECK_INTERVAL);
+            return;
+        }
+
+        // Turning auto-fishing off ends the cycle at its next timeout
+        if (current != State.IDLE && !settings.isAutoCatchEnabled()) {
+            transition(State.IDLE, now, "auto-fishing off");
+            return;
+        }
+
+        switch (current) {
+            case IDLE:
+                onIdleCheck(now);
+                break;
+            case AWAITING_CAST:
+                if (state.isFishing()) {
+                    // The hook is out, we only missed its spawn
+                    transition(State.WAITING_FOR_BITE, now, "hook out, cast not seen");
+                } else {
+                    // No hook appeared after casting, try again
+                    LOG.info("Recast condition met - cast not confirmed");
+                    afterHookGone(now, "cast not confirmed");
+                }
+                break;
+            case CHECKING_LIQUID:
+                finishLiquidCheck(now, getHookState(now));
+                break;
+            case WAITING_FOR_BITE:
+                if (state.isFishing()) {
+                    LOG.warn("No bite for {}s, reeling in", BITE_TIMEOUT / 1000);
+                    transition(State.REELING, now, "no bite");
+                } else {
+                    afterHookGone(now, "hook gone");
+                }
+                break;
+            case CATCH_SCHEDULED:
+                if (delayForJump(now)) return;
+
+                if (state.isFishing()) {
+                    catchFish(now, "auto-catch");
+                } else {
+                    afterHookGone(now, "hook gone before the catch");
+                }
+                break;
+            case AWAITING_REEL:
+                if (state.isFishing()) {
+                    // Hook is still out, the next bite will reel it in
+                    LOG.info("Reel not confirmed - hook still out");
+                    transition(State.WAITING_FOR_BITE, now, "reel not confirmed");
+                } else {
+                    afterHookGone(now, "hook gone, reel not seen");
+                }
+                break;
+            case RECAST_SCHEDULED:
+                if (delayForJump(now)) return;
+
+                if (state.isFishing()) {
+                    transition(State.WAITING_FOR_BITE, now, "already fishing");
+                } else if (!state.isHoldingRod()) {
+                    transition(State.IDLE, now, "no rod");
+                } else {
+                    LOG.debug(() -> "Auto-recast triggered: enabled=" + settings.isAutoRecastEnabled() +
+                                    ", fishing=" + state.isFishing() + ", held item=" + state.getHeldItemName());
+                    startCast(now, "auto-recast");
+                }
+                break;
+            default:
+                // CASTING and REELING end on the tick, they have no timeout
+                break;
+        }
+    }
+
+    /**
+     * Called by the precise scheduler once the catch is due
+     * Only does the plain catch; anything else, like a jump, the hook being gone or auto-fishing being
+     * turned off, is left to the state timeout on the next tick.
+     */
+    private void onCatchDue(long now) {
+        // A cancelled task can still arrive, e.g. after the hook was reeled in by hand
+        if (current != State.CATCH_SCHEDULED || now < catchDueTime) return;
+
+        try {
+            if (!state.isInGame() || !settings.isAutoCatchEnabled() || state.isJumpActive() || !state.isFishing()) return;
+
+            catchFish(now, "auto-catch between ticks");
+        } catch (RuntimeException e) {
+            abortAfterError(now, "precise catch", e);
+        }
+    }
+
+    /**
+     * Reel in the hooked fish with a click that goes out right away
+     */
+    private void catchFish(long now, String reason) {
+        LOG.debug(() -> "Auto-catch triggered: enabled=" + settings.isAutoCatchEnabled() +
+                        ", fishing=" + state.isFishing() + ", held item=" + state.getHeldItemName());
+        if (now > catchDueTime) {
+            LOG.debug("Auto-catch ran {}ms late", now - catchDueTime);
+        }
+
+        input.useItem();
+        transition(State.AWAITING_REEL, now, reason);
+    }
+
+    /**
+     * Look for a reason to start fishing, every IDLE_CHECK_INTERVAL while idle
+     */
+    private void onIdleCheck(long now) {
+        if (settings.isAutoCatchEnabled()) {
+            if (state.isFishing()) {
+                transition(State.WAITING_FOR_BITE, now, "hook already out");
+                return;
+            }
+            if (settings.isAutoRecastEnabled() && state.isHoldingRod() &&
+                now - lastCastAttemptTime >= CAST_RETRY_DELAY) {
+                startCast(now, "idle with a rod");
+                return;
+            }
+        }
+        timers.schedule(stateTimer, now + IDLE_CHECK_INTERVAL);
+    }
+
+    /**
+     * Push the timeout of the current state back a tick while a jump is active
+     * @return true if the jump delayed it
+     */
+    private boolean delayForJump(long now) {
+        if (!state.isJumpActive()) return false;
+
+        LOG.debug("Delaying {} because jump is active", current);
+        timers.schedule(stateTimer, now + timers.getTickLength());
+        return true;
+    }
+
+    /**
+     * Decide whether the hook of the last cast landed in liquid
+     * @param hookState State from the trajectory tracker, the heuristic is used unless it is in liquid or
+     *                  reported on the ground
+     */
+    private void finishLiquidCheck(long now, int hookState) {
+        boolean hookInLiquid = hookState == HookTrajectoryTracker.STATE_IN_LIQUID ||
+                               (hookState != HookTrajectoryTracker.STATE_DRY && state.isHookInLiquid());
+        LOG.debug("Hook state after cast: {} ({}ms)", HookTrajectoryTracker.getStateName(hookState), now - lastCastAttemptTime);
+
+        if (!state.isFishing()) {
+            afterHookGone(now, "hook gone");
+            return;
+        }
+
+        // Only perform liquid check if enabled in config
+        if (!settings.isLiquidDetectionEnabled()) {
+            // Liquid detection is disabled, always reset counter
+            failedLiquidCastAttempts = 0;
+            transition(State.WAITING_FOR_BITE, now, "liquid check off");
+            return;
+        }
+
+        if (hookInLiquid) {
+            // Cast was successful, reset the counter
+            if (failedLiquidCastAttempts > 0) {
+                LOG.debug("Cast landed in liquid, resetting failed attempts counter");
+            }
+            failedLiquidCastAttempts = 0;
+            transition(State.WAITING_FOR_BITE, now, "hook in liquid");
+            return;
+        }
+
+        failedLiquidCastAttempts++;
+        LOG.warn("Cast did not land in liquid, failed attempts: {} (max {})", failedLiquidCastAttempts, settings.getMaxLiquidFailures());
+
+        if (failedLiquidCastAttempts >= settings.getMaxLiquidFailures()) {
+            // Disable auto-catch after configured number of failed attempts
+            settings.setAutoCatchEnabled(false);
+            settings.save();
+
+            messages.sendMessage("&c[GoFish] &fDisabled auto-fishing: Failed to cast into liquid " +
+                                 failedLiquidCastAttempts + " times in a row (Max: " + settings.getMaxLiquidFailures() + ")");
+
+            transition(State.IDLE, now, "too many dry casts");
+        } else {
+            // Reel in, the recast follows once the hook is gone
+            transition(State.REELING, now, "hook not in liquid");
+        }
+    }
+
+    /**
+     * Go back to idle and release the use key
+     */
+    private void stop(long now, String reason) {
+        input.setUseItemPressed(false);
+        if (current != State.IDLE) {
+            transition(State.IDLE, now, reason);
+        }
+    }
+
+    /**
+     * Drop the current cycle and release the use key, e.g. after an error
+     */
+    public void abort(long now) {
+        stop(now, "aborted");
+    }
+
+    /**
+     * Go back to idle after an entry point threw, instead of passing the exception on
+     * Whoever called the entry point would only log it: the timer wheel has already taken the state timer
+     * off, and the callbacks from the packet thread and the state tracker have nothing to reset. Going to
+     * IDLE arms the idle check, and a failed idle check is re-armed by hand.
+     */
+    private void abortAfterError(long now, String entryPoint, RuntimeException e) {
+        System.err.println("[GoFish] Error in fishing controller (" + entryPoint + "): " + e.getMessage());
+        e.printStackTrace();
+
+        try {
+            messages.sendMessage("&c[GoFish] Error: " + e.getMessage());
+        } catch (RuntimeException ex) {
+            // Ignore
+        }
+        try {
+            input.setUseItemPressed(false);
+        } catch (RuntimeException ex) {
+            // Ignore
+        }
+
+        if (current != State.IDLE) {
+            transition(State.IDLE, now, "aborted after an error");
+        } else {
+            timers.schedule(stateTimer, now + IDLE_CHECK_INTERVAL);
+        }
+    }
+}
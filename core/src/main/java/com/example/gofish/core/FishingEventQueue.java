@@ -0,0 +1,125 @@
+package com.example.gofish.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer/single-consumer ring used to hand fishing events
+ * from the Netty I/O thread over to the client thread.
+ * Events are stored as primitives in parallel arrays, so offering an event never allocates.
+ */
+public class FishingEventQueue {
+
+    // Event types
+    public static final int EVENT_BITE = 1; // value: mask of the BiteSignalFusion signals that made up the bite
+    public static final int EVENT_SEA_CREATURE = 2; // value: entity ID, payload: creature name or null
+
+    /**
+     * Callback used when draining the queue
+     */
+    public interface Consumer {
+        void accept(int type, long time, double value, Object payload);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final int[] types;
+    private final long[] times;
+    private final double[] values;
+    private final Object[] payloads;
+
+    // Next slot to read, only advanced by the consumer
+    private final AtomicLong head = new AtomicLong();
+    // Next slot to write, only advanced by the producer
+    private final AtomicLong tail = new AtomicLong();
+    // Producer-local copy of head so a full check doesn't touch the shared counter every time
+    private long cachedHead = 0;
+
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    /**
+     * Constructor
+     * @param requestedCapacity Minimum number of events the queue can hold (rounded up to a power of two)
+     */
+    public FishingEventQueue(int requestedCapacity) {
+        int size = 1;
+        while (size < requestedCapacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.types = new int[size];
+        this.times = new long[size];
+        this.values = new double[size];
+        this.payloads = new Object[size];
+    }
+
+    /**
+     * Add an event without a payload to the queue. Must only be called from the producer thread.
+     * @return false if the queue was full and the event was dropped
+     */
+    public boolean offer(int type, long time, double value) {
+        return offer(type, time, value, null);
+    }
+
+    /**
+     * Add an event to the queue. Must only be called from the producer thread.
+     * @param payload Object handed over with the event, for the rare events a primitive can't describe
+     * @return false if the queue was full and the event was dropped
+     */
+    public boolean offer(int type, long time, double value, Object payload) {
+        long currentTail = tail.get();
+        if (currentTail - cachedHead >= capacity) {
+            cachedHead = head.get();
+            if (currentTail - cachedHead >= capacity) {
+                droppedEvents.incrementAndGet();
+                return false;
+            }
+        }
+
+        int index = (int) currentTail & mask;
+        types[index] = type;
+        times[index] = time;
+        values[index] = value;
+        payloads[index] = payload;
+
+        // Publish the slot after it has been written
+        tail.lazySet(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * Pass every queued event to the consumer. Must only be called from the consumer thread.
+     * @return the number of events drained
+     */
+    public int drain(Consumer consumer) {
+        long currentHead = head.get();
+        long currentTail = tail.get();
+        int drained = 0;
+
+        while (currentHead < currentTail) {
+            int index = (int) currentHead & mask;
+            int type = types[index];
+            long time = times[index];
+            double value = values[index];
+            Object payload = payloads[index];
+            // Don't keep the payload reachable from the ring
+            payloads[index] = null;
+
+            // Release the slot before the callback so a failing consumer can't replay the event
+            currentHead++;
+            head.lazySet(currentHead);
+            drained++;
+
+            consumer.accept(type, time, value, payload);
+        }
+
+        return drained;
+    }
+
+    /**
+     * Get the number of events dropped because the queue was full
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.gofish.core;
+
+/**
+ * Settings the fishing logic reads, on top of the bite detection settings
+ * The Forge mod backs these with its config file, so every change applies on the next read.
+ */
+public interface FishingSettings extends BiteDetector.Settings {
+
+    // Auto-catch
+    boolean isAutoCatchEnabled();
+    void setAutoCatchEnabled(boolean enabled);
+    int getMinCatchDelay();
+    int getMaxCatchDelay();
+
+    // Intentional misses
+    boolean isMissChanceEnabled();
+    int getMissChancePercentage();
+    int getMinMissTimingOffset();
+    int getMaxMissTimingOffset();
+
+    // Auto-recast
+    boolean isAutoRecastEnabled();
+    void setAutoRecastEnabled(boolean enabled);
+    int getMinRecastDelay();
+    int getMaxRecastDelay();
+
+    // Bite gate
+    long getCastIgnoreTime();
+    long getBiteCooldown();
+
+    // Liquid detection
+    boolean isLiquidDetectionEnabled();
+    int getMaxLiquidFailures();
+
+    /**
+     * Persist settings changed by the fishing logic (e.g. auto-fishing turned off for safety)
+     */
+    void save();
+}
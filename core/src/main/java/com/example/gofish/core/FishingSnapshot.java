@@ -0,0 +1,79 @@
+package com.example.gofish.core;
+
+/**
+ * Immutable view of the player's fishing state, captured once per client tick
+ * The packet thread reads this instead of touching entity objects that the client thread is updating.
+ */
+public final class FishingSnapshot {
+
+    public static final int NO_HOOK = -1;
+
+    // Snapshot used while there is no player
+    public static final FishingSnapshot EMPTY = new FishingSnapshot(false, false, NO_HOOK, 0, 0, 0);
+
+    private final boolean fishing;
+    private final boolean holdingRod;
+    private final int hookEntityId;
+    private final double hookX;
+    private final double hookY;
+    private final double hookZ;
+
+    public FishingSnapshot(boolean fishing, boolean holdingRod, int hookEntityId, double hookX, double hookY, double hookZ) {
+        this.fishing = fishing;
+        this.holdingRod = holdingRod;
+        this.hookEntityId = hookEntityId;
+        this.hookX = hookX;
+        this.hookY = hookY;
+        this.hookZ = hookZ;
+    }
+
+    /**
+     * Check if the player was fishing when the snapshot was taken
+     */
+    public boolean isFishing() {
+        return fishing;
+    }
+
+    /**
+     * Check if the player was holding a fishing rod when the snapshot was taken
+     */
+    public boolean isHoldingRod() {
+        return holdingRod;
+    }
+
+    /**
+     * Check if the snapshot contains a fishing hook
+     */
+    public boolean hasHook() {
+        return hookEntityId != NO_HOOK;
+    }
+
+    /**
+     * Get the entity ID of the fishing hook, or NO_HOOK
+     */
+    public int getHookEntityId() {
+        return hookEntityId;
+    }
+
+    public double getHookX() {
+        return hookX;
+    }
+
+    public double getHookY() {
+        return hookY;
+    }
+
+    public double getHookZ() {
+        return hookZ;
+    }
+
+    /**
+     * Squared distance between the hook and a position, compare against a squared radius to avoid the sqrt
+     */
+    public double distanceSquaredTo(double x, double y, double z) {
+        double dx = x - hookX;
+        double dy = y - hookY;
+        double dz = z - hookZ;
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.gofish.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded record of the last state transitions of the fishing controller, shown by /gofish trace
+ * Recording only stores the time, both states and the reason, which is always a constant string,
+ * so the trace is kept all the time and costs nothing to keep.
+ */
+public class FishingTrace {
+
+    private final long[] times;
+    private final FishingController.State[] fromStates;
+    private final FishingController.State[] toStates;
+    private final String[] reasons;
+
+    // Index the next transition is written to, the oldest once the trace is full
+    private int next = 0;
+    private int size = 0;
+
+    public FishingTrace(int capacity) {
+        this.times = new long[capacity];
+        this.fromStates = new FishingController.State[capacity];
+        this.toStates = new FishingController.State[capacity];
+        this.reasons = new String[capacity];
+    }
+
+    /**
+     * Record a transition, dropping the oldest one if the trace is full
+     * @param reason Why the transition happened, a constant
+     */
+    public void record(long time, FishingController.State from, FishingController.State to, String reason) {
+        times[next] = time;
+        fromStates[next] = from;
+        toStates[next] = to;
+        reasons[next] = reason;
+        next = (next + 1) % times.length;
+        if (size < times.length) size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return times.length;
+    }
+
+    /**
+     * Get the recorded transitions oldest first, one line each
+     * @param now Time the age of every transition is measured against
+     */
+    public List<String> format(long now) {
+        List<String> lines = new ArrayList<>(size);
+        int oldest = (next - size + times.length) % times.length;
+        for (int i = 0; i < size; i++) {
+            int index = (oldest + i) % times.length;
+            lines.add(String.format("-%.2fs %s -> %s (%s)", (now - times[index]) / 1000.0,
+                                    fromStates[index], toStates[index], reasons[index]));
+        }
+        return lines;
+    }
+
+    public void clear() {
+        for (int i = 0; i < times.length; i++) {
+            reasons[i] = null;
+        }
+        next = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.gofish.core;
+
+/**
+ * Input the fishing logic can give to the game
+ */
+public interface GameInput {
+
+    /**
+     * Press or release the use item key (right mouse button)
+     */
+    void setUseItemPressed(boolean pressed);
+
+    /**
+     * Use the held item right away, a right click that doesn't wait for the next tick to be processed
+     */
+    void useItem();
+}
@@ -0,0 +1,13 @@
+package com.example.gofish.core;
+
+/**
+ * Chat output of the fishing logic
+ */
+public interface GameMessages {
+
+    /**
+     * Show a message to the player
+     * @param message The message with & color codes
+     */
+    void sendMessage(String message);
+}
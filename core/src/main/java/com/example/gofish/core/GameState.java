@@ -0,0 +1,42 @@
+package com.example.gofish.core;
+
+/**
+ * Read-only view of the game that the fishing logic decides on
+ * Implemented by the Forge mod on top of Minecraft, and by tests or tools with plain fields.
+ */
+public interface GameState {
+
+    /**
+     * Check if there is a player in a world
+     */
+    boolean isInGame();
+
+    /**
+     * Check if the player's fishing hook is out
+     */
+    boolean isFishing();
+
+    boolean isHoldingRod();
+
+    /**
+     * Check if the hook is in water or lava, used when the hook trajectory gives no answer
+     */
+    boolean isHookInLiquid();
+
+    /**
+     * Check if a simulated jump is in progress, clicks wait until it is over
+     */
+    boolean isJumpActive();
+
+    /**
+     * Check if the player was moved or turned by something other than the mod
+     */
+    boolean isSafetyTriggered();
+
+    String getSafetyTriggerReason();
+
+    /**
+     * Get the name of the held item for debug output, or null if the hand is empty
+     */
+    String getHeldItemName();
+}
@@ -0,0 +1,150 @@
+package com.example.gofish.core;
+
+/**
+ * Follows the local bobber through its movement packets and reports where it ended up
+ * A hook that starts rising again after falling is being carried by liquid. A hook that reports being on
+ * the ground has landed on a block. A hook that just stops sending movement is only still: the server
+ * leaves out moves under 4/32 of a block, so a hook resting in calm water goes quiet as well.
+ * Fed from the packet thread, the state can be read from any thread.
+ */
+public class HookTrajectoryTracker {
+
+    // Hook states
+    public static final int STATE_NONE = 0;
+    public static final int STATE_FLYING = 1;
+    public static final int STATE_IN_LIQUID = 2;
+    public static final int STATE_DRY = 3;
+    public static final int STATE_STILL = 4;
+
+    // The server sends bobber movement every 5 ticks, so a hook without updates for longer than this has stopped
+    // moving, on a block or in calm water
+    private static final long STILL_TIMEOUT = 600;
+
+    // Packet thread state
+    private int bobberId = BobberRegistry.NO_BOBBER;
+    private boolean hasFallen = false;
+
+    // Published state
+    private volatile int state = STATE_NONE;
+    private volatile long spawnTime = 0;
+    private volatile long lastMoveTime = 0;
+    private volatile long settledTime = 0;
+
+    /**
+     * Start following a newly spawned bobber
+     */
+    public void start(int entityId, long time) {
+        bobberId = entityId;
+        hasFallen = false;
+        spawnTime = time;
+        lastMoveTime = time;
+        settledTime = 0;
+        state = STATE_FLYING;
+    }
+
+    /**
+     * Stop following the bobber if it is the one being tracked
+     */
+    public void remove(int entityId) {
+        if (entityId != bobberId) return;
+
+        bobberId = BobberRegistry.NO_BOBBER;
+        state = STATE_NONE;
+    }
+
+    /**
+     * Forget the tracked bobber (e.g. after a world change)
+     */
+    public void reset() {
+        bobberId = BobberRegistry.NO_BOBBER;
+        state = STATE_NONE;
+    }
+
+    /**
+     * Get the entity ID of the tracked bobber, or BobberRegistry.NO_BOBBER
+     */
+    public int getBobberId() {
+        return bobberId;
+    }
+
+    /**
+     * Handle a vertical movement of the bobber
+     * @param dy Vertical movement in 1/32 blocks
+     * @param onGround Ground flag sent with the movement
+     */
+    public void onMove(int entityId, int dy, boolean onGround, long time) {
+        if (entityId != bobberId || state != STATE_FLYING) return;
+
+        lastMoveTime = time;
+        if (onGround) {
+            settle(STATE_DRY, time);
+        } else {
+            onVertical(dy, time);
+        }
+    }
+
+    /**
+     * Handle a velocity update of the bobber
+     * @param motionY Vertical velocity as sent by the server (1/8000 blocks per tick)
+     */
+    public void onVelocity(int entityId, int motionY, long time) {
+        if (entityId != bobberId || state != STATE_FLYING) return;
+
+        lastMoveTime = time;
+        onVertical(motionY, time);
+    }
+
+    private void onVertical(int dy, long time) {
+        if (dy < 0) {
+            hasFallen = true;
+        } else if (dy > 0 && hasFallen) {
+            // Only buoyancy pushes a falling hook back up
+            settle(STATE_IN_LIQUID, time);
+        }
+    }
+
+    private void settle(int newState, long time) {
+        settledTime = time;
+        state = newState;
+    }
+
+    /**
+     * Get the current hook state
+     * STATE_IN_LIQUID and STATE_DRY are final, STATE_STILL means the packets don't tell where the hook is.
+     * @param now Current time, used to tell a hook that stopped moving from one still flying
+     */
+    public int getState(long now) {
+        int current = state;
+        if (current == STATE_FLYING && now - lastMoveTime > STILL_TIMEOUT) {
+            return STATE_STILL;
+        }
+        return current;
+    }
+
+    /**
+     * Get the time the tracked bobber spawned
+     */
+    public long getSpawnTime() {
+        return spawnTime;
+    }
+
+    /**
+     * Get the time the bobber was found in liquid or on the ground, or 0 if it hasn't settled
+     */
+    public long getSettledTime() {
+        return settledTime;
+    }
+
+    /**
+     * Get a readable name for a hook state
+     */
+    public static String getStateName(int state) {
+        switch (state) {
+            case STATE_FLYING: return "flying";
+            case STATE_IN_LIQUID: return "in liquid";
+            case STATE_DRY: return "dry";
+            case STATE_STILL: return "still";
+            default: return "none";
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.gofish.core;
+
+/**
+ * Clock that only moves when told to, for replays, benchmarks and simulations
+ * Readings are safe from any thread, but only one thread may move the clock.
+ */
+public class ManualClock implements Clock {
+
+    private volatile long now;
+
+    public ManualClock(long start) {
+        this.now = start;
+    }
+
+    @Override
+    public long millis() {
+        return now;
+    }
+
+    public void set(long time) {
+        now = time;
+    }
+
+    public void advance(long millis) {
+        now += millis;
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.gofish.core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preallocated ring of fixed-width packet records, written by the packet thread
+ * Recording a packet only stores primitives into the arrays, so capture can stay on for a whole session.
+ * The oldest records are overwritten once the ring is full; dump() writes the current contents to a binary file.
+ * Outbound packets are recorded from the same Netty thread, so the local player's rod clicks are part of the capture.
+ *
+ * File format (big-endian): magic, version, sound name count, sound names (UTF), record count, records.
+ * Each record: time (long), kind, entity ID, aux, data (int), x, y, z (double), motion x, y, z (int).
+ * Since version 2, chat records are followed by their text (UTF).
+ */
+public class PacketCaptureRing {
+
+    public static final int MAGIC = 0x47464350; // "GFCP"
+    public static final int VERSION = 2;
+
+    // Record kinds
+    public static final int KIND_SOUND = 1;        // aux: sound ID, x/y/z: position
+    public static final int KIND_PARTICLE = 2;     // aux: particle ID, data: count, x/y/z: position
+    public static final int KIND_VELOCITY = 3;     // motion: velocity in 1/8000 blocks per tick
+    public static final int KIND_SPAWN_OBJECT = 4; // aux: object type, data: object data (angler for bobbers), x/y/z: position, motion: speed
+    public static final int KIND_DESTROY = 5;      // one record per destroyed entity
+    public static final int KIND_MOVE = 6;         // aux: on ground, motion: relative move in 1/32 blocks
+    public static final int KIND_TELEPORT = 7;     // aux: on ground, x/y/z: position
+    public static final int KIND_JOIN_GAME = 8;    // entity ID: the local player
+    public static final int KIND_RESPAWN = 9;      // aux: dimension
+    public static final int KIND_BITE = 10;        // entity ID: hook, data: mask of fused signals
+    public static final int KIND_CHAT = 11;        // aux: chat type, followed by the unformatted text
+    public static final int KIND_USE_ITEM = 12;    // Outbound right click in the air, aux: 1 if holding a fishing rod
+
+    // Longer chat texts are cut so they always fit writeUTF (at most 3 bytes per char)
+    private static final int MAX_TEXT_LENGTH = 16384;
+
+    private final int capacity;
+    private final int mask;
+    private final long[] times;
+    private final int[] kinds;
+    private final int[] entityIds;
+    private final int[] auxs;
+    private final int[] datas;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+    private final int[] motionXs;
+    private final int[] motionYs;
+    private final int[] motionZs;
+    private final String[] texts;
+
+    // Number of records ever written, published after each record
+    private final AtomicLong written = new AtomicLong();
+
+    // Sound names are stored once and referenced by ID
+    private final Map<String, Integer> soundIds = new ConcurrentHashMap<>();
+    private volatile String[] soundNames = new String[0];
+
+    /**
+     * Constructor
+     * @param requestedCapacity Minimum number of records kept (rounded up to a power of two)
+     */
+    public PacketCaptureRing(int requestedCapacity) {
+        int size = 1;
+        while (size < requestedCapacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.times = new long[size];
+        this.kinds = new int[size];
+        this.entityIds = new int[size];
+        this.auxs = new int[size];
+        this.datas = new int[size];
+        this.xs = new double[size];
+        this.ys = new double[size];
+        this.zs = new double[size];
+        this.motionXs = new int[size];
+        this.motionYs = new int[size];
+        this.motionZs = new int[size];
+        this.texts = new String[size];
+    }
+
+    /**
+     * Store a record. Must only be called from the packet thread.
+     */
+    public void record(long time, int kind, int entityId, int aux, int data,
+                       double x, double y, double z, int motionX, int motionY, int motionZ) {
+        long index = written.get();
+        int slot = (int) index & mask;
+        times[slot] = time;
+        kinds[slot] = kind;
+        entityIds[slot] = entityId;
+        auxs[slot] = aux;
+        datas[slot] = data;
+        xs[slot] = x;
+        ys[slot] = y;
+        zs[slot] = z;
+        motionXs[slot] = motionX;
+        motionYs[slot] = motionY;
+        motionZs[slot] = motionZ;
+        texts[slot] = null;
+
+        // Publish the record after it has been written
+        written.lazySet(index + 1);
+    }
+
+    /**
+     * Store a chat message. Must only be called from the packet thread.
+     * @param type Chat type of the message (0 chat, 1 system, 2 action bar)
+     */
+    public void recordChat(long time, int type, String text) {
+        long index = written.get();
+        int slot = (int) index & mask;
+        times[slot] = time;
+        kinds[slot] = KIND_CHAT;
+        entityIds[slot] = 0;
+        auxs[slot] = type;
+        datas[slot] = 0;
+        xs[slot] = 0;
+        ys[slot] = 0;
+        zs[slot] = 0;
+        motionXs[slot] = 0;
+        motionYs[slot] = 0;
+        motionZs[slot] = 0;
+        texts[slot] = text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+
+        written.lazySet(index + 1);
+    }
+
+    /**
+     * Get the ID of a sound name, assigning a new one the first time it is seen
+     * Must only be called from the packet thread.
+     */
+    public int getSoundId(String soundName) {
+        Integer id = soundIds.get(soundName);
+        if (id != null) return id;
+
+        String[] names = soundNames;
+        String[] grown = new String[names.length + 1];
+        System.arraycopy(names, 0, grown, 0, names.length);
+        grown[names.length] = soundName;
+        soundNames = grown;
+        soundIds.put(soundName, names.length);
+        return names.length;
+    }
+
+    /**
+     * Get the number of records ever written
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * Get the number of records the ring can hold
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Write the records currently in the ring to a file, safe to call from any thread
+     * Records overwritten by the packet thread while copying are left out.
+     * @return the number of records written to the file
+     */
+    public int dump(File file) throws IOException {
+        long end = written.get();
+        long start = Math.max(0, end - capacity);
+        int count = (int) (end - start);
+
+        long[] copyTimes = new long[count];
+        int[] copyInts = new int[count * 7];
+        double[] copyPositions = new double[count * 3];
+        String[] copyTexts = new String[count];
+        for (int i = 0; i < count; i++) {
+            int slot = (int) (start + i) & mask;
+            copyTimes[i] = times[slot];
+            copyInts[i * 7] = kinds[slot];
+            copyInts[i * 7 + 1] = entityIds[slot];
+            copyInts[i * 7 + 2] = auxs[slot];
+            copyInts[i * 7 + 3] = datas[slot];
+            copyInts[i * 7 + 4] = motionXs[slot];
+            copyInts[i * 7 + 5] = motionYs[slot];
+            copyInts[i * 7 + 6] = motionZs[slot];
+            copyPositions[i * 3] = xs[slot];
+            copyPositions[i * 3 + 1] = ys[slot];
+            copyPositions[i * 3 + 2] = zs[slot];
+            copyTexts[i] = texts[slot];
+        }
+
+        // Skip the records the writer may have reached while we were copying (including the one in progress)
+        long firstValid = Math.max(start, written.get() - capacity + 1);
+        int skip = (int) Math.min(count, firstValid - start);
+
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+
+        String[] names = soundNames;
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(names.length);
+            for (String name : names) {
+                out.writeUTF(name);
+            }
+            out.writeInt(count - skip);
+            for (int i = skip; i < count; i++) {
+                out.writeLong(copyTimes[i]);
+                for (int j = 0; j < 4; j++) {
+                    out.writeInt(copyInts[i * 7 + j]);
+                }
+                out.writeDouble(copyPositions[i * 3]);
+                out.writeDouble(copyPositions[i * 3 + 1]);
+                out.writeDouble(copyPositions[i * 3 + 2]);
+                for (int j = 4; j < 7; j++) {
+                    out.writeInt(copyInts[i * 7 + j]);
+                }
+                if (copyInts[i * 7] == KIND_CHAT) {
+                    out.writeUTF(copyTexts[i] != null ? copyTexts[i] : "");
+                }
+            }
+        } finally {
+            out.close();
+        }
+
+        return count - skip;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.gofish.core;
+
+/**
+ * Runs an action at the requested moment, between ticks if need be
+ * The timer wheel only fires at the end of a tick, which rounds every action up to the next tick. Actions
+ * whose timing the server sees, such as reeling in after a bite, use this instead. The task runs on the
+ * thread the fishing logic runs on, so it needs no locking. Holds a single task.
+ */
+public interface PreciseScheduler {
+
+    /**
+     * Run the task at the due time, replacing the task scheduled before
+     * A due time in the past runs the task as soon as possible.
+     */
+    void schedule(long dueTime, TimerWheel.Task task);
+
+    /**
+     * Drop the scheduled task, a task already on its way to the client thread may still run
+     */
+    void cancel();
+}
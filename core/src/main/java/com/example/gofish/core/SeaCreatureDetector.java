@@ -0,0 +1,239 @@
+package com.example.gofish.core;
+
+/**
+ * Spots sea creatures as they spawn at the local bobber, before Hypixel announces them in chat
+ * A sea creature arrives as a mob spawn at the hook plus an armor stand carrying its nametag,
+ * e.g. "[Lv15] Sea Walker 1,500/1,500❤". The nametag follows in a metadata packet, so spawns are
+ * held as candidates until a name arrives or the wait runs out. Only a parsed [LvN] nametag is reported:
+ * a mob near the hook that never gets one is as likely a natural squid or someone else's catch, and is
+ * left to the chat line. Each mob is reported once, whether its name came with the spawn or on its stand.
+ * Not thread-safe: feed it from a single thread (the Netty thread when live).
+ */
+public class SeaCreatureDetector {
+
+    // Object type of armor stands in S0EPacketSpawnObject
+    public static final int ARMOR_STAND_OBJECT_TYPE = 78;
+
+    // Metadata index of the custom name of any entity
+    public static final int CUSTOM_NAME_INDEX = 2;
+
+    // Box around our bobber (in 1/32 blocks) a spawn has to be in, nametag stands float a little above the mob
+    private static final int SPAWN_BOX_RADIUS = 4 * BobberRegistry.FIXED_POINT_SCALE;
+
+    // How long a mob may go without a nametag before it is dropped
+    private static final long NAMETAG_WAIT = 250;
+
+    // Spawns waiting for a name, a double hook brings two creatures and their stands
+    private static final int MAX_CANDIDATES = 8;
+
+    private static final char SECTION_SIGN = '\u00A7';
+    private static final char HEART = '\u2764';
+    private static final String LEVEL_PREFIX = "[Lv";
+
+    private static final int KIND_MOB = 0;
+    private static final int KIND_NAMETAG = 1;
+    // Mob already reported with the name it spawned with, its stand's name must not report it again
+    private static final int KIND_NAMED_MOB = 2;
+
+    /**
+     * Receives every sea creature spotted at the bobber
+     */
+    public interface Listener {
+        /**
+         * @param entityId Entity ID of the mob or of its nametag stand
+         * @param name Name of the creature from its nametag
+         * @param time Time of the spawn packet that completed the sighting
+         */
+        void onSeaCreature(int entityId, String name, long time);
+    }
+
+    private final BobberRegistry bobbers;
+    private final Listener listener;
+
+    // Candidates in spawn order, as parallel arrays
+    private final int[] candidateIds = new int[MAX_CANDIDATES];
+    private final int[] candidateKinds = new int[MAX_CANDIDATES];
+    private final long[] candidateTimes = new long[MAX_CANDIDATES];
+    private int candidateCount = 0;
+
+    /**
+     * Constructor
+     * @param bobbers Bobber registry of the bite detector, for the position of the local bobber
+     */
+    public SeaCreatureDetector(BobberRegistry bobbers, Listener listener) {
+        this.bobbers = bobbers;
+        this.listener = listener;
+    }
+
+    /**
+     * A mob spawned, remember it if it spawned at the local bobber
+     * @param x Position in 1/32 blocks, as sent by the server
+     * @param customName Custom name sent with the spawn, or null
+     */
+    public void onSpawnMob(int entityId, int x, int y, int z, String customName, long time) {
+        expire(time);
+        if (!bobbers.isNearLocalBobber(x, y, z, SPAWN_BOX_RADIUS)) return;
+
+        String name = parseName(customName);
+        if (name != null) {
+            addCandidate(entityId, KIND_NAMED_MOB, time);
+            listener.onSeaCreature(entityId, name, time);
+            return;
+        }
+        addCandidate(entityId, KIND_MOB, time);
+    }
+
+    /**
+     * An object spawned, remember armor stands at the local bobber as they may carry a nametag
+     */
+    public void onSpawnObject(int entityId, int type, int x, int y, int z, long time) {
+        if (type != ARMOR_STAND_OBJECT_TYPE) return;
+
+        expire(time);
+        if (!bobbers.isNearLocalBobber(x, y, z, SPAWN_BOX_RADIUS)) return;
+
+        addCandidate(entityId, KIND_NAMETAG, time);
+    }
+
+    /**
+     * An entity got a custom name, report it if it belongs to a candidate and names a sea creature
+     */
+    public void onEntityName(int entityId, String customName, long time) {
+        if (candidateCount == 0) return;
+
+        int index = indexOf(entityId);
+        if (index < 0) {
+            expire(time);
+            return;
+        }
+
+        String name = parseName(customName);
+        if (name == null) return;
+
+        int kind = candidateKinds[index];
+        if (kind == KIND_MOB) {
+            // Keep the mob until its stand shows up, so the stand's name doesn't report it a second time
+            candidateKinds[index] = KIND_NAMED_MOB;
+            listener.onSeaCreature(entityId, name, time);
+            expire(time);
+            return;
+        }
+        removeCandidate(index);
+        if (kind == KIND_NAMED_MOB) {
+            expire(time);
+            return;
+        }
+
+        // A stand's nametag belongs to the oldest mob still waiting for one, unless that mob was already reported
+        int namedMob = indexOfKind(KIND_NAMED_MOB);
+        int mob = indexOfKind(KIND_MOB);
+        if (namedMob >= 0 && (mob < 0 || namedMob < mob)) {
+            removeCandidate(namedMob);
+        } else {
+            if (mob >= 0) removeCandidate(mob);
+            listener.onSeaCreature(entityId, name, time);
+        }
+        expire(time);
+    }
+
+    public void onDestroyEntity(int entityId) {
+        if (candidateCount == 0) return;
+
+        int index = indexOf(entityId);
+        if (index >= 0) removeCandidate(index);
+    }
+
+    /**
+     * Forget every candidate (e.g. after a world change)
+     */
+    public void clear() {
+        candidateCount = 0;
+    }
+
+    /**
+     * Drop the mobs and stands that waited too long for a nametag
+     */
+    public void expire(long time) {
+        while (candidateCount > 0 && time - candidateTimes[0] > NAMETAG_WAIT) {
+            removeCandidate(0);
+        }
+    }
+
+    /**
+     * Get the number of spawns waiting for a name
+     */
+    public int getCandidateCount() {
+        return candidateCount;
+    }
+
+    private void addCandidate(int entityId, int kind, long time) {
+        if (candidateCount == MAX_CANDIDATES) {
+            // Drop the oldest, a burst of spawns this size isn't a sea creature anyway
+            removeCandidate(0);
+        }
+        candidateIds[candidateCount] = entityId;
+        candidateKinds[candidateCount] = kind;
+        candidateTimes[candidateCount] = time;
+        candidateCount++;
+    }
+
+    private void removeCandidate(int index) {
+        int moved = candidateCount - index - 1;
+        System.arraycopy(candidateIds, index + 1, candidateIds, index, moved);
+        System.arraycopy(candidateKinds, index + 1, candidateKinds, index, moved);
+        System.arraycopy(candidateTimes, index + 1, candidateTimes, index, moved);
+        candidateCount--;
+    }
+
+    private int indexOf(int entityId) {
+        for (int i = 0; i < candidateCount; i++) {
+            if (candidateIds[i] == entityId) return i;
+        }
+        return -1;
+    }
+
+    private int indexOfKind(int kind) {
+        for (int i = 0; i < candidateCount; i++) {
+            if (candidateKinds[i] == kind) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Get the creature name out of a Hypixel mob nametag
+     * "§8[§7Lv15§8] §cSea Walker§r §a1,500§f/§a1,500§c❤" gives "Sea Walker"
+     * @return The name, or null if the text isn't a mob nametag
+     */
+    public static String parseName(String customName) {
+        if (customName == null || customName.isEmpty()) return null;
+
+        StringBuilder plain = new StringBuilder(customName.length());
+        for (int i = 0; i < customName.length(); i++) {
+            char c = customName.charAt(i);
+            if (c == SECTION_SIGN) {
+                i++;
+                continue;
+            }
+            plain.append(c);
+        }
+
+        String text = plain.toString().trim();
+        if (!text.startsWith(LEVEL_PREFIX)) return null;
+        int levelEnd = text.indexOf(']');
+        if (levelEnd < 0) return null;
+
+        // Drop the health after the name, "1,500/1,500❤" or "50k❤"
+        String[] words = text.substring(levelEnd + 1).trim().split(" ");
+        int end = words.length;
+        while (end > 0 && (words[end - 1].indexOf(HEART) >= 0 || words[end - 1].indexOf('/') >= 0 || words[end - 1].isEmpty())) {
+            end--;
+        }
+        if (end == 0) return null;
+
+        StringBuilder name = new StringBuilder(words[0]);
+        for (int i = 1; i < end; i++) {
+            name.append(' ').append(words[i]);
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.gofish.core;
+
+/**
+ * Monotonic clock of the running game
+ * Counts with System.nanoTime(), so NTP or the user setting the wall clock can't make scheduled actions
+ * fire early, late or twice. Readings start at the wall time the class was loaded, which keeps them in
+ * the range of the timestamps in older packet captures. Safe to read from any thread.
+ */
+public final class SystemClock implements Clock {
+
+    private static final long ORIGIN_MILLIS = System.currentTimeMillis();
+    private static final long ORIGIN_NANOS = System.nanoTime();
+
+    public static final SystemClock INSTANCE = new SystemClock();
+
+    private SystemClock() {
+    }
+
+    @Override
+    public long millis() {
+        return ORIGIN_MILLIS + (System.nanoTime() - ORIGIN_NANOS) / 1000000L;
+    }
+}
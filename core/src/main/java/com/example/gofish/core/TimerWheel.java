@@ -0,0 +1,220 @@
+package com.example.gofish.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timer wheel the tick driver runs scheduled work from
+ * Timers are hashed into a slot by their due tick, so advancing the wheel only looks at the slots of the
+ * ticks that passed, however many timers are waiting. Timers more than one turn out wait in their slot
+ * until the wheel comes around to them. A timer is a reusable object owned by the code that schedules it;
+ * scheduling one that is already pending moves it.
+ * Not thread-safe: only use it from the client thread.
+ */
+public class TimerWheel {
+
+    /**
+     * Work run when a timer is due
+     */
+    public interface Task {
+        /**
+         * @param now Time the wheel was advanced to, not the due time
+         */
+        void run(long now);
+    }
+
+    private static final int IDLE = 0;
+    private static final int PENDING = 1;
+    private static final int FIRING = 2;
+
+    /**
+     * A schedulable piece of work, create with newTimer()
+     */
+    public static final class Timer {
+        private final String name;
+        private final Task task;
+        private int status = IDLE;
+        private long dueTime = 0;
+        private int slot = 0;
+        private Timer previous = null;
+        private Timer next = null;
+
+        private Timer(String name, Task task) {
+            this.name = name;
+            this.task = task;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Check if the timer is scheduled and hasn't run yet
+         */
+        public boolean isPending() {
+            return status != IDLE;
+        }
+
+        public long getDueTime() {
+            return dueTime;
+        }
+    }
+
+    private final long tickLength;
+    private final int mask;
+
+    // Doubly linked list of timers per slot, in the order they were scheduled
+    private final Timer[] heads;
+    private final Timer[] tails;
+
+    // Timers taken off the wheel by the current advance, run after all slots are scanned
+    private final List<Timer> due = new ArrayList<>();
+
+    // Tick the next advance starts scanning at
+    private long currentTick;
+    private int pendingCount = 0;
+
+    /**
+     * Constructor
+     * @param tickLength Length of one slot in ms
+     * @param slotCount Number of slots, a power of two; one turn of the wheel is tickLength * slotCount ms
+     * @param startTime Time the wheel starts at
+     */
+    public TimerWheel(long tickLength, int slotCount, long startTime) {
+        if (tickLength <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive: " + tickLength);
+        }
+        if (slotCount <= 0 || (slotCount & (slotCount - 1)) != 0) {
+            throw new IllegalArgumentException("Slot count must be a power of two: " + slotCount);
+        }
+        this.tickLength = tickLength;
+        this.mask = slotCount - 1;
+        this.heads = new Timer[slotCount];
+        this.tails = new Timer[slotCount];
+        this.currentTick = startTime / tickLength;
+    }
+
+    public Timer newTimer(String name, Task task) {
+        return new Timer(name, task);
+    }
+
+    /**
+     * Schedule a timer, moving it if it is already pending
+     * A due time that already passed runs on the next advance.
+     */
+    public void schedule(Timer timer, long dueTime) {
+        cancel(timer);
+
+        timer.dueTime = dueTime;
+        timer.status = PENDING;
+        link(timer, Math.max(dueTime / tickLength, currentTick));
+        pendingCount++;
+    }
+
+    /**
+     * Cancel a timer, does nothing if it isn't pending
+     */
+    public void cancel(Timer timer) {
+        if (timer.status == PENDING) {
+            unlink(timer);
+            pendingCount--;
+        } else if (timer.status == FIRING) {
+            // Already off the wheel, the advance running it skips it
+            pendingCount--;
+        }
+        timer.status = IDLE;
+    }
+
+    /**
+     * Run every timer due at or before the given time
+     * Timers run in order of their slot, timers sharing a slot in the order they were scheduled.
+     * If a task throws, the timers that didn't run yet go back on the wheel before the exception is passed on.
+     */
+    public void advance(long now) {
+        long nowTick = now / tickLength;
+        if (nowTick < currentTick) return;
+
+        // After a long pause every slot is scanned once
+        long firstTick = Math.max(currentTick, nowTick - mask);
+        for (long tick = firstTick; tick <= nowTick; tick++) {
+            collectDue((int) (tick & mask), now);
+        }
+        // The current tick is scanned again next time, timers later in this tick aren't due yet
+        currentTick = nowTick;
+
+        int index = 0;
+        try {
+            while (index < due.size()) {
+                Timer timer = due.get(index++);
+                if (timer.status != FIRING) continue;
+
+                timer.status = IDLE;
+                pendingCount--;
+                timer.task.run(now);
+            }
+        } finally {
+            // Put back whatever an exception kept from running
+            for (int i = index; i < due.size(); i++) {
+                Timer timer = due.get(i);
+                if (timer.status == FIRING) {
+                    timer.status = PENDING;
+                    link(timer, currentTick);
+                }
+            }
+            due.clear();
+        }
+    }
+
+    /**
+     * Get the number of timers waiting to run
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    public long getTickLength() {
+        return tickLength;
+    }
+
+    private void collectDue(int slot, long now) {
+        Timer timer = heads[slot];
+        while (timer != null) {
+            Timer next = timer.next;
+            if (timer.dueTime <= now) {
+                unlink(timer);
+                timer.status = FIRING;
+                due.add(timer);
+            }
+            timer = next;
+        }
+    }
+
+    private void link(Timer timer, long tick) {
+        int slot = (int) (tick & mask);
+        timer.slot = slot;
+        timer.previous = tails[slot];
+        timer.next = null;
+        if (tails[slot] == null) {
+            heads[slot] = timer;
+        } else {
+            tails[slot].next = timer;
+        }
+        tails[slot] = timer;
+    }
+
+    private void unlink(Timer timer) {
+        int slot = timer.slot;
+        if (timer.previous == null) {
+            heads[slot] = timer.next;
+        } else {
+            timer.previous.next = timer.next;
+        }
+        if (timer.next == null) {
+            tails[slot] = timer.previous;
+        } else {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+    }
+}
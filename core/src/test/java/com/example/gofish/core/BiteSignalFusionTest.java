@@ -0,0 +1,90 @@
+package com.example.gofish.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Window, threshold and duplicate handling of the bite signal scoring
+ */
+public class BiteSignalFusionTest {
+
+    private static final int HOOK_ID = 42;
+    private static final double THRESHOLD = 1.0;
+    private static final long WINDOW = 200;
+
+    private static int offer(BiteSignalFusion fusion, int signal, double weight, long time) {
+        return fusion.offer(signal, HOOK_ID, weight, THRESHOLD, WINDOW, time);
+    }
+
+    @Test
+    public void strongSignalAloneIsABite() {
+        BiteSignalFusion fusion = new BiteSignalFusion();
+        assertEquals(BiteSignalFusion.RESULT_BITE, offer(fusion, BiteSignalFusion.SIGNAL_SOUND, 1.0, 1000));
+        assertEquals(1.0, fusion.getLastDecisionScore(), 0);
+        assertEquals(1000, fusion.getLastDecisionWindowStart());
+    }
+
+    @Test
+    public void weakSignalsAddUpInsideTheWindow() {
+        BiteSignalFusion fusion = new BiteSignalFusion();
+        assertEquals(BiteSignalFusion.RESULT_PENDING, offer(fusion, BiteSignalFusion.SIGNAL_PARTICLE, 0.6, 1000));
+        assertEquals(BiteSignalFusion.RESULT_BITE, offer(fusion, BiteSignalFusion.SIGNAL_VELOCITY, 0.5, 1200));
+
+        int mask = fusion.getLastDecisionMask();
+        assertTrue(BiteSignalFusion.hasSignal(mask, BiteSignalFusion.SIGNAL_PARTICLE));
+        assertTrue(BiteSignalFusion.hasSignal(mask, BiteSignalFusion.SIGNAL_VELOCITY));
+        assertFalse(BiteSignalFusion.hasSignal(mask, BiteSignalFusion.SIGNAL_SOUND));
+        assertEquals(1.1, fusion.getLastDecisionScore(), 1e-9);
+        assertEquals(1000, fusion.getLastDecisionWindowStart());
+    }
+
+    @Test
+    public void signalsOutsideTheWindowStartOver() {
+        BiteSignalFusion fusion = new BiteSignalFusion();
+        assertEquals(BiteSignalFusion.RESULT_PENDING, offer(fusion, BiteSignalFusion.SIGNAL_PARTICLE, 0.6, 1000));
+        assertEquals(BiteSignalFusion.RESULT_PENDING, offer(fusion, BiteSignalFusion.SIGNAL_VELOCITY, 0.5, 1201));
+
+        // The new window started with the velocity signal
+        assertEquals(BiteSignalFusion.RESULT_BITE, offer(fusion, BiteSignalFusion.SIGNAL_PARTICLE, 0.6, 1300));
+        assertEquals(1201, fusion.getLastDecisionWindowStart());
+    }
+
+    @Test
+    public void repeatedSignalTypeCountsOnce() {
+        BiteSignalFusion fusion = new BiteSignalFusion();
+        assertEquals(BiteSignalFusion.RESULT_PENDING, offer(fusion, BiteSignalFusion.SIGNAL_PARTICLE, 0.6, 1000));
+        assertEquals(BiteSignalFusion.RESULT_DUPLICATE, offer(fusion, BiteSignalFusion.SIGNAL_PARTICLE, 0.6, 1050));
+        assertEquals(BiteSignalFusion.RESULT_DUPLICATE, offer(fusion, BiteSignalFusion.SIGNAL_PARTICLE, 0.6, 1100));
+    }
+
+    @Test
+    public void restOfAReportedBiteIsSuppressed() {
+        BiteSignalFusion fusion = new BiteSignalFusion();
+        assertEquals(BiteSignalFusion.RESULT_BITE, offer(fusion, BiteSignalFusion.SIGNAL_SOUND, 1.0, 1000));
+
+        // The particles and velocity of the same bite arrive right after the sound
+        assertEquals(BiteSignalFusion.RESULT_DUPLICATE, offer(fusion, BiteSignalFusion.SIGNAL_PARTICLE, 1.0, 1050));
+        assertEquals(BiteSignalFusion.RESULT_DUPLICATE, offer(fusion, BiteSignalFusion.SIGNAL_VELOCITY, 1.0, 1399));
+
+        // Two windows later it is a new bite
+        assertEquals(BiteSignalFusion.RESULT_BITE, offer(fusion, BiteSignalFusion.SIGNAL_SOUND, 1.0, 1400));
+        assertEquals(1400, fusion.getLastDecisionWindowStart());
+    }
+
+    @Test
+    public void newHookDropsTheOldSignals() {
+        BiteSignalFusion fusion = new BiteSignalFusion();
+        assertEquals(BiteSignalFusion.RESULT_PENDING, offer(fusion, BiteSignalFusion.SIGNAL_PARTICLE, 0.6, 1000));
+        assertEquals(BiteSignalFusion.RESULT_PENDING,
+            fusion.offer(BiteSignalFusion.SIGNAL_VELOCITY, HOOK_ID + 1, 0.5, THRESHOLD, WINDOW, 1050));
+
+        // A bite just reported on the old hook doesn't suppress the new one either
+        fusion.reset(HOOK_ID);
+        assertEquals(BiteSignalFusion.RESULT_BITE, offer(fusion, BiteSignalFusion.SIGNAL_SOUND, 1.0, 2000));
+        assertEquals(BiteSignalFusion.RESULT_BITE,
+            fusion.offer(BiteSignalFusion.SIGNAL_SOUND, HOOK_ID + 1, 1.0, THRESHOLD, WINDOW, 2010));
+    }
+}
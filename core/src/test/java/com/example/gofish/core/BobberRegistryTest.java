@@ -0,0 +1,159 @@
+package com.example.gofish.core;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Lookups, deletes and growth of the open-addressing bobber table, and keeping track of our own bobber
+ */
+public class BobberRegistryTest {
+
+    private static final int PLAYER_ID = 1200;
+    private static final int OTHER_PLAYER_ID = 1300;
+
+    @Test
+    public void addMoveAndRemove() {
+        BobberRegistry registry = new BobberRegistry(4);
+        registry.add(10, OTHER_PLAYER_ID, 32, 64, 96);
+        assertTrue(registry.contains(10));
+        assertFalse(registry.contains(11));
+        assertEquals(1, registry.size());
+
+        assertTrue(registry.moveBy(10, 1, -2, 3));
+        assertTrue(registry.moveTo(10, 0, 0, 0));
+        assertFalse(registry.moveBy(11, 1, 1, 1));
+
+        registry.remove(10);
+        registry.remove(10);
+        assertFalse(registry.contains(10));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void deletesKeepEveryOtherEntryReachable() {
+        // A small table with sequential IDs, like the server hands them out, fills whole probe chains
+        BobberRegistry registry = new BobberRegistry(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int step = 0; step < 20000; step++) {
+            int id = random.nextInt(64);
+            if (random.nextInt(3) == 0) {
+                registry.remove(id);
+                expected.remove(id);
+            } else {
+                registry.add(id, OTHER_PLAYER_ID, id, 0, 0);
+                expected.put(id, id);
+            }
+
+            assertEquals(expected.size(), registry.size());
+            for (int other = 0; other < 64; other++) {
+                assertEquals("ID " + other + " at step " + step, expected.containsKey(other), registry.contains(other));
+            }
+        }
+    }
+
+    @Test
+    public void localBobberIsFoundByItsOwner() {
+        BobberRegistry registry = new BobberRegistry(4);
+        registry.add(20, OTHER_PLAYER_ID, 0, 0, 0);
+        registry.add(21, PLAYER_ID, 320, 2016, 640);
+        assertFalse(registry.hasLocalBobber());
+
+        // Also found when the player ID only becomes known after the spawn
+        registry.setLocalPlayerId(PLAYER_ID);
+        assertEquals(21, registry.getLocalBobberId());
+        assertEquals(320, registry.getLocalBobberX());
+        assertEquals(2016, registry.getLocalBobberY());
+        assertEquals(640, registry.getLocalBobberZ());
+
+        registry.moveBy(21, 0, -8, 0);
+        assertEquals(2008, registry.getLocalBobberY());
+
+        registry.remove(21);
+        assertFalse(registry.hasLocalBobber());
+        assertEquals(BobberRegistry.NO_BOBBER, registry.getLocalBobberId());
+    }
+
+    @Test
+    public void growingKeepsTheLocalBobber() {
+        BobberRegistry registry = new BobberRegistry(2);
+        registry.setLocalPlayerId(PLAYER_ID);
+        registry.add(500, PLAYER_ID, 1, 2, 3);
+
+        // Enough other bobbers to grow the table several times
+        for (int id = 0; id < 200; id++) {
+            registry.add(1000 + id, OTHER_PLAYER_ID, id, id, id);
+        }
+        assertEquals(201, registry.size());
+        assertEquals(500, registry.getLocalBobberId());
+        assertEquals(1, registry.getLocalBobberX());
+        assertEquals(2, registry.getLocalBobberY());
+        assertEquals(3, registry.getLocalBobberZ());
+
+        // Moves still reach the local slot after the table was rebuilt
+        registry.moveTo(500, 7, 8, 9);
+        assertEquals(8, registry.getLocalBobberY());
+    }
+
+    @Test
+    public void deletesKeepTheLocalSlot() {
+        BobberRegistry registry = new BobberRegistry(4);
+        registry.setLocalPlayerId(PLAYER_ID);
+        for (int id = 0; id < 6; id++) {
+            registry.add(id, OTHER_PLAYER_ID, 0, 0, 0);
+        }
+        registry.add(6, PLAYER_ID, 11, 12, 13);
+
+        // Removing entries before ours can shift it back along its probe chain
+        for (int id = 0; id < 6; id++) {
+            registry.remove(id);
+            assertEquals(6, registry.getLocalBobberId());
+            assertEquals(12, registry.getLocalBobberY());
+            assertTrue(registry.moveBy(6, 0, 1, 0));
+            registry.moveBy(6, 0, -1, 0);
+        }
+    }
+
+    @Test
+    public void bitesNearTheLocalBobber() {
+        BobberRegistry registry = new BobberRegistry(4);
+        registry.setLocalPlayerId(PLAYER_ID);
+        assertFalse(registry.isNearLocalBobber(0, 0, 0, 64));
+
+        registry.add(30, PLAYER_ID, 0, 0, 0);
+        registry.add(31, OTHER_PLAYER_ID, 320, 0, 0);
+        assertTrue(registry.isNearLocalBobber(64, -64, 64, 64));
+        assertFalse(registry.isNearLocalBobber(65, 0, 0, 64));
+
+        assertFalse(registry.isCloserToForeignBobber(100, 0, 0));
+        assertTrue(registry.isCloserToForeignBobber(200, 0, 0));
+    }
+
+    @Test
+    public void clearForgetsEveryBobberButThePlayer() {
+        BobberRegistry registry = new BobberRegistry(4);
+        registry.setLocalPlayerId(PLAYER_ID);
+        registry.add(40, PLAYER_ID, 0, 0, 0);
+        registry.clear();
+        assertEquals(0, registry.size());
+        assertFalse(registry.hasLocalBobber());
+
+        registry.add(41, PLAYER_ID, 0, 0, 0);
+        assertEquals(41, registry.getLocalBobberId());
+    }
+
+    @Test
+    public void toFixedRoundsDown() {
+        assertEquals(32, BobberRegistry.toFixed(1.0));
+        assertEquals(-1, BobberRegistry.toFixed(-0.01));
+        assertEquals(2044, BobberRegistry.toFixed(63.9));
+    }
+}
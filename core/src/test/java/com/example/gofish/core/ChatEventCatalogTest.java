@@ -0,0 +1,133 @@
+package com.example.gofish.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Chat lines the bundled catalog has to recognize and the ones it has to leave alone
+ */
+public class ChatEventCatalogTest {
+
+    private ChatEventCatalog catalog;
+
+    @Before
+    public void setUp() throws IOException {
+        catalog = ChatEventCatalog.loadDefault();
+    }
+
+    private static ChatEventCatalog load(String text) throws IOException {
+        return ChatEventCatalog.load(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), "test");
+    }
+
+    /**
+     * Convert & color codes to § color codes, like the client formats chat
+     */
+    private static String format(String message) {
+        return message.replace('&', '\u00A7');
+    }
+
+    private void assertMatch(String line, String eventId, String name) {
+        FishingChatMatcher.Match match = catalog.match(format(line));
+        if (match == null) {
+            fail("No match for " + line);
+        }
+        assertEquals(eventId, match.event.id);
+        assertEquals(name, match.name);
+    }
+
+    private void assertNoMatch(String line) {
+        assertNull(line, catalog.match(format(line)));
+    }
+
+    @Test
+    public void matchesCaughtFish() {
+        assertMatch("&aYou caught a &9Lilypad&a!", "fish_caught", "Lilypad");
+        assertMatch("&aYou caught an &fEnchanted Book&a!", "fish_caught_an", "Enchanted Book");
+    }
+
+    @Test
+    public void matchesSeaCreatures() {
+        FishingChatMatcher.Match match = catalog.match(format("&aA &cSea Walker &asurfaces!"));
+        assertEquals("sea_creature", match.event.id);
+        assertEquals(FishingChatMatcher.TYPE_SEA_CREATURE, match.type);
+        assertEquals("Sea Walker", match.name);
+
+        assertMatch("&aAn &cAgarimoo &asurfaces!", "sea_creature_an", "Agarimoo");
+    }
+
+    @Test
+    public void matchesTreasureOfEveryColor() {
+        assertMatch("&aYou found a &9Lily Pad&a!", "treasure", "Lily Pad");
+        assertMatch("&6&lGOOD CATCH! &r&6You found a &9Fish Affinity Talisman&6.", "good_catch", "Fish Affinity Talisman");
+        assertMatch("&d&lGREAT CATCH! &r&dYou found an &5Enchanted Sponge&d.", "great_catch_an", "Enchanted Sponge");
+    }
+
+    @Test
+    public void matchesWholeLineEventInAnyColor() {
+        assertMatch("&b&lIt's a Double Hook! Woot woot!", "double_hook", "");
+        assertMatch("It's a Double Hook! Woot woot!", "double_hook", "");
+    }
+
+    @Test
+    public void matchesPlainText() {
+        assertMatch("You caught a Raw Fish!", "fish_caught", "Raw Fish");
+        assertMatch("TROPHY FISH! You caught a Sulphur Skitter.", "trophy_fish", "Sulphur Skitter");
+    }
+
+    @Test
+    public void rejectsLinesInTheWrongColor() {
+        // Anyone can type the text in chat, only the server's color makes it ours
+        assertNoMatch("&cYou caught a Lilypad!");
+        assertNoMatch("&7A Sea Walker surfaces!");
+    }
+
+    @Test
+    public void rejectsOtherChat() {
+        assertNoMatch("&7[NPC] Kat: You caught a Lilypad!");
+        assertNoMatch("&aYou caught a Lilypad");
+        assertNoMatch("&aYou caught a !");
+        assertNoMatch("&bIt's a Double Hook! Woot woot! Again!");
+        assertNoMatch("");
+    }
+
+    @Test
+    public void loadsCustomEvents() throws IOException {
+        ChatEventCatalog custom = load("# Comment\n\nmy_event | other | e | Hello {name}, welcome | &aHi {name} | -\n");
+        assertEquals(1, custom.getEventCount());
+
+        FishingChatMatcher.Match match = custom.match(format("&eHello &bSteve&e, welcome"));
+        assertEquals("my_event", match.event.id);
+        assertEquals("Steve", match.name);
+        assertEquals("&aHi Steve", match.event.formatNotification(match.name));
+        assertNull(match.event.sound);
+    }
+
+    @Test
+    public void rejectsInvalidCatalogs() {
+        String[] invalid = {
+            "missing_fields | fish | a | You caught a {name}!",
+            "bad_category | fishes | a | You caught a {name}! | - | -",
+            "bad_color | fish | z | You caught a {name}! | - | -",
+            "two_names | fish | a | {name} and {name} | - | -",
+            " | fish | a | You caught a {name}! | - | -",
+        };
+        for (String line : invalid) {
+            try {
+                load("# Comment\n" + line + "\n");
+                fail("Loaded " + line);
+            } catch (IOException e) {
+                // The error names the line, so a broken config file can be fixed
+                assertTrue(e.getMessage(), e.getMessage().startsWith("test:2: "));
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.gofish.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Deferred message formatting and draining of the debug log ring
+ */
+public class DebugLogBufferTest {
+
+    /**
+     * Sink that remembers every drained record as one line
+     */
+    private static class Recorder implements DebugLogBuffer.Sink {
+        final List<String> lines = new ArrayList<>();
+
+        @Override
+        public void accept(long time, int level, String source, String message) {
+            lines.add(time + " " + level + " " + source + " " + message);
+        }
+    }
+
+    private static boolean offer(DebugLogBuffer buffer, long time, String format) {
+        return buffer.offer(time, 1, "test", format, 0, null, null, null);
+    }
+
+    @Test
+    public void formatFillsPlaceholdersInOrder() {
+        Object[] args = { "bite", 3, 1.5 };
+        assertEquals("no placeholders", DebugLogBuffer.format("no placeholders", args, 0));
+        assertEquals("Got bite", DebugLogBuffer.format("Got {}", args, 1));
+        assertEquals("bite after 3 ticks, score 1.5", DebugLogBuffer.format("{} after {} ticks, score {}", args, 3));
+        assertEquals("null", DebugLogBuffer.format("{}", new Object[] { null, null, null }, 1));
+    }
+
+    @Test
+    public void formatLeavesExtraPlaceholdersOrArguments() {
+        Object[] args = { "a", "b", "c" };
+        assertEquals("a and {}", DebugLogBuffer.format("{} and {}", args, 1));
+        assertEquals("only a", DebugLogBuffer.format("only {}", args, 3));
+        assertEquals("{", DebugLogBuffer.format("{", args, 1));
+    }
+
+    @Test
+    public void drainsOldestFirstAndFormatsOnTheWay() {
+        DebugLogBuffer buffer = new DebugLogBuffer(4);
+        buffer.offer(1, 2, "packet", "Bite at {}", 1, 42, null, null);
+        buffer.offer(2, 3, "chat", "{} {}", 2, "Sea", "Walker", null);
+
+        Recorder recorder = new Recorder();
+        assertEquals(2, buffer.drain(recorder, new DebugLogBuffer.Batch(8)));
+        assertEquals("1 2 packet Bite at 42", recorder.lines.get(0));
+        assertEquals("2 3 chat Sea Walker", recorder.lines.get(1));
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.drain(recorder, new DebugLogBuffer.Batch(8)));
+    }
+
+    @Test
+    public void smallBatchDrainsInSeveralCalls() {
+        DebugLogBuffer buffer = new DebugLogBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            offer(buffer, i, "record");
+        }
+
+        Recorder recorder = new Recorder();
+        DebugLogBuffer.Batch batch = new DebugLogBuffer.Batch(2);
+        assertEquals(2, buffer.drain(recorder, batch));
+        assertEquals(3, buffer.size());
+        assertEquals(2, buffer.drain(recorder, batch));
+        assertEquals(1, buffer.drain(recorder, batch));
+        assertEquals(5, recorder.lines.size());
+        assertEquals("4 1 test record", recorder.lines.get(4));
+    }
+
+    @Test
+    public void fullRingDropsAndCountsNewRecords() {
+        DebugLogBuffer buffer = new DebugLogBuffer(2);
+        assertTrue(offer(buffer, 1, "first"));
+        assertTrue(offer(buffer, 2, "second"));
+        assertFalse(offer(buffer, 3, "third"));
+        assertEquals(1, buffer.getDroppedRecords());
+
+        Recorder recorder = new Recorder();
+        buffer.drain(recorder, new DebugLogBuffer.Batch(4));
+        assertEquals(2, recorder.lines.size());
+        assertEquals("2 1 test second", recorder.lines.get(1));
+    }
+
+    @Test
+    public void wrapsAroundTheRing() {
+        DebugLogBuffer buffer = new DebugLogBuffer(3);
+        DebugLogBuffer.Batch batch = new DebugLogBuffer.Batch(3);
+        Recorder recorder = new Recorder();
+        long time = 0;
+
+        for (int round = 0; round < 50; round++) {
+            buffer.offer(time, 1, "test", "n={}", 1, time, null, null);
+            time++;
+            buffer.offer(time, 1, "test", "n={}", 1, time, null, null);
+            time++;
+            buffer.drain(recorder, batch);
+        }
+
+        assertEquals(100, recorder.lines.size());
+        for (int i = 0; i < recorder.lines.size(); i++) {
+            assertEquals(i + " 1 test n=" + i, recorder.lines.get(i));
+        }
+        assertEquals(0, buffer.getDroppedRecords());
+    }
+}
@@ -0,0 +1,504 @@
+package com.example.gofish.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Transitions of the cast/reel state machine, driven tick by tick against a fake game on virtual time
+ */
+public class FishingControllerTest {
+
+    private static final long TICK_MILLIS = 50;
+    private static final int HOOK_ID = 42;
+
+    private FakeGame game;
+    private TimerWheel timers;
+    private FishingController controller;
+    private long now;
+
+    @Before
+    public void setUp() {
+        game = new FakeGame();
+        now = 100000;
+        timers = new TimerWheel(TICK_MILLIS, 256, now);
+        controller = new FishingController(game, game, game, game, new Random(1), timers);
+    }
+
+    /**
+     * Run one client tick: the controller first, then the timers that are due
+     */
+    private void tick() {
+        now += TICK_MILLIS;
+        controller.tick(now);
+        timers.advance(now);
+    }
+
+    /**
+     * Tick until the controller is in a state, failing after a minute of game time
+     */
+    private void tickUntil(FishingController.State state) {
+        for (int i = 0; i < 1200 && controller.getState() != state; i++) {
+            tick();
+        }
+        assertEquals(state, controller.getState());
+    }
+
+    /**
+     * Cast and let the hook appear, leaving the controller checking for liquid
+     */
+    private void castAndConfirm() {
+        tickUntil(FishingController.State.AWAITING_CAST);
+        game.fishing = true;
+        controller.onCast(now, HOOK_ID);
+        assertEquals(FishingController.State.CHECKING_LIQUID, controller.getState());
+    }
+
+    @Test
+    public void idleWithRodCastsAndReleasesTheKey() {
+        tickUntil(FishingController.State.CASTING);
+
+        // The idle check starts the cast from the timers, the key goes down on the next tick
+        tick();
+        assertTrue(game.useItemPressed);
+
+        tickUntil(FishingController.State.AWAITING_CAST);
+        assertFalse(game.useItemPressed);
+    }
+
+    @Test
+    public void staysIdleWithAutoFishingOff() {
+        game.autoCatch = false;
+        for (int i = 0; i < 100; i++) {
+            tick();
+        }
+        assertEquals(FishingController.State.IDLE, controller.getState());
+        assertEquals(0, controller.getTrace().size());
+    }
+
+    @Test
+    public void fullCycleFromCastToRecast() {
+        castAndConfirm();
+
+        // Without a trajectory tracker the heuristic decides once the liquid check times out
+        tickUntil(FishingController.State.WAITING_FOR_BITE);
+
+        controller.onFishBite(now);
+        assertEquals(FishingController.State.CATCH_SCHEDULED, controller.getState());
+
+        tickUntil(FishingController.State.AWAITING_REEL);
+        assertEquals(1, game.itemUses);
+
+        game.fishing = false;
+        controller.onReel(now);
+        assertEquals(FishingController.State.RECAST_SCHEDULED, controller.getState());
+
+        tickUntil(FishingController.State.CASTING);
+    }
+
+    @Test
+    public void biteIsIgnoredWithoutHookInWater() {
+        controller.onFishBite(now);
+        assertEquals(FishingController.State.IDLE, controller.getState());
+
+        tickUntil(FishingController.State.AWAITING_CAST);
+        controller.onFishBite(now);
+        assertEquals(FishingController.State.AWAITING_CAST, controller.getState());
+    }
+
+    @Test
+    public void reelWithoutHookIsIgnored() {
+        controller.onReel(now);
+        assertEquals(FishingController.State.IDLE, controller.getState());
+        assertEquals(0, controller.getTrace().size());
+    }
+
+    @Test
+    public void hookReeledByHandWhileWaitingSchedulesRecast() {
+        castAndConfirm();
+        tickUntil(FishingController.State.WAITING_FOR_BITE);
+
+        game.fishing = false;
+        controller.onReel(now);
+        assertEquals(FishingController.State.RECAST_SCHEDULED, controller.getState());
+    }
+
+    @Test
+    public void castByHandStartsWaitingForBite() {
+        game.fishing = true;
+        controller.onCast(now, HOOK_ID);
+        assertEquals(FishingController.State.WAITING_FOR_BITE, controller.getState());
+    }
+
+    @Test
+    public void preciseCatchRunsAtItsDueTime() {
+        RecordingScheduler scheduler = new RecordingScheduler();
+        controller.setCatchScheduler(scheduler);
+        game.missChance = false;
+        game.minCatchDelay = 137;
+        game.maxCatchDelay = 137;
+
+        castAndConfirm();
+        tickUntil(FishingController.State.WAITING_FOR_BITE);
+
+        long biteTime = now + 13;
+        controller.onFishBite(biteTime);
+        assertEquals(biteTime + 137, scheduler.dueTime);
+
+        // Early calls, like a cancelled task still arriving, don't catch
+        scheduler.task.run(biteTime + 136);
+        assertEquals(FishingController.State.CATCH_SCHEDULED, controller.getState());
+        assertEquals(0, game.itemUses);
+
+        scheduler.task.run(biteTime + 137);
+        assertEquals(FishingController.State.AWAITING_REEL, controller.getState());
+        assertEquals(1, game.itemUses);
+        assertEquals(1, scheduler.cancels);
+    }
+
+    @Test
+    public void leavingCatchScheduledCancelsThePreciseCatch() {
+        RecordingScheduler scheduler = new RecordingScheduler();
+        controller.setCatchScheduler(scheduler);
+
+        castAndConfirm();
+        tickUntil(FishingController.State.WAITING_FOR_BITE);
+        controller.onFishBite(now);
+
+        controller.reelInIfNeeded(now);
+        assertEquals(FishingController.State.REELING, controller.getState());
+        assertEquals(1, scheduler.cancels);
+    }
+
+    @Test
+    public void hookOnGroundEndsTheLiquidCheckEarly() {
+        HookTrajectoryTracker trajectory = new HookTrajectoryTracker();
+        controller.setHookTrajectory(trajectory);
+
+        castAndConfirm();
+        long castTime = now;
+        trajectory.start(HOOK_ID, now);
+        trajectory.onMove(HOOK_ID, -8, true, now);
+
+        // The heuristic would say liquid, the ground flag wins
+        tick();
+        assertEquals(FishingController.State.REELING, controller.getState());
+        assertTrue(now - castTime < 1500);
+    }
+
+    @Test
+    public void stillHookFallsBackToTheHeuristicAtTheTimeout() {
+        HookTrajectoryTracker trajectory = new HookTrajectoryTracker();
+        controller.setHookTrajectory(trajectory);
+
+        castAndConfirm();
+        trajectory.start(HOOK_ID, now);
+
+        // A hook resting in calm water sends no movement, that alone doesn't end the check
+        for (int i = 0; i < 20; i++) {
+            tick();
+        }
+        assertEquals(HookTrajectoryTracker.STATE_STILL, trajectory.getState(now));
+        assertEquals(FishingController.State.CHECKING_LIQUID, controller.getState());
+
+        tickUntil(FishingController.State.WAITING_FOR_BITE);
+    }
+
+    @Test
+    public void stillHookOutOfLiquidIsReeledIn() {
+        HookTrajectoryTracker trajectory = new HookTrajectoryTracker();
+        controller.setHookTrajectory(trajectory);
+        game.hookInLiquid = false;
+
+        castAndConfirm();
+        trajectory.start(HOOK_ID, now);
+
+        tickUntil(FishingController.State.REELING);
+    }
+
+    @Test
+    public void tooManyDryCastsTurnAutoFishingOff() {
+        game.hookInLiquid = false;
+
+        for (int cast = 0; cast < game.getMaxLiquidFailures(); cast++) {
+            castAndConfirm();
+            tickUntil(cast + 1 < game.getMaxLiquidFailures() ? FishingController.State.REELING
+                                                                : FishingController.State.IDLE);
+            if (controller.getState() == FishingController.State.REELING) {
+                tickUntil(FishingController.State.AWAITING_REEL);
+                game.fishing = false;
+                controller.onReel(now);
+            }
+        }
+        assertFalse(game.autoCatch);
+        assertEquals(1, game.messages);
+    }
+
+    @Test
+    public void safetyTriggerStopsAndReleasesTheKey() {
+        tickUntil(FishingController.State.CASTING);
+        game.safetyTriggered = true;
+
+        tick();
+        assertEquals(FishingController.State.IDLE, controller.getState());
+        assertFalse(game.useItemPressed);
+        assertFalse(game.autoCatch);
+    }
+
+    @Test
+    public void failedIdleCheckIsRearmed() {
+        game.rodCheckFails = true;
+        for (int i = 0; i < 40; i++) {
+            tick();
+        }
+        assertEquals(FishingController.State.IDLE, controller.getState());
+        assertEquals(1, timers.getPendingCount());
+
+        game.rodCheckFails = false;
+        tickUntil(FishingController.State.CASTING);
+    }
+
+    @Test
+    public void failedStateTimeoutAbortsToIdle() {
+        castAndConfirm();
+        tickUntil(FishingController.State.WAITING_FOR_BITE);
+        controller.onFishBite(now);
+        tickUntil(FishingController.State.AWAITING_REEL);
+        game.fishing = false;
+        controller.onReel(now);
+        assertEquals(FishingController.State.RECAST_SCHEDULED, controller.getState());
+
+        // The recast timeout throws, which used to leave RECAST_SCHEDULED without a timer
+        game.rodCheckFails = true;
+        for (int i = 0; i < 40; i++) {
+            tick();
+        }
+        assertEquals(FishingController.State.IDLE, controller.getState());
+        assertFalse(game.useItemPressed);
+        assertTrue(game.messages > 0);
+        assertEquals(1, timers.getPendingCount());
+
+        game.rodCheckFails = false;
+        tickUntil(FishingController.State.CASTING);
+    }
+
+    @Test
+    public void failedReelCallbackAbortsToIdle() {
+        castAndConfirm();
+        tickUntil(FishingController.State.WAITING_FOR_BITE);
+
+        game.rodCheckFails = true;
+        game.fishing = false;
+        controller.onReel(now);
+        assertEquals(FishingController.State.IDLE, controller.getState());
+        assertEquals(1, timers.getPendingCount());
+    }
+
+    /**
+     * Precise scheduler that only remembers the last catch, the test runs it
+     */
+    private static class RecordingScheduler implements PreciseScheduler {
+
+        long dueTime = -1;
+        TimerWheel.Task task;
+        int cancels = 0;
+
+        @Override
+        public void schedule(long dueTime, TimerWheel.Task task) {
+            this.dueTime = dueTime;
+            this.task = task;
+        }
+
+        @Override
+        public void cancel() {
+            cancels++;
+        }
+    }
+
+    /**
+     * Game where the test decides whether the hook is out, holding a rod with auto-fishing on
+     */
+    private static class FakeGame implements GameState, GameInput, GameMessages, FishingSettings {
+
+        boolean fishing = false;
+        boolean hookInLiquid = true;
+        boolean safetyTriggered = false;
+        boolean rodCheckFails = false;
+        boolean useItemPressed = false;
+        int itemUses = 0;
+        int messages = 0;
+
+        boolean autoCatch = true;
+        boolean autoRecast = true;
+        boolean missChance = true;
+        int minCatchDelay = 80;
+        int maxCatchDelay = 500;
+
+        @Override
+        public boolean isInGame() {
+            return true;
+        }
+
+        @Override
+        public boolean isFishing() {
+            return fishing;
+        }
+
+        @Override
+        public boolean isHoldingRod() {
+            if (rodCheckFails) {
+                throw new IllegalStateException("rod check failed");
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isHookInLiquid() {
+            return hookInLiquid;
+        }
+
+        @Override
+        public boolean isJumpActive() {
+            return false;
+        }
+
+        @Override
+        public boolean isSafetyTriggered() {
+            return safetyTriggered;
+        }
+
+        @Override
+        public String getSafetyTriggerReason() {
+            return "test";
+        }
+
+        @Override
+        public String getHeldItemName() {
+            return "item.fishingRod";
+        }
+
+        @Override
+        public void setUseItemPressed(boolean pressed) {
+            useItemPressed = pressed;
+        }
+
+        @Override
+        public void useItem() {
+            itemUses++;
+        }
+
+        @Override
+        public void sendMessage(String message) {
+            messages++;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public double getSignalWeight(int signal) {
+            return 0.5;
+        }
+
+        @Override
+        public double getScoreThreshold() {
+            return 0.5;
+        }
+
+        @Override
+        public long getFusionWindow() {
+            return 250;
+        }
+
+        @Override
+        public boolean isAutoCatchEnabled() {
+            return autoCatch;
+        }
+
+        @Override
+        public void setAutoCatchEnabled(boolean enabled) {
+            autoCatch = enabled;
+        }
+
+        @Override
+        public int getMinCatchDelay() {
+            return minCatchDelay;
+        }
+
+        @Override
+        public int getMaxCatchDelay() {
+            return maxCatchDelay;
+        }
+
+        @Override
+        public boolean isMissChanceEnabled() {
+            return missChance;
+        }
+
+        @Override
+        public int getMissChancePercentage() {
+            return 10;
+        }
+
+        @Override
+        public int getMinMissTimingOffset() {
+            return -500;
+        }
+
+        @Override
+        public int getMaxMissTimingOffset() {
+            return 800;
+        }
+
+        @Override
+        public boolean isAutoRecastEnabled() {
+            return autoRecast;
+        }
+
+        @Override
+        public void setAutoRecastEnabled(boolean enabled) {
+            autoRecast = enabled;
+        }
+
+        @Override
+        public int getMinRecastDelay() {
+            return 0;
+        }
+
+        @Override
+        public int getMaxRecastDelay() {
+            return 1000;
+        }
+
+        @Override
+        public long getCastIgnoreTime() {
+            return 2000;
+        }
+
+        @Override
+        public long getBiteCooldown() {
+            return 1000;
+        }
+
+        @Override
+        public boolean isLiquidDetectionEnabled() {
+            return true;
+        }
+
+        @Override
+        public int getMaxLiquidFailures() {
+            return 2;
+        }
+
+        @Override
+        public void save() {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.gofish.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Ordering, wrap-around and drop counting of the packet-to-client event ring
+ */
+public class FishingEventQueueTest {
+
+    /**
+     * Consumer that remembers the times of the events it was given
+     */
+    private static class Recorder implements FishingEventQueue.Consumer {
+        final List<Long> times = new ArrayList<>();
+        final List<Object> payloads = new ArrayList<>();
+
+        @Override
+        public void accept(int type, long time, double value, Object payload) {
+            times.add(time);
+            payloads.add(payload);
+        }
+    }
+
+    @Test
+    public void drainsInOfferOrder() {
+        FishingEventQueue queue = new FishingEventQueue(8);
+        queue.offer(FishingEventQueue.EVENT_BITE, 1, 3);
+        queue.offer(FishingEventQueue.EVENT_SEA_CREATURE, 2, 1201, "Sea Walker");
+        queue.offer(FishingEventQueue.EVENT_BITE, 3, 1);
+
+        Recorder recorder = new Recorder();
+        assertEquals(3, queue.drain(recorder));
+        assertEquals(3, recorder.times.size());
+        assertEquals(1L, (long) recorder.times.get(0));
+        assertEquals(2L, (long) recorder.times.get(1));
+        assertEquals(3L, (long) recorder.times.get(2));
+        assertEquals("Sea Walker", recorder.payloads.get(1));
+        assertNull(recorder.payloads.get(0));
+
+        assertEquals(0, queue.drain(recorder));
+    }
+
+    @Test
+    public void capacityIsRoundedUpToAPowerOfTwo() {
+        FishingEventQueue queue = new FishingEventQueue(5);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(queue.offer(FishingEventQueue.EVENT_BITE, i, 0));
+        }
+        assertFalse(queue.offer(FishingEventQueue.EVENT_BITE, 8, 0));
+    }
+
+    @Test
+    public void fullQueueDropsAndCountsNewEvents() {
+        FishingEventQueue queue = new FishingEventQueue(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(FishingEventQueue.EVENT_BITE, i, 0));
+        }
+        assertFalse(queue.offer(FishingEventQueue.EVENT_BITE, 4, 0));
+        assertFalse(queue.offer(FishingEventQueue.EVENT_BITE, 5, 0));
+        assertEquals(2, queue.getDroppedEvents());
+
+        // The oldest events are kept, the dropped ones never show up
+        Recorder recorder = new Recorder();
+        queue.drain(recorder);
+        assertEquals(4, recorder.times.size());
+        assertEquals(3L, (long) recorder.times.get(3));
+
+        assertTrue(queue.offer(FishingEventQueue.EVENT_BITE, 6, 0));
+        assertEquals(2, queue.getDroppedEvents());
+    }
+
+    @Test
+    public void wrapsAroundTheRing() {
+        FishingEventQueue queue = new FishingEventQueue(4);
+        Recorder recorder = new Recorder();
+        long time = 0;
+
+        // Many turns of the ring, with the consumer a few events behind
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(queue.offer(FishingEventQueue.EVENT_BITE, time++, 0));
+            }
+            queue.drain(recorder);
+        }
+
+        assertEquals(300, recorder.times.size());
+        for (int i = 0; i < recorder.times.size(); i++) {
+            assertEquals(i, (long) recorder.times.get(i));
+        }
+        assertEquals(0, queue.getDroppedEvents());
+    }
+
+    @Test
+    public void failingConsumerDoesNotReplayTheEvent() {
+        FishingEventQueue queue = new FishingEventQueue(4);
+        queue.offer(FishingEventQueue.EVENT_BITE, 1, 0);
+        queue.offer(FishingEventQueue.EVENT_BITE, 2, 0);
+
+        try {
+            queue.drain((type, time, value, payload) -> {
+                throw new IllegalStateException("consumer failed");
+            });
+            fail("Exception not passed on");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+
+        Recorder recorder = new Recorder();
+        assertEquals(1, queue.drain(recorder));
+        assertEquals(2L, (long) recorder.times.get(0));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.gofish.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Where the tracker decides the hook ended up, from the movement packets of the local bobber
+ */
+public class HookTrajectoryTrackerTest {
+
+    private static final int BOBBER_ID = 77;
+
+    private static HookTrajectoryTracker cast() {
+        HookTrajectoryTracker tracker = new HookTrajectoryTracker();
+        tracker.start(BOBBER_ID, 1000);
+        return tracker;
+    }
+
+    @Test
+    public void newHookIsFlying() {
+        HookTrajectoryTracker tracker = new HookTrajectoryTracker();
+        assertEquals(HookTrajectoryTracker.STATE_NONE, tracker.getState(0));
+
+        tracker.start(BOBBER_ID, 1000);
+        assertEquals(HookTrajectoryTracker.STATE_FLYING, tracker.getState(1000));
+        assertEquals(1000, tracker.getSpawnTime());
+        assertEquals(0, tracker.getSettledTime());
+    }
+
+    @Test
+    public void risingAfterFallingIsLiquid() {
+        HookTrajectoryTracker tracker = cast();
+        tracker.onMove(BOBBER_ID, 8, false, 1050);
+        tracker.onMove(BOBBER_ID, -12, false, 1300);
+        assertEquals(HookTrajectoryTracker.STATE_FLYING, tracker.getState(1300));
+
+        tracker.onMove(BOBBER_ID, 3, false, 1550);
+        assertEquals(HookTrajectoryTracker.STATE_IN_LIQUID, tracker.getState(1550));
+        assertEquals(1550, tracker.getSettledTime());
+
+        // Final, later packets and time don't change it
+        tracker.onMove(BOBBER_ID, 0, true, 1800);
+        assertEquals(HookTrajectoryTracker.STATE_IN_LIQUID, tracker.getState(5000));
+    }
+
+    @Test
+    public void risingVelocityAfterFallingIsLiquid() {
+        HookTrajectoryTracker tracker = cast();
+        tracker.onVelocity(BOBBER_ID, -400, 1250);
+        tracker.onVelocity(BOBBER_ID, 120, 1500);
+        assertEquals(HookTrajectoryTracker.STATE_IN_LIQUID, tracker.getState(1500));
+    }
+
+    @Test
+    public void risingBeforeFallingIsStillFlying() {
+        // The throw itself goes up first
+        HookTrajectoryTracker tracker = cast();
+        tracker.onMove(BOBBER_ID, 10, false, 1050);
+        tracker.onVelocity(BOBBER_ID, 300, 1100);
+        assertEquals(HookTrajectoryTracker.STATE_FLYING, tracker.getState(1100));
+    }
+
+    @Test
+    public void groundFlagIsDry() {
+        HookTrajectoryTracker tracker = cast();
+        tracker.onMove(BOBBER_ID, -6, false, 1250);
+        tracker.onMove(BOBBER_ID, -2, true, 1500);
+        assertEquals(HookTrajectoryTracker.STATE_DRY, tracker.getState(1500));
+        assertEquals(1500, tracker.getSettledTime());
+
+        tracker.onMove(BOBBER_ID, 4, false, 1750);
+        assertEquals(HookTrajectoryTracker.STATE_DRY, tracker.getState(1750));
+    }
+
+    @Test
+    public void quietHookIsStill() {
+        HookTrajectoryTracker tracker = cast();
+        tracker.onMove(BOBBER_ID, -6, false, 1250);
+        assertEquals(HookTrajectoryTracker.STATE_FLYING, tracker.getState(1850));
+        assertEquals(HookTrajectoryTracker.STATE_STILL, tracker.getState(1851));
+
+        // Still isn't final, the hook can start moving again
+        tracker.onMove(BOBBER_ID, 2, false, 1900);
+        assertEquals(HookTrajectoryTracker.STATE_IN_LIQUID, tracker.getState(1900));
+    }
+
+    @Test
+    public void otherBobbersAreIgnored() {
+        HookTrajectoryTracker tracker = cast();
+        tracker.onMove(BOBBER_ID + 1, -6, false, 1250);
+        tracker.onMove(BOBBER_ID + 1, 2, true, 1300);
+        tracker.onVelocity(BOBBER_ID + 1, 100, 1350);
+        assertEquals(HookTrajectoryTracker.STATE_FLYING, tracker.getState(1350));
+
+        tracker.remove(BOBBER_ID + 1);
+        assertEquals(BOBBER_ID, tracker.getBobberId());
+    }
+
+    @Test
+    public void removedHookIsNone() {
+        HookTrajectoryTracker tracker = cast();
+        tracker.remove(BOBBER_ID);
+        assertEquals(HookTrajectoryTracker.STATE_NONE, tracker.getState(5000));
+        assertEquals(BobberRegistry.NO_BOBBER, tracker.getBobberId());
+
+        // Packets for the old hook arriving late don't bring it back
+        tracker.onMove(BOBBER_ID, -6, false, 5050);
+        assertEquals(HookTrajectoryTracker.STATE_NONE, tracker.getState(5050));
+
+        tracker = cast();
+        tracker.reset();
+        assertEquals(HookTrajectoryTracker.STATE_NONE, tracker.getState(1000));
+    }
+
+    @Test
+    public void recastStartsOver() {
+        HookTrajectoryTracker tracker = cast();
+        tracker.onMove(BOBBER_ID, -6, false, 1250);
+        tracker.onMove(BOBBER_ID, 2, false, 1500);
+
+        // A fall on the previous hook doesn't count for the next one
+        tracker.start(BOBBER_ID + 1, 3000);
+        tracker.onMove(BOBBER_ID + 1, 4, false, 3050);
+        assertEquals(HookTrajectoryTracker.STATE_FLYING, tracker.getState(3050));
+        assertEquals(0, tracker.getSettledTime());
+    }
+
+    @Test
+    public void stateNames() {
+        assertEquals("flying", HookTrajectoryTracker.getStateName(HookTrajectoryTracker.STATE_FLYING));
+        assertEquals("in liquid", HookTrajectoryTracker.getStateName(HookTrajectoryTracker.STATE_IN_LIQUID));
+        assertEquals("dry", HookTrajectoryTracker.getStateName(HookTrajectoryTracker.STATE_DRY));
+        assertEquals("still", HookTrajectoryTracker.getStateName(HookTrajectoryTracker.STATE_STILL));
+        assertEquals("none", HookTrajectoryTracker.getStateName(HookTrajectoryTracker.STATE_NONE));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.gofish.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Nametag parsing and pairing nametag stands with the mobs that spawn at the local bobber
+ */
+public class SeaCreatureDetectorTest {
+
+    private static final int PLAYER_ID = 1200;
+    private static final int BOBBER_ID = 300;
+    private static final int MOB_ID = 301;
+    private static final int STAND_ID = 302;
+
+    // Bobber at 10, 62, 10 in 1/32 blocks
+    private static final int X = 320;
+    private static final int Y = 1984;
+    private static final int Z = 320;
+
+    private static final String WALKER_TAG = "§8[§7Lv15§8] §cSea Walker§r §a1,500§f/§a1,500§c❤";
+    private static final String SQUID_TAG = "§8[§7Lv1§8] §cSquid§r §a80§c❤";
+
+    private final List<String> sightings = new ArrayList<>();
+    private SeaCreatureDetector detector;
+
+    @Before
+    public void setUp() {
+        BobberRegistry bobbers = new BobberRegistry(8);
+        bobbers.setLocalPlayerId(PLAYER_ID);
+        bobbers.add(BOBBER_ID, PLAYER_ID, X, Y, Z);
+        detector = new SeaCreatureDetector(bobbers, (entityId, name, time) -> sightings.add(entityId + " " + name));
+    }
+
+    @Test
+    public void parsesHypixelNametags() {
+        assertEquals("Sea Walker", SeaCreatureDetector.parseName(WALKER_TAG));
+        assertEquals("Squid", SeaCreatureDetector.parseName(SQUID_TAG));
+        assertEquals("Night Squid", SeaCreatureDetector.parseName("§8[§7Lv6§8] §cNight Squid§r §a50k§c❤"));
+        assertEquals("Guardian Defender", SeaCreatureDetector.parseName("[Lv45] Guardian Defender 5,000/5,000❤"));
+    }
+
+    @Test
+    public void rejectsOtherNames() {
+        assertNull(SeaCreatureDetector.parseName(null));
+        assertNull(SeaCreatureDetector.parseName(""));
+        assertNull(SeaCreatureDetector.parseName("§aSteve"));
+        assertNull(SeaCreatureDetector.parseName("[Lv15 Sea Walker"));
+        assertNull(SeaCreatureDetector.parseName("[Lv15] 1,500/1,500❤"));
+    }
+
+    @Test
+    public void standNameReportsTheMobOnce() {
+        detector.onSpawnMob(MOB_ID, X, Y, Z, null, 1000);
+        detector.onSpawnObject(STAND_ID, SeaCreatureDetector.ARMOR_STAND_OBJECT_TYPE, X, Y + 32, Z, 1000);
+        assertEquals(2, detector.getCandidateCount());
+
+        detector.onEntityName(STAND_ID, WALKER_TAG, 1050);
+        assertEquals(1, sightings.size());
+        assertEquals(STAND_ID + " Sea Walker", sightings.get(0));
+        assertEquals(0, detector.getCandidateCount());
+
+        // Health updates resend the name
+        detector.onEntityName(STAND_ID, WALKER_TAG, 1100);
+        assertEquals(1, sightings.size());
+    }
+
+    @Test
+    public void spawnNameIsNotReportedAgainByTheStand() {
+        detector.onSpawnMob(MOB_ID, X, Y, Z, WALKER_TAG, 1000);
+        assertEquals(1, sightings.size());
+        assertEquals(MOB_ID + " Sea Walker", sightings.get(0));
+
+        detector.onSpawnObject(STAND_ID, SeaCreatureDetector.ARMOR_STAND_OBJECT_TYPE, X, Y + 32, Z, 1000);
+        detector.onEntityName(STAND_ID, WALKER_TAG, 1050);
+        assertEquals(1, sightings.size());
+        assertEquals(0, detector.getCandidateCount());
+    }
+
+    @Test
+    public void mobNamedLaterIsNotReportedAgainByTheStand() {
+        detector.onSpawnMob(MOB_ID, X, Y, Z, null, 1000);
+        detector.onSpawnObject(STAND_ID, SeaCreatureDetector.ARMOR_STAND_OBJECT_TYPE, X, Y + 32, Z, 1000);
+
+        detector.onEntityName(MOB_ID, WALKER_TAG, 1020);
+        detector.onEntityName(STAND_ID, WALKER_TAG, 1050);
+        assertEquals(1, sightings.size());
+        assertEquals(MOB_ID + " Sea Walker", sightings.get(0));
+    }
+
+    @Test
+    public void doubleHookPairsEachStandWithItsMob() {
+        detector.onSpawnMob(MOB_ID, X, Y, Z, WALKER_TAG, 1000);
+        detector.onSpawnMob(MOB_ID + 10, X, Y, Z, null, 1000);
+        detector.onSpawnObject(STAND_ID, SeaCreatureDetector.ARMOR_STAND_OBJECT_TYPE, X, Y + 32, Z, 1000);
+        detector.onSpawnObject(STAND_ID + 10, SeaCreatureDetector.ARMOR_STAND_OBJECT_TYPE, X, Y + 32, Z, 1000);
+
+        // The first stand is the reported mob's, the second names the other one
+        detector.onEntityName(STAND_ID, WALKER_TAG, 1050);
+        detector.onEntityName(STAND_ID + 10, SQUID_TAG, 1050);
+        assertEquals(2, sightings.size());
+        assertEquals(MOB_ID + " Sea Walker", sightings.get(0));
+        assertEquals((STAND_ID + 10) + " Squid", sightings.get(1));
+        assertEquals(0, detector.getCandidateCount());
+    }
+
+    @Test
+    public void spawnsAwayFromTheBobberAreIgnored() {
+        detector.onSpawnMob(MOB_ID, X + 32 * 5, Y, Z, WALKER_TAG, 1000);
+        detector.onSpawnObject(STAND_ID, SeaCreatureDetector.ARMOR_STAND_OBJECT_TYPE, X, Y, Z + 32 * 5, 1000);
+        detector.onSpawnObject(STAND_ID + 1, SeaCreatureDetector.ARMOR_STAND_OBJECT_TYPE - 1, X, Y, Z, 1000);
+        assertEquals(0, detector.getCandidateCount());
+
+        detector.onEntityName(STAND_ID, WALKER_TAG, 1050);
+        assertEquals(0, sightings.size());
+    }
+
+    @Test
+    public void namesArrivingTooLateAreIgnored() {
+        detector.onSpawnObject(STAND_ID, SeaCreatureDetector.ARMOR_STAND_OBJECT_TYPE, X, Y, Z, 1000);
+        detector.onSpawnMob(MOB_ID, X, Y, Z, null, 1300);
+        assertEquals(1, detector.getCandidateCount());
+
+        detector.onEntityName(STAND_ID, WALKER_TAG, 1300);
+        assertEquals(0, sightings.size());
+    }
+
+    @Test
+    public void unnamedOrDestroyedCandidatesAreNotReported() {
+        detector.onSpawnObject(STAND_ID, SeaCreatureDetector.ARMOR_STAND_OBJECT_TYPE, X, Y, Z, 1000);
+        detector.onEntityName(STAND_ID, "§aSteve", 1020);
+        assertEquals(1, detector.getCandidateCount());
+
+        detector.onDestroyEntity(STAND_ID);
+        assertEquals(0, detector.getCandidateCount());
+        detector.onEntityName(STAND_ID, WALKER_TAG, 1050);
+        assertEquals(0, sightings.size());
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.gofish.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Scheduling, wrap-around and reentrancy of the timer wheel
+ */
+public class TimerWheelTest {
+
+    // 8 slots of 10 ms, one turn is 80 ms
+    private static final long TICK_LENGTH = 10;
+    private static final int SLOT_COUNT = 8;
+
+    private final List<String> runs = new ArrayList<>();
+
+    private TimerWheel.Timer recording(TimerWheel wheel, String name) {
+        return wheel.newTimer(name, now -> runs.add(name + "@" + now));
+    }
+
+    @Test
+    public void runsTimersInDueOrder() {
+        TimerWheel wheel = new TimerWheel(TICK_LENGTH, SLOT_COUNT, 0);
+        TimerWheel.Timer late = recording(wheel, "late");
+        TimerWheel.Timer early = recording(wheel, "early");
+        TimerWheel.Timer sameSlot = recording(wheel, "same slot");
+        wheel.schedule(late, 45);
+        wheel.schedule(early, 12);
+        wheel.schedule(sameSlot, 14);
+        assertEquals(3, wheel.getPendingCount());
+
+        wheel.advance(11);
+        assertTrue(runs.isEmpty());
+
+        // Timers later in the current tick wait for their time
+        wheel.advance(13);
+        assertEquals(1, runs.size());
+        assertEquals("early@13", runs.get(0));
+        wheel.advance(14);
+        assertEquals("same slot@14", runs.get(1));
+
+        wheel.advance(60);
+        assertEquals("late@60", runs.get(2));
+        assertFalse(late.isPending());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    public void timersMoreThanOneTurnOutWaitForTheirTurn() {
+        TimerWheel wheel = new TimerWheel(TICK_LENGTH, SLOT_COUNT, 0);
+        TimerWheel.Timer timer = recording(wheel, "timer");
+        wheel.schedule(timer, 250);
+
+        // The timer's slot comes around twice before it is due
+        for (long now = 10; now < 250; now += 10) {
+            wheel.advance(now);
+        }
+        assertTrue(runs.isEmpty());
+        assertTrue(timer.isPending());
+
+        wheel.advance(250);
+        assertEquals(1, runs.size());
+    }
+
+    @Test
+    public void longPauseRunsEverythingThatIsDue() {
+        TimerWheel wheel = new TimerWheel(TICK_LENGTH, SLOT_COUNT, 1000);
+        for (int i = 0; i < 20; i++) {
+            wheel.schedule(recording(wheel, "timer " + i), 1000 + i * 37);
+        }
+        TimerWheel.Timer later = recording(wheel, "later");
+        wheel.schedule(later, 100000);
+
+        wheel.advance(50000);
+        assertEquals(20, runs.size());
+        assertTrue(later.isPending());
+        assertEquals(1, wheel.getPendingCount());
+    }
+
+    @Test
+    public void pastDueTimeRunsOnTheNextAdvance() {
+        TimerWheel wheel = new TimerWheel(TICK_LENGTH, SLOT_COUNT, 0);
+        wheel.advance(500);
+        wheel.schedule(recording(wheel, "timer"), 100);
+        wheel.advance(500);
+        assertEquals("timer@500", runs.get(0));
+    }
+
+    @Test
+    public void scheduleMovesAPendingTimer() {
+        TimerWheel wheel = new TimerWheel(TICK_LENGTH, SLOT_COUNT, 0);
+        TimerWheel.Timer timer = recording(wheel, "timer");
+        wheel.schedule(timer, 20);
+        wheel.schedule(timer, 70);
+        assertEquals(1, wheel.getPendingCount());
+        assertEquals(70, timer.getDueTime());
+
+        wheel.advance(50);
+        assertTrue(runs.isEmpty());
+        wheel.advance(70);
+        assertEquals(1, runs.size());
+    }
+
+    @Test
+    public void cancelledTimerDoesNotRun() {
+        TimerWheel wheel = new TimerWheel(TICK_LENGTH, SLOT_COUNT, 0);
+        TimerWheel.Timer timer = recording(wheel, "timer");
+        wheel.schedule(timer, 20);
+        wheel.cancel(timer);
+        wheel.cancel(timer);
+        assertFalse(timer.isPending());
+        assertEquals(0, wheel.getPendingCount());
+
+        wheel.advance(100);
+        assertTrue(runs.isEmpty());
+    }
+
+    @Test
+    public void timerCancelledWhileFiringIsSkipped() {
+        TimerWheel wheel = new TimerWheel(TICK_LENGTH, SLOT_COUNT, 0);
+        TimerWheel.Timer second = recording(wheel, "second");
+        TimerWheel.Timer first = wheel.newTimer("first", now -> {
+            runs.add("first@" + now);
+            wheel.cancel(second);
+        });
+        wheel.schedule(first, 20);
+        wheel.schedule(second, 25);
+
+        // Both are off the wheel and due in this advance when the first one cancels the second
+        wheel.advance(30);
+        assertEquals(1, runs.size());
+        assertFalse(second.isPending());
+        assertEquals(0, wheel.getPendingCount());
+
+        wheel.advance(200);
+        assertEquals(1, runs.size());
+    }
+
+    @Test
+    public void timerMovedWhileFiringRunsAtItsNewTime() {
+        TimerWheel wheel = new TimerWheel(TICK_LENGTH, SLOT_COUNT, 0);
+        TimerWheel.Timer second = recording(wheel, "second");
+        TimerWheel.Timer first = wheel.newTimer("first", now -> wheel.schedule(second, now + 50));
+        wheel.schedule(first, 20);
+        wheel.schedule(second, 25);
+
+        wheel.advance(30);
+        assertTrue(runs.isEmpty());
+        assertEquals(1, wheel.getPendingCount());
+
+        wheel.advance(80);
+        assertEquals(1, runs.size());
+        assertEquals("second@80", runs.get(0));
+    }
+
+    @Test
+    public void taskCanRescheduleItself() {
+        TimerWheel wheel = new TimerWheel(TICK_LENGTH, SLOT_COUNT, 0);
+        TimerWheel.Timer[] timer = new TimerWheel.Timer[1];
+        timer[0] = wheel.newTimer("repeating", now -> {
+            runs.add("repeating@" + now);
+            // Due right away still waits for the next advance, so a task can't loop inside one
+            wheel.schedule(timer[0], now);
+        });
+        wheel.schedule(timer[0], 10);
+
+        wheel.advance(10);
+        assertEquals(1, runs.size());
+        assertTrue(timer[0].isPending());
+        assertEquals(1, wheel.getPendingCount());
+
+        wheel.advance(20);
+        wheel.advance(30);
+        assertEquals(3, runs.size());
+        assertEquals("repeating@30", runs.get(2));
+    }
+
+    @Test
+    public void timersAfterAFailingTaskGoBackOnTheWheel() {
+        TimerWheel wheel = new TimerWheel(TICK_LENGTH, SLOT_COUNT, 0);
+        TimerWheel.Timer before = recording(wheel, "before");
+        TimerWheel.Timer failing = wheel.newTimer("failing", now -> {
+            throw new IllegalStateException("task failed");
+        });
+        TimerWheel.Timer after = recording(wheel, "after");
+        wheel.schedule(before, 10);
+        wheel.schedule(failing, 11);
+        wheel.schedule(after, 12);
+
+        try {
+            wheel.advance(20);
+            fail("Exception not passed on");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        assertEquals(1, runs.size());
+        assertEquals("before@20", runs.get(0));
+        assertFalse(failing.isPending());
+        assertTrue(after.isPending());
+        assertEquals(1, wheel.getPendingCount());
+
+        // The failed task isn't retried, the one it held up runs on the next advance
+        wheel.advance(20);
+        assertEquals(2, runs.size());
+        assertEquals("after@20", runs.get(1));
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    public void rejectsInvalidSizes() {
+        try {
+            new TimerWheel(0, SLOT_COUNT, 0);
+            fail("Accepted a tick length of 0");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+        try {
+            new TimerWheel(TICK_LENGTH, 12, 0);
+            fail("Accepted 12 slots");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.gofish.devserver;
+
+import com.example.gofish.core.BiteDetector;
+import com.example.gofish.core.BobberRegistry;
+import com.example.gofish.core.PacketCaptureRing;
+import com.example.gofish.replay.CaptureFile;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Plays the server packets of a capture back to a connected client, keeping the recorded gaps
+ * Local markers (detected bites, rod clicks) are skipped, and the join record only sets the player's entity ID.
+ */
+public class CapturePlayback implements Runnable {
+
+    private final CaptureFile capture;
+    private final PacketWriter writer;
+    private final double speed;
+    private final boolean loop;
+
+    // Objects spawned by the current pass, destroyed before the next one
+    private final Set<Integer> spawned = new HashSet<>();
+
+    /**
+     * @param speed Playback speed, 2.0 plays the capture twice as fast
+     * @param loop Start over at the end of the capture
+     */
+    public CapturePlayback(CaptureFile capture, PacketWriter writer, double speed, boolean loop) {
+        this.capture = capture;
+        this.writer = writer;
+        this.speed = speed;
+        this.loop = loop;
+    }
+
+    /**
+     * Get the entity ID of the player who recorded the capture, so their bobber belongs to the dev client
+     */
+    public static int findPlayerId(CaptureFile capture, int fallback) {
+        for (int i = 0; i < capture.count; i++) {
+            if (capture.kinds[i] == PacketCaptureRing.KIND_JOIN_GAME) {
+                return capture.entityIds[i];
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Get the position of the first bobber cast by a player, or null if they never cast
+     */
+    public static double[] findBobberPosition(CaptureFile capture, int playerId) {
+        for (int i = 0; i < capture.count; i++) {
+            if (capture.kinds[i] == PacketCaptureRing.KIND_SPAWN_OBJECT
+                    && capture.auxs[i] == BiteDetector.FISHING_BOBBER_OBJECT_TYPE && capture.datas[i] == playerId) {
+                return new double[] { capture.xs[i], capture.ys[i], capture.zs[i] };
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void run() {
+        try {
+            do {
+                playOnce();
+                destroySpawned();
+            } while (loop && !Thread.currentThread().isInterrupted());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.out.println("[GoFish] Playback stopped: " + e.getMessage());
+        }
+    }
+
+    private void playOnce() throws IOException, InterruptedException {
+        if (capture.count == 0) return;
+
+        long firstTime = capture.times[0];
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < capture.count; i++) {
+            // Wait until the record is due, sending everything that arrived together in one flush
+            long dueNanos = startNanos + (long) ((capture.times[i] - firstTime) * 1000000L / speed);
+            long waitMillis = (dueNanos - System.nanoTime()) / 1000000L;
+            if (waitMillis > 0) {
+                writer.flush();
+                Thread.sleep(waitMillis);
+            }
+            send(i);
+        }
+        writer.flush();
+    }
+
+    private void send(int i) throws IOException {
+        int entityId = capture.entityIds[i];
+        switch (capture.kinds[i]) {
+            case PacketCaptureRing.KIND_SOUND:
+                writer.sendSoundEffect(capture.soundNames[capture.auxs[i]], capture.xs[i], capture.ys[i], capture.zs[i]);
+                break;
+            case PacketCaptureRing.KIND_PARTICLE:
+                writer.sendParticles(capture.auxs[i], capture.xs[i], capture.ys[i], capture.zs[i], capture.datas[i]);
+                break;
+            case PacketCaptureRing.KIND_VELOCITY:
+                writer.sendEntityVelocity(entityId, capture.motionXs[i], capture.motionYs[i], capture.motionZs[i]);
+                break;
+            case PacketCaptureRing.KIND_SPAWN_OBJECT:
+                spawned.add(entityId);
+                writer.sendSpawnObject(entityId, capture.auxs[i], BobberRegistry.toFixed(capture.xs[i]),
+                                       BobberRegistry.toFixed(capture.ys[i]), BobberRegistry.toFixed(capture.zs[i]),
+                                       capture.datas[i], capture.motionXs[i], capture.motionYs[i], capture.motionZs[i]);
+                break;
+            case PacketCaptureRing.KIND_DESTROY:
+                spawned.remove(entityId);
+                writer.sendDestroyEntities(new int[] { entityId }, 1);
+                break;
+            case PacketCaptureRing.KIND_MOVE:
+                writer.sendEntityRelMove(entityId, capture.motionXs[i], capture.motionYs[i], capture.motionZs[i],
+                                         capture.auxs[i] != 0);
+                break;
+            case PacketCaptureRing.KIND_TELEPORT:
+                writer.sendEntityTeleport(entityId, BobberRegistry.toFixed(capture.xs[i]), BobberRegistry.toFixed(capture.ys[i]),
+                                          BobberRegistry.toFixed(capture.zs[i]), capture.auxs[i] != 0);
+                break;
+            case PacketCaptureRing.KIND_RESPAWN:
+                writer.sendRespawn(capture.auxs[i]);
+                break;
+            case PacketCaptureRing.KIND_CHAT:
+                writer.sendChat(capture.texts[i] != null ? capture.texts[i] : "", capture.auxs[i]);
+                break;
+            default:
+                // Join, bite and rod click records are not server packets
+                break;
+        }
+    }
+
+    private void destroySpawned() throws IOException {
+        if (spawned.isEmpty()) return;
+
+        int[] entityIds = new int[spawned.size()];
+        int count = 0;
+        for (int entityId : spawned) {
+            entityIds[count++] = entityId;
+        }
+        spawned.clear();
+        writer.sendDestroyEntities(entityIds, count);
+        writer.flush();
+    }
+}
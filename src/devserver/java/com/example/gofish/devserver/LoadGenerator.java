@@ -0,0 +1,73 @@
+package com.example.gofish.devserver;
+
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Floods the client with entity packets around a point at a fixed rate
+ * Spawns a ring of snowballs around the bobber and keeps them jittering with relative moves,
+ * with every eighth packet a velocity update, so the packet handler has to reject a steady stream of foreign entities.
+ */
+public class LoadGenerator implements Runnable {
+
+    // Well above any entity ID a capture or the dev client uses
+    private static final int FIRST_ENTITY_ID = 1000000;
+    private static final int SNOWBALL_OBJECT_TYPE = 61;
+
+    private final PacketWriter writer;
+    private final int packetsPerSecond;
+    private final int entityCount;
+    private final double centerX;
+    private final double centerY;
+    private final double centerZ;
+
+    public LoadGenerator(PacketWriter writer, int packetsPerSecond, int entityCount,
+                         double centerX, double centerY, double centerZ) {
+        this.writer = writer;
+        this.packetsPerSecond = packetsPerSecond;
+        this.entityCount = Math.max(1, entityCount);
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.centerZ = centerZ;
+    }
+
+    @Override
+    public void run() {
+        try {
+            spawnEntities();
+
+            long startNanos = System.nanoTime();
+            long sent = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                long due = (System.nanoTime() - startNanos) * packetsPerSecond / 1000000000L;
+                for (; sent < due; sent++) {
+                    int entityId = FIRST_ENTITY_ID + (int) (sent % entityCount);
+                    // Alternate up and down per pass so the entities stay in place
+                    int dy = (sent / entityCount) % 2 == 0 ? 1 : -1;
+                    if (sent % 8 == 7) {
+                        writer.sendEntityVelocity(entityId, 0, dy * 400, 0);
+                    } else {
+                        writer.sendEntityRelMove(entityId, 0, dy, 0, false);
+                    }
+                }
+                writer.flush();
+                LockSupport.parkNanos(1000000L);
+            }
+        } catch (IOException e) {
+            System.out.println("[GoFish] Load generator stopped: " + e.getMessage());
+        }
+    }
+
+    private void spawnEntities() throws IOException {
+        for (int i = 0; i < entityCount; i++) {
+            // Spread over a ring 1 to 4 blocks from the center
+            double angle = i * 2.0 * Math.PI / entityCount;
+            double radius = 1.0 + 3.0 * (i % 4) / 3.0;
+            int x = (int) Math.floor((centerX + Math.cos(angle) * radius) * 32.0);
+            int y = (int) Math.floor(centerY * 32.0);
+            int z = (int) Math.floor((centerZ + Math.sin(angle) * radius) * 32.0);
+            writer.sendSpawnObject(FIRST_ENTITY_ID + i, SNOWBALL_OBJECT_TYPE, x, y, z, 0, 0, 0, 0);
+        }
+        writer.flush();
+    }
+}
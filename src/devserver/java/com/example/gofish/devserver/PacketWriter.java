@@ -0,0 +1,285 @@
+package com.example.gofish.devserver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes uncompressed, unencrypted protocol 47 (1.8.9) packets to a client
+ * Only the packets the stand-in server needs. Each send is synchronized, so playback,
+ * load generation and keep-alives can share one connection.
+ */
+public class PacketWriter {
+
+    // Login state
+    private static final int LOGIN_SUCCESS = 0x02;
+
+    // Play state, clientbound
+    private static final int KEEP_ALIVE = 0x00;
+    private static final int JOIN_GAME = 0x01;
+    private static final int CHAT = 0x02;
+    private static final int SPAWN_POSITION = 0x05;
+    private static final int RESPAWN = 0x07;
+    private static final int PLAYER_POS_LOOK = 0x08;
+    private static final int SPAWN_OBJECT = 0x0E;
+    private static final int ENTITY_VELOCITY = 0x12;
+    private static final int DESTROY_ENTITIES = 0x13;
+    private static final int ENTITY_REL_MOVE = 0x15;
+    private static final int ENTITY_TELEPORT = 0x18;
+    private static final int SOUND_EFFECT = 0x29;
+    private static final int PARTICLES = 0x2A;
+    private static final int PLAYER_ABILITIES = 0x39;
+
+    private final OutputStream out;
+    private final ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(256);
+    private final DataOutputStream body = new DataOutputStream(bodyBytes);
+    private final ByteArrayOutputStream frameBytes = new ByteArrayOutputStream(256);
+    private long packetsSent = 0;
+
+    public PacketWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public synchronized long getPacketsSent() {
+        return packetsSent;
+    }
+
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    // Status and login
+
+    public synchronized void sendStatusResponse(String json) throws IOException {
+        begin(0x00);
+        writeString(json);
+        send();
+    }
+
+    public synchronized void sendPong(long payload) throws IOException {
+        begin(0x01);
+        body.writeLong(payload);
+        send();
+    }
+
+    public synchronized void sendLoginSuccess(String uuid, String name) throws IOException {
+        begin(LOGIN_SUCCESS);
+        writeString(uuid);
+        writeString(name);
+        send();
+    }
+
+    // Play
+
+    public synchronized void sendKeepAlive(int id) throws IOException {
+        begin(KEEP_ALIVE);
+        writeVarInt(id);
+        send();
+    }
+
+    public synchronized void sendJoinGame(int entityId, int dimension) throws IOException {
+        begin(JOIN_GAME);
+        body.writeInt(entityId);
+        body.writeByte(0); // Survival
+        body.writeByte(dimension);
+        body.writeByte(1); // Easy
+        body.writeByte(1); // Max players
+        writeString("default");
+        body.writeBoolean(false);
+        send();
+    }
+
+    public synchronized void sendRespawn(int dimension) throws IOException {
+        begin(RESPAWN);
+        body.writeInt(dimension);
+        body.writeByte(1);
+        body.writeByte(0);
+        writeString("default");
+        send();
+    }
+
+    public synchronized void sendSpawnPosition(int x, int y, int z) throws IOException {
+        begin(SPAWN_POSITION);
+        body.writeLong(((long) (x & 0x3FFFFFF) << 38) | ((long) (y & 0xFFF) << 26) | (z & 0x3FFFFFF));
+        send();
+    }
+
+    public synchronized void sendPlayerAbilities() throws IOException {
+        begin(PLAYER_ABILITIES);
+        body.writeByte(0);
+        body.writeFloat(0.05F);
+        body.writeFloat(0.1F);
+        send();
+    }
+
+    public synchronized void sendPlayerPosLook(double x, double y, double z) throws IOException {
+        begin(PLAYER_POS_LOOK);
+        body.writeDouble(x);
+        body.writeDouble(y);
+        body.writeDouble(z);
+        body.writeFloat(0);
+        body.writeFloat(30);
+        body.writeByte(0); // Absolute
+        send();
+    }
+
+    /**
+     * Chat message as plain text
+     * @param position 0 chat, 1 system, 2 action bar
+     */
+    public synchronized void sendChat(String text, int position) throws IOException {
+        begin(CHAT);
+        writeString("{\"text\":\"" + escapeJson(text) + "\"}");
+        body.writeByte(position);
+        send();
+    }
+
+    /**
+     * @param x Position in 1/32 blocks
+     */
+    public synchronized void sendSpawnObject(int entityId, int type, int x, int y, int z, int data,
+                                             int speedX, int speedY, int speedZ) throws IOException {
+        begin(SPAWN_OBJECT);
+        writeVarInt(entityId);
+        body.writeByte(type);
+        body.writeInt(x);
+        body.writeInt(y);
+        body.writeInt(z);
+        body.writeByte(0);
+        body.writeByte(0);
+        body.writeInt(data);
+        if (data != 0) {
+            body.writeShort(speedX);
+            body.writeShort(speedY);
+            body.writeShort(speedZ);
+        }
+        send();
+    }
+
+    /**
+     * @param motionX Velocity in 1/8000 blocks per tick
+     */
+    public synchronized void sendEntityVelocity(int entityId, int motionX, int motionY, int motionZ) throws IOException {
+        begin(ENTITY_VELOCITY);
+        writeVarInt(entityId);
+        body.writeShort(motionX);
+        body.writeShort(motionY);
+        body.writeShort(motionZ);
+        send();
+    }
+
+    public synchronized void sendDestroyEntities(int[] entityIds, int count) throws IOException {
+        begin(DESTROY_ENTITIES);
+        writeVarInt(count);
+        for (int i = 0; i < count; i++) {
+            writeVarInt(entityIds[i]);
+        }
+        send();
+    }
+
+    /**
+     * @param dx Relative movement in 1/32 blocks, -128 to 127
+     */
+    public synchronized void sendEntityRelMove(int entityId, int dx, int dy, int dz, boolean onGround) throws IOException {
+        begin(ENTITY_REL_MOVE);
+        writeVarInt(entityId);
+        body.writeByte(dx);
+        body.writeByte(dy);
+        body.writeByte(dz);
+        body.writeBoolean(onGround);
+        send();
+    }
+
+    /**
+     * @param x Position in 1/32 blocks
+     */
+    public synchronized void sendEntityTeleport(int entityId, int x, int y, int z, boolean onGround) throws IOException {
+        begin(ENTITY_TELEPORT);
+        writeVarInt(entityId);
+        body.writeInt(x);
+        body.writeInt(y);
+        body.writeInt(z);
+        body.writeByte(0);
+        body.writeByte(0);
+        body.writeBoolean(onGround);
+        send();
+    }
+
+    public synchronized void sendSoundEffect(String soundName, double x, double y, double z) throws IOException {
+        begin(SOUND_EFFECT);
+        writeString(soundName);
+        body.writeInt((int) (x * 8.0));
+        body.writeInt((int) (y * 8.0));
+        body.writeInt((int) (z * 8.0));
+        body.writeFloat(1.0F);
+        body.writeByte(63); // Pitch 1.0
+        send();
+    }
+
+    /**
+     * Particles without extra arguments (not icon/block crack particles)
+     */
+    public synchronized void sendParticles(int particleId, double x, double y, double z, int count) throws IOException {
+        begin(PARTICLES);
+        body.writeInt(particleId);
+        body.writeBoolean(false);
+        body.writeFloat((float) x);
+        body.writeFloat((float) y);
+        body.writeFloat((float) z);
+        body.writeFloat(0.2F);
+        body.writeFloat(0.0F);
+        body.writeFloat(0.2F);
+        body.writeFloat(0.2F);
+        body.writeInt(count);
+        send();
+    }
+
+    private void begin(int packetId) throws IOException {
+        bodyBytes.reset();
+        writeVarInt(packetId);
+    }
+
+    private void send() throws IOException {
+        frameBytes.reset();
+        int length = bodyBytes.size();
+        while ((length & ~0x7F) != 0) {
+            frameBytes.write((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        frameBytes.write(length);
+        bodyBytes.writeTo(frameBytes);
+        frameBytes.writeTo(out);
+        packetsSent++;
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            body.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        body.writeByte(value);
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        body.write(bytes);
+    }
+
+    private static String escapeJson(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.gofish.devserver;
+
+import com.example.gofish.replay.CaptureFile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Minimal offline-mode 1.8.9 server for testing the mod's packet path end to end
+ * Logs a dev client in, then plays back a packet capture and/or floods it with entity packets.
+ * The world is empty (no chunks), the client only needs to receive the fishing traffic.
+ * Start the dev client with -PassumeHypixel so the mod inspects packets from this server.
+ *
+ * Usage: StandInServer [--port 25565] [--capture file] [--speed 1.0] [--loop] [--start-delay ms]
+ *        [--load packets/s] [--load-entities n]
+ */
+public class StandInServer {
+
+    private static final int PROTOCOL_VERSION = 47;
+    private static final int DEFAULT_PLAYER_ID = 1;
+    private static final int KEEP_ALIVE_INTERVAL = 5000;
+
+    private int port = 25565;
+    private File captureFile = null;
+    private double speed = 1.0;
+    private boolean loop = false;
+    private long startDelay = 3000; // Time for the client to leave the terrain screen
+    private int loadRate = 0;
+    private int loadEntities = 64;
+
+    private CaptureFile capture = null;
+
+    public static void main(String[] args) {
+        try {
+            StandInServer server = new StandInServer();
+            server.parseOptions(args);
+            server.run();
+        } catch (Exception e) {
+            System.err.println("[GoFish] Stand-in server error: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private void parseOptions(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--loop")) {
+                loop = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--port": port = Integer.parseInt(value); break;
+                case "--capture": captureFile = new File(value); break;
+                case "--speed": speed = Double.parseDouble(value); break;
+                case "--start-delay": startDelay = Long.parseLong(value); break;
+                case "--load": loadRate = Integer.parseInt(value); break;
+                case "--load-entities": loadEntities = Integer.parseInt(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+    }
+
+    private void run() throws IOException {
+        if (captureFile != null) {
+            capture = CaptureFile.read(captureFile);
+            System.out.println("[GoFish] Loaded " + capture.count + " records from " + captureFile.getPath());
+        }
+
+        ServerSocket serverSocket = new ServerSocket(port);
+        System.out.println("[GoFish] Stand-in server listening on port " + port);
+        while (true) {
+            final Socket socket = serverSocket.accept();
+            socket.setTcpNoDelay(true);
+            Thread connection = new Thread(() -> handleConnection(socket), "GoFish stand-in " + socket.getRemoteSocketAddress());
+            connection.setDaemon(true);
+            connection.start();
+        }
+    }
+
+    private void handleConnection(Socket socket) {
+        Thread playback = null;
+        Thread load = null;
+        Thread keepAlive = null;
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            PacketWriter writer = new PacketWriter(new BufferedOutputStream(socket.getOutputStream(), 65536));
+
+            // Handshake: protocol version, address, port, next state
+            DataInputStream handshake = readPacket(in);
+            if (readVarInt(handshake) != 0x00) return;
+            int protocol = readVarInt(handshake);
+            readString(handshake);
+            handshake.readUnsignedShort();
+            int nextState = readVarInt(handshake);
+
+            if (nextState == 1) {
+                handleStatus(in, writer);
+                return;
+            }
+            if (protocol != PROTOCOL_VERSION) {
+                System.out.println("[GoFish] Rejecting client with protocol " + protocol);
+                return;
+            }
+
+            // Login start: offline mode, no encryption or compression
+            DataInputStream loginStart = readPacket(in);
+            readVarInt(loginStart);
+            String name = readString(loginStart);
+            UUID uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8));
+            writer.sendLoginSuccess(uuid.toString(), name);
+
+            int playerId = capture != null ? CapturePlayback.findPlayerId(capture, DEFAULT_PLAYER_ID) : DEFAULT_PLAYER_ID;
+            double[] center = capture != null ? CapturePlayback.findBobberPosition(capture, playerId) : null;
+            if (center == null) {
+                center = new double[] { 0.5, 64, 0.5 };
+            }
+
+            // Stand the player a few blocks behind the bobber, looking at it
+            writer.sendJoinGame(playerId, 0);
+            writer.sendSpawnPosition((int) center[0], (int) center[1], (int) center[2]);
+            writer.sendPlayerAbilities();
+            writer.sendPlayerPosLook(center[0], center[1] + 1, center[2] - 4);
+            writer.flush();
+            System.out.println("[GoFish] " + name + " logged in as entity " + playerId);
+
+            Thread.sleep(startDelay);
+            if (capture != null) {
+                playback = startThread(new CapturePlayback(capture, writer, speed, loop), "GoFish playback");
+            }
+            if (loadRate > 0) {
+                load = startThread(new LoadGenerator(writer, loadRate, loadEntities, center[0], center[1], center[2]),
+                                   "GoFish load");
+            }
+
+            keepAlive = startThread(() -> keepAlive(writer), "GoFish keep-alive");
+
+            // Drain the client's packets until it leaves
+            while (true) {
+                readPacket(in);
+            }
+        } catch (EOFException e) {
+            System.out.println("[GoFish] Client disconnected");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.out.println("[GoFish] Connection closed: " + e.getMessage());
+        } finally {
+            if (playback != null) playback.interrupt();
+            if (load != null) load.interrupt();
+            if (keepAlive != null) keepAlive.interrupt();
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+        }
+    }
+
+    /**
+     * Send keep-alives so the client doesn't time out, and report the packet rate
+     */
+    private static void keepAlive(PacketWriter writer) {
+        try {
+            long lastSent = writer.getPacketsSent();
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(KEEP_ALIVE_INTERVAL);
+                writer.sendKeepAlive((int) System.currentTimeMillis());
+                writer.flush();
+
+                long sent = writer.getPacketsSent();
+                System.out.println(String.format("[GoFish] Sending %.0f packets/s", (sent - lastSent) * 1000.0 / KEEP_ALIVE_INTERVAL));
+                lastSent = sent;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The connection handler reports the disconnect
+        }
+    }
+
+    private void handleStatus(DataInputStream in, PacketWriter writer) throws IOException {
+        // Status request, then ping
+        readPacket(in);
+        writer.sendStatusResponse("{\"version\":{\"name\":\"1.8.9\",\"protocol\":" + PROTOCOL_VERSION + "},"
+                                  + "\"players\":{\"max\":1,\"online\":0},"
+                                  + "\"description\":{\"text\":\"GoFish stand-in server\"}}");
+        writer.flush();
+
+        DataInputStream ping = readPacket(in);
+        readVarInt(ping);
+        writer.sendPong(ping.readLong());
+        writer.flush();
+    }
+
+    private static Thread startThread(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Read one length-prefixed packet (uncompressed)
+     */
+    private static DataInputStream readPacket(DataInputStream in) throws IOException {
+        byte[] packet = new byte[readVarInt(in)];
+        in.readFully(packet);
+        return new DataInputStream(new ByteArrayInputStream(packet));
+    }
+
+    private static int readVarInt(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("VarInt too long");
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.gofish.benchmark;
+
+import com.example.gofish.config.GoFishConfig;
+import com.example.gofish.core.FishingChatMatcher;
+import com.example.gofish.core.ManualClock;
+import com.example.gofish.handlers.ChatHandler;
+import com.example.gofish.handlers.NotificationService;
+import com.example.gofish.handlers.TickDriver;
+import com.example.gofish.utils.FishingUtils;
+import net.minecraft.util.ChatComponentText;
+import net.minecraftforge.client.event.ClientChatReceivedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recognizing fishing messages per chat line, for a corpus of SkyBlock chat
+ * The chat handler runs against a headless client on Hypixel, so every line goes through all of
+ * ChatHandler.onChatMessage: the checks, formatting the chat component, matching it and posting the
+ * notification. The notifications are only counted, showing them needs the chat GUI.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatBenchmark {
+
+    private final FishingChatMatcher matcher = new FishingChatMatcher();
+
+    private String[] lines;
+    private ClientChatReceivedEvent[] events;
+    private ChatHandler chatHandler;
+    private CountingNotifications notifications;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        HeadlessClient.start();
+        GoFishConfig.enableNotifications = true;
+        if (!FishingUtils.isOnHypixel()) {
+            throw new IllegalStateException("Headless client isn't on Hypixel, onChatMessage would return early");
+        }
+
+        chatHandler = new ChatHandler(new TickDriver(new ManualClock(1000000)));
+        notifications = new CountingNotifications();
+        chatHandler.setNotifications(notifications);
+
+        lines = ChatCorpus.load();
+        events = new ClientChatReceivedEvent[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            events[i] = new ClientChatReceivedEvent((byte) 0, new ChatComponentText(lines[i]));
+        }
+
+        // The corpus has fishing lines, so a handler that reaches the matcher posts something
+        for (ClientChatReceivedEvent event : events) {
+            chatHandler.onChatMessage(event);
+        }
+        if (notifications.posted == 0) {
+            throw new IllegalStateException("onChatMessage posted nothing for the corpus, it returns early");
+        }
+    }
+
+    /**
+     * Hand a received chat line to the chat handler
+     */
+    @Benchmark
+    public void onChatMessage() {
+        ClientChatReceivedEvent event = events[next];
+        next = next + 1 < events.length ? next + 1 : 0;
+        chatHandler.onChatMessage(event);
+    }
+
+    /**
+     * Match already formatted text
+     */
+    @Benchmark
+    public FishingChatMatcher.Match match() {
+        String line = lines[next];
+        next = next + 1 < lines.length ? next + 1 : 0;
+        return matcher.match(line);
+    }
+
+    /**
+     * Notification service that counts what it is given instead of queueing it for the chat GUI
+     */
+    private static class CountingNotifications extends NotificationService {
+
+        long posted = 0;
+
+        @Override
+        public void post(int category, String message) {
+            posted++;
+        }
+
+        @Override
+        public void playSound(int category, String sound) {
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.gofish.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SkyBlock chat lines for the chat benchmarks, loaded from chat-corpus.txt
+ */
+public final class ChatCorpus {
+
+    private ChatCorpus() {
+    }
+
+    /**
+     * Load the corpus as formatted text, with section signs like the client produces
+     */
+    public static String[] load() throws IOException {
+        InputStream stream = ChatCorpus.class.getResourceAsStream("chat-corpus.txt");
+        if (stream == null) {
+            throw new IOException("chat-corpus.txt is missing");
+        }
+
+        List<String> lines = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                lines.add(toSectionCodes(line));
+            }
+        } finally {
+            reader.close();
+        }
+        return lines.toArray(new String[lines.size()]);
+    }
+
+    /**
+     * Convert & color codes to § color codes
+     */
+    public static String toSectionCodes(String message) {
+        return message.replace('&', '\u00A7');
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.gofish.benchmark;
+
+import com.example.gofish.utils.EntityIdAccessors;
+import net.minecraft.network.Packet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading the entity ID of a packet, for the SkyBlock packet mix
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityIdBenchmark {
+
+    // Power of two, so the next packet is picked with a mask
+    private static final int MIX_SIZE = 4096;
+
+    private Packet<?>[] packets;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        packets = PacketMix.create(MIX_SIZE, 42);
+    }
+
+    @Benchmark
+    public int getEntityId() {
+        return EntityIdAccessors.getEntityId(packets[next++ & (MIX_SIZE - 1)]);
+    }
+}
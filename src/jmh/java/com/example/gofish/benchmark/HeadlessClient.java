@@ -0,0 +1,168 @@
+package com.example.gofish.benchmark;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.entity.EntityPlayerSP;
+import net.minecraft.client.multiplayer.ServerData;
+import net.minecraft.client.settings.GameSettings;
+import net.minecraft.client.settings.KeyBinding;
+import net.minecraft.entity.projectile.EntityFishHook;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemFishingRod;
+import net.minecraft.item.ItemStack;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+
+/**
+ * Just enough of a client for the handlers to run their whole path in a benchmark
+ * A player holding a fishing rod on Hypixel, without a window, world or network. The game objects are
+ * allocated without running their constructors, which need a display, and only the fields the handlers
+ * read are filled in. Anything that needs the world, like sending the use item packet, stays a no-op.
+ */
+public final class HeadlessClient {
+
+    private static final String INVENTORY_CLASS = "net.minecraft.entity.player.InventoryPlayer";
+
+    // Unsafe.allocateInstance, looked up by name so the benchmarks don't compile against sun.misc
+    private static Object unsafe;
+    private static Method allocateInstance;
+
+    private final EntityPlayerSP player;
+    private final EntityFishHook hook;
+
+    private HeadlessClient(EntityPlayerSP player, EntityFishHook hook) {
+        this.player = player;
+        this.hook = hook;
+    }
+
+    /**
+     * Create the client and make it the one Minecraft.getMinecraft returns
+     */
+    public static HeadlessClient start() throws Exception {
+        Minecraft mc = allocate(Minecraft.class);
+        setFieldOfType(null, Minecraft.class, Minecraft.class, mc);
+
+        ServerData server = allocate(ServerData.class);
+        server.serverIP = "mc.hypixel.net";
+        setFieldOfType(mc, Minecraft.class, ServerData.class, server);
+
+        GameSettings settings = allocate(GameSettings.class);
+        settings.keyBindUseItem = new KeyBinding("key.use", -99, "key.categories.gameplay");
+        mc.gameSettings = settings;
+
+        // The rod goes in the first hotbar slot, which is the selected one
+        Item rod = allocate(ItemFishingRod.class);
+        ItemStack rodStack = allocate(ItemStack.class);
+        setItem(rodStack, rod);
+
+        Class<?> inventoryClass = Class.forName(INVENTORY_CLASS);
+        Object inventory = allocate(inventoryClass);
+        Object mainInventory = Array.newInstance(ItemStack.class, 36);
+        Array.set(mainInventory, 0, rodStack);
+        setField(inventory, inventoryClass, "mainInventory", mainInventory);
+        setField(inventory, inventoryClass, "currentItem", 0);
+
+        EntityPlayerSP player = allocate(EntityPlayerSP.class);
+        setFieldOfType(player, EntityPlayerSP.class, inventoryClass, inventory);
+        mc.thePlayer = player;
+
+        EntityFishHook hook = allocate(EntityFishHook.class);
+        hook.angler = player;
+
+        if (Minecraft.getMinecraft() != mc || player.getHeldItem() != rodStack ||
+            !(rodStack.getItem() instanceof ItemFishingRod)) {
+            throw new IllegalStateException("Headless client isn't set up, the handlers would return early");
+        }
+        return new HeadlessClient(player, hook);
+    }
+
+    /**
+     * Check if the player's hook is out
+     */
+    public boolean isHookOut() {
+        return player.fishEntity != null;
+    }
+
+    /**
+     * Put the hook out, like the server spawning it after a cast
+     */
+    public void castHook() {
+        player.fishEntity = hook;
+    }
+
+    /**
+     * Take the hook away, like the server removing it after a reel
+     */
+    public void removeHook() {
+        player.fishEntity = null;
+    }
+
+    /**
+     * Create an object without running any constructor
+     */
+    private static <T> T allocate(Class<T> type) throws ReflectiveOperationException {
+        if (allocateInstance == null) {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            allocateInstance = unsafeClass.getMethod("allocateInstance", Class.class);
+        }
+        return type.cast(allocateInstance.invoke(unsafe, type));
+    }
+
+    /**
+     * Point the stack at the item, through the registry delegate too where Forge reads the item from it
+     */
+    private static void setItem(ItemStack stack, Item item) throws ReflectiveOperationException {
+        for (Field field : ItemStack.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) continue;
+
+            Class<?> type = field.getType();
+            Object value;
+            if (type == Item.class) {
+                value = item;
+            } else if (type.isInterface() && type.getSimpleName().equals("RegistryDelegate")) {
+                value = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "get": return item;
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "equals": return proxy == args[0];
+                        default: return null;
+                    }
+                });
+            } else {
+                continue;
+            }
+            field.setAccessible(true);
+            field.set(stack, value);
+        }
+    }
+
+    /**
+     * Set the one field of the given type, in the class or its superclasses, static when the target is null
+     */
+    private static void setFieldOfType(Object target, Class<?> owner, Class<?> type, Object value)
+            throws ReflectiveOperationException {
+        for (Class<?> c = owner; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getType() != type || Modifier.isStatic(field.getModifiers()) != (target == null)) continue;
+
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            }
+        }
+        throw new NoSuchFieldException(owner.getName() + " has no field of type " + type.getName());
+    }
+
+    private static void setField(Object target, Class<?> owner, String name, Object value)
+            throws ReflectiveOperationException {
+        Field field = owner.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
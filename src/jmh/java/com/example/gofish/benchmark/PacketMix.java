@@ -0,0 +1,145 @@
+package com.example.gofish.benchmark;
+
+import com.example.gofish.core.BiteDetector;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.Packet;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.S01PacketJoinGame;
+import net.minecraft.network.play.server.S02PacketChat;
+import net.minecraft.network.play.server.S0EPacketSpawnObject;
+import net.minecraft.network.play.server.S12PacketEntityVelocity;
+import net.minecraft.network.play.server.S14PacketEntity;
+import net.minecraft.network.play.server.S18PacketEntityTeleport;
+import net.minecraft.network.play.server.S19PacketEntityStatus;
+import net.minecraft.network.play.server.S29PacketSoundEffect;
+import net.minecraft.network.play.server.S2APacketParticles;
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.util.EnumParticleTypes;
+import net.minecraft.world.EnumDifficulty;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Server packets in roughly the proportions of a busy SkyBlock island while fishing
+ * Most traffic is movement of other entities; sounds, particles and velocity near our hook are the rare bite signals.
+ */
+public final class PacketMix {
+
+    public static final int PLAYER_ID = 1200;
+    public static final int HOOK_ID = 1201;
+    public static final double HOOK_X = 10.5;
+    public static final double HOOK_Y = 63.9;
+    public static final double HOOK_Z = 20.5;
+
+    // Other players, mobs and armor stands around the island
+    private static final int OTHER_ENTITIES = 200;
+
+    private static final String[] AMBIENT_SOUNDS = {
+        "step.stone", "step.grass", "mob.zombie.say", "random.orb", "random.pop", "game.player.hurt", "random.bow"
+    };
+
+    private PacketMix() {
+    }
+
+    /**
+     * Packets that make our bobber known, to feed before the mix
+     */
+    public static Packet<?>[] createSetup() throws IOException {
+        return new Packet<?>[] {
+            new S01PacketJoinGame(PLAYER_ID, WorldSettings.GameType.SURVIVAL, false, 0, EnumDifficulty.NORMAL, 60,
+                                  WorldType.DEFAULT, false),
+            createSpawnObject(HOOK_ID, BiteDetector.FISHING_BOBBER_OBJECT_TYPE, PLAYER_ID, HOOK_X, HOOK_Y, HOOK_Z)
+        };
+    }
+
+    /**
+     * Create a packet sequence, the same for a given seed
+     */
+    public static Packet<?>[] create(int size, long seed) throws IOException {
+        Random random = new Random(seed);
+        Packet<?>[] packets = new Packet<?>[size];
+        for (int i = 0; i < size; i++) {
+            packets[i] = createPacket(random);
+        }
+        return packets;
+    }
+
+    private static Packet<?> createPacket(Random random) throws IOException {
+        int entityId = 2000 + random.nextInt(OTHER_ENTITIES);
+        int roll = random.nextInt(100);
+        if (roll < 45) {
+            return new S14PacketEntity.S15PacketEntityRelMove(entityId, randomByte(random), randomByte(random),
+                                                             randomByte(random), random.nextBoolean());
+        } else if (roll < 60) {
+            return new S14PacketEntity.S17PacketEntityLookMove(entityId, randomByte(random), randomByte(random),
+                                                              randomByte(random), randomByte(random), randomByte(random),
+                                                              random.nextBoolean());
+        } else if (roll < 68) {
+            return new S14PacketEntity.S16PacketEntityLook(entityId, randomByte(random), randomByte(random), random.nextBoolean());
+        } else if (roll < 76) {
+            return new S18PacketEntityTeleport(entityId, random.nextInt(2048) - 1024, 64 * 32, random.nextInt(2048) - 1024,
+                                               randomByte(random), randomByte(random), random.nextBoolean());
+        } else if (roll < 84) {
+            // One in four velocity packets moves our hook
+            int target = random.nextInt(4) == 0 ? HOOK_ID : entityId;
+            return new S12PacketEntityVelocity(target, random.nextGaussian() * 0.1, random.nextGaussian() * 0.2,
+                                               random.nextGaussian() * 0.1);
+        } else if (roll < 91) {
+            if (random.nextInt(4) == 0) {
+                return new S29PacketSoundEffect(BiteDetector.SPLASH_SOUND, HOOK_X + random.nextGaussian() * 0.3, HOOK_Y,
+                                                HOOK_Z + random.nextGaussian() * 0.3, 0.25F, 1.0F);
+            }
+            return new S29PacketSoundEffect(AMBIENT_SOUNDS[random.nextInt(AMBIENT_SOUNDS.length)],
+                                            random.nextInt(64) - 32, 64, random.nextInt(64) - 32, 1.0F, 1.0F);
+        } else if (roll < 97) {
+            boolean nearHook = random.nextInt(3) == 0;
+            EnumParticleTypes type = nearHook ? EnumParticleTypes.WATER_SPLASH : EnumParticleTypes.CRIT;
+            double x = nearHook ? HOOK_X : random.nextInt(64) - 32;
+            double z = nearHook ? HOOK_Z : random.nextInt(64) - 32;
+            return new S2APacketParticles(type, false, (float) x, (float) HOOK_Y, (float) z, 0.1F, 0.0F, 0.1F, 0.2F, 6);
+        } else if (roll < 99) {
+            return createEntityStatus(entityId, (byte) 2);
+        }
+        return new S02PacketChat(new ChatComponentText(ChatCorpus.toSectionCodes("&r&aYou caught a &r&fRaw Fish&r&a!&r")), (byte) 0);
+    }
+
+    /**
+     * Build a spawn object packet the way the client decodes it, the entity constructor needs a world
+     */
+    private static S0EPacketSpawnObject createSpawnObject(int entityId, int type, int data, double x, double y, double z)
+            throws IOException {
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        buffer.writeVarIntToBuffer(entityId);
+        buffer.writeByte(type);
+        buffer.writeInt((int) Math.floor(x * 32.0));
+        buffer.writeInt((int) Math.floor(y * 32.0));
+        buffer.writeInt((int) Math.floor(z * 32.0));
+        buffer.writeByte(0);
+        buffer.writeByte(0);
+        buffer.writeInt(data);
+        buffer.writeShort(0);
+        buffer.writeShort(0);
+        buffer.writeShort(0);
+
+        S0EPacketSpawnObject packet = new S0EPacketSpawnObject();
+        packet.readPacketData(buffer);
+        return packet;
+    }
+
+    private static S19PacketEntityStatus createEntityStatus(int entityId, byte status) throws IOException {
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        buffer.writeInt(entityId);
+        buffer.writeByte(status);
+
+        S19PacketEntityStatus packet = new S19PacketEntityStatus();
+        packet.readPacketData(buffer);
+        return packet;
+    }
+
+    private static byte randomByte(Random random) {
+        return (byte) (random.nextInt(17) - 8);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.gofish.benchmark;
+
+import com.example.gofish.config.GoFishConfig;
+import com.example.gofish.core.FishingSnapshot;
+import com.example.gofish.handlers.FishingStateTracker;
+import com.example.gofish.handlers.PacketHandler;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.minecraft.network.Packet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the packet interceptor's channelRead per server packet, for the SkyBlock packet mix
+ * The player is fishing with a known bobber, so bite signals near the hook go through the whole detection.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketPathBenchmark {
+
+    // Power of two, so the next packet is picked with a mask
+    private static final int MIX_SIZE = 4096;
+
+    // Whether packets are also written to the capture ring
+    @Param({ "false", "true" })
+    public boolean capturing;
+
+    private ChannelDuplexHandler handler;
+    private ChannelHandlerContext context;
+    private Packet<?>[] packets;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        GoFishConfig.enableNotifications = true;
+        GoFishConfig.enablePacketLogging = capturing;
+
+        PacketHandler packetHandler = new PacketHandler();
+        packetHandler.setStateTracker(new FishingStateTracker() {
+            private final FishingSnapshot snapshot = new FishingSnapshot(true, true, PacketMix.HOOK_ID,
+                                                                         PacketMix.HOOK_X, PacketMix.HOOK_Y, PacketMix.HOOK_Z);
+
+            @Override
+            public FishingSnapshot getSnapshot() {
+                return snapshot;
+            }
+        });
+
+        // Drop the packets after our handler instead of queueing them in the channel
+        handler = packetHandler.createChannelHandler(true);
+        EmbeddedChannel channel = new EmbeddedChannel(handler, new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            }
+        });
+        context = channel.pipeline().context(handler);
+
+        for (Packet<?> packet : PacketMix.createSetup()) {
+            handler.channelRead(context, packet);
+        }
+        packets = PacketMix.create(MIX_SIZE, 42);
+    }
+
+    @Benchmark
+    public void channelRead() throws Exception {
+        handler.channelRead(context, packets[next++ & (MIX_SIZE - 1)]);
+    }
+}
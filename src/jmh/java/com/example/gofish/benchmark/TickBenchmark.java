@@ -0,0 +1,320 @@
+package com.example.gofish.benchmark;
+
+import com.example.gofish.config.GoFishConfig;
+import com.example.gofish.core.FishingController;
+import com.example.gofish.core.FishingSettings;
+import com.example.gofish.core.GameInput;
+import com.example.gofish.core.GameMessages;
+import com.example.gofish.core.GameState;
+import com.example.gofish.core.ManualClock;
+import com.example.gofish.core.TimerWheel;
+import com.example.gofish.handlers.FishingHandler;
+import com.example.gofish.handlers.FishingStateTracker;
+import com.example.gofish.handlers.TickDriver;
+import com.example.gofish.utils.FishingUtils;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one client tick of the fishing logic, over an endless cast/bite/reel loop
+ * onClientTick runs the real tick path against a headless client: the tick driver samples the player's
+ * state, then runs the fishing handler and its timers. The hook comes and goes as the controller
+ * clicks, like the server would make it. tick runs only the controller and a timer wheel against a
+ * simulated game, for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+
+    private static final long TICK_MILLIS = 50;
+
+    // A fish bites every 15 seconds
+    private static final int BITE_INTERVAL_TICKS = 300;
+
+    private SimulatedGame game;
+    private TimerWheel timers;
+    private FishingController controller;
+    private long now;
+    private int ticks;
+
+    @Setup
+    public void setUp() {
+        game = new SimulatedGame();
+        now = 1000000;
+        timers = new TimerWheel(TICK_MILLIS, 256, now);
+        controller = new FishingController(game, game, game, game, new Random(42), timers);
+        ticks = 0;
+    }
+
+    /**
+     * Fishing handler, state tracker and tick driver running on a headless client
+     */
+    @State(Scope.Thread)
+    public static class Client {
+
+        private final TickEvent.ClientTickEvent event = new TickEvent.ClientTickEvent(TickEvent.Phase.END);
+
+        private HeadlessClient client;
+        private ManualClock clock;
+        private FishingStateTracker stateTracker;
+        private TickDriver tickDriver;
+        private FishingHandler fishingHandler;
+        private int ticks;
+        private int reels;
+
+        @Setup
+        public void setUp() throws Exception {
+            client = HeadlessClient.start();
+            GoFishConfig.enableAutoCatch = true;
+            GoFishConfig.enableAutoRecast = true;
+
+            clock = new ManualClock(1000000);
+            stateTracker = new FishingStateTracker();
+            FishingUtils.setStateTracker(stateTracker);
+
+            tickDriver = new TickDriver(clock);
+            tickDriver.setStateTracker(stateTracker);
+            fishingHandler = new FishingHandler(tickDriver);
+            stateTracker.addListener(fishingHandler);
+            tickDriver.addTickListener(fishingHandler);
+            ticks = 0;
+            reels = 0;
+
+            // A handler that returns early never casts, make sure a fish was caught before measuring
+            for (int i = 0; i < 2 * BITE_INTERVAL_TICKS; i++) {
+                tick();
+            }
+            if (reels == 0) {
+                throw new IllegalStateException("Fishing handler caught nothing, its tick returns early");
+            }
+        }
+
+        void tick() {
+            clock.advance(TICK_MILLIS);
+            tickDriver.onClientTick(event);
+
+            // The server spawns the hook after the cast click and removes it after the reel click
+            FishingController.State state = fishingHandler.getFishingState();
+            if (state == FishingController.State.AWAITING_CAST && !client.isHookOut()) {
+                client.castHook();
+            } else if (state == FishingController.State.AWAITING_REEL && client.isHookOut()) {
+                client.removeHook();
+                reels++;
+            }
+
+            if (++ticks % BITE_INTERVAL_TICKS == 0 && client.isHookOut()) {
+                fishingHandler.onFishBite(clock.millis());
+            }
+        }
+    }
+
+    @Benchmark
+    public void onClientTick(Client client) {
+        client.tick();
+    }
+
+    @Benchmark
+    public void tick() {
+        boolean wasFishing = game.fishing;
+        controller.tick(now);
+        timers.advance(now);
+        if (game.fishing && !wasFishing) {
+            controller.onCast(now, PacketMix.HOOK_ID);
+        } else if (!game.fishing && wasFishing) {
+            controller.onReel(now);
+        }
+
+        if (++ticks % BITE_INTERVAL_TICKS == 0 && game.fishing) {
+            controller.onFishBite(now);
+        }
+        now += TICK_MILLIS;
+    }
+
+    /**
+     * Game where every right click casts or reels in immediately, with auto-fishing on and debug output off
+     */
+    private static class SimulatedGame implements GameState, GameInput, GameMessages, FishingSettings {
+
+        boolean fishing = false;
+        private boolean useItemPressed = false;
+        private boolean autoCatch = true;
+        private boolean autoRecast = true;
+
+        @Override
+        public boolean isInGame() {
+            return true;
+        }
+
+        @Override
+        public boolean isFishing() {
+            return fishing;
+        }
+
+        @Override
+        public boolean isHoldingRod() {
+            return true;
+        }
+
+        @Override
+        public boolean isHookInLiquid() {
+            return true;
+        }
+
+        @Override
+        public boolean isJumpActive() {
+            return false;
+        }
+
+        @Override
+        public boolean isSafetyTriggered() {
+            return false;
+        }
+
+        @Override
+        public String getSafetyTriggerReason() {
+            return "";
+        }
+
+        @Override
+        public String getHeldItemName() {
+            return "item.fishingRod";
+        }
+
+        @Override
+        public void setUseItemPressed(boolean pressed) {
+            if (useItemPressed && !pressed) {
+                fishing = !fishing;
+            }
+            useItemPressed = pressed;
+        }
+
+        @Override
+        public void useItem() {
+            fishing = !fishing;
+        }
+
+        @Override
+        public void sendMessage(String message) {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public double getSignalWeight(int signal) {
+            return 0.5;
+        }
+
+        @Override
+        public double getScoreThreshold() {
+            return 0.5;
+        }
+
+        @Override
+        public long getFusionWindow() {
+            return 250;
+        }
+
+        @Override
+        public boolean isAutoCatchEnabled() {
+            return autoCatch;
+        }
+
+        @Override
+        public void setAutoCatchEnabled(boolean enabled) {
+            autoCatch = enabled;
+        }
+
+        @Override
+        public int getMinCatchDelay() {
+            return 80;
+        }
+
+        @Override
+        public int getMaxCatchDelay() {
+            return 500;
+        }
+
+        @Override
+        public boolean isMissChanceEnabled() {
+            return true;
+        }
+
+        @Override
+        public int getMissChancePercentage() {
+            return 10;
+        }
+
+        @Override
+        public int getMinMissTimingOffset() {
+            return -500;
+        }
+
+        @Override
+        public int getMaxMissTimingOffset() {
+            return 800;
+        }
+
+        @Override
+        public boolean isAutoRecastEnabled() {
+            return autoRecast;
+        }
+
+        @Override
+        public void setAutoRecastEnabled(boolean enabled) {
+            autoRecast = enabled;
+        }
+
+        @Override
+        public int getMinRecastDelay() {
+            return 0;
+        }
+
+        @Override
+        public int getMaxRecastDelay() {
+            return 1000;
+        }
+
+        @Override
+        public long getCastIgnoreTime() {
+            return 2000;
+        }
+
+        @Override
+        public long getBiteCooldown() {
+            return 1000;
+        }
+
+        @Override
+        public boolean isLiquidDetectionEnabled() {
+            return true;
+        }
+
+        @Override
+        public int getMaxLiquidFailures() {
+            return 2;
+        }
+
+        @Override
+        public void save() {
+        }
+    }
+}
@@ -13,28 +13,48 @@ import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.Mod.EventHandler;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
-import com.example.gofish.handlers.PacketHandler;
+import com.example.gofish.config.GoFishConfig;
+import com.example.gofish.core.ChatEventCatalog;
+import com.example.gofish.core.Clock;
+import com.example.gofish.core.DebugLog;
+import com.example.gofish.core.DebugLogAppender;
+import com.example.gofish.core.DetectionStats;
+import com.example.gofish.core.FishingTrace;
+import com.example.gofish.core.PacketCaptureRing;
+import com.example.gofish.core.SystemClock;
 import com.example.gofish.handlers.ChatHandler;
 import com.example.gofish.handlers.FishingHandler;
+import com.example.gofish.handlers.FishingStateTracker;
+import com.example.gofish.handlers.JumpHandler;
 import com.example.gofish.handlers.KeyBindingHandler;
 import com.example.gofish.handlers.LookMovementHandler;
-import com.example.gofish.handlers.ShiftKeyHandler;
-import com.example.gofish.handlers.JumpHandler;
+import com.example.gofish.handlers.NotificationService;
+import com.example.gofish.handlers.PacketHandler;
 import com.example.gofish.handlers.PositionTracker;
-import com.example.gofish.config.GoFishConfig;
+import com.example.gofish.handlers.ShiftKeyHandler;
+import com.example.gofish.handlers.TickDriver;
 import com.example.gofish.utils.FishingUtils;
 
+import java.io.File;
+
 @Mod(modid = GoFishMod.MODID, version = GoFishMod.VERSION)
 public class GoFishMod
 {
     public static final String MODID = "gofish";
     public static final String VERSION = "1.0";
     
+    // Debug log file, relative to the game directory
+    public static final String DEBUG_LOG_FILE = "logs/gofish-debug.log";
+    
     // Static instance for access from command handlers
     @Mod.Instance(MODID)
     public static GoFishMod instance;
     
+    // Monotonic time every handler is driven with
+    private final Clock clock = SystemClock.INSTANCE;
+    
     // Store handlers as instance variables for better coordination
+    private FishingStateTracker stateTracker;
     private PacketHandler packetHandler;
     private ChatHandler chatHandler;
     private FishingHandler fishingHandler;
@@ -43,6 +63,9 @@ public class GoFishMod
     private ShiftKeyHandler shiftKeyHandler;
     private JumpHandler jumpHandler;
     private PositionTracker positionTracker;
+    private NotificationService notificationService;
+    private TickDriver tickDriver;
+    private DebugLogAppender debugLogAppender;
     
     @EventHandler
     public void preInit(FMLPreInitializationEvent event) {
@@ -51,30 +74,63 @@ public class GoFishMod
             GoFishConfig.init(event.getSuggestedConfigurationFile());
             
             // Create handlers
-            fishingHandler = new FishingHandler();
+            notificationService = new NotificationService();
+            tickDriver = new TickDriver(clock);
+            stateTracker = new FishingStateTracker();
+            fishingHandler = new FishingHandler(tickDriver);
             packetHandler = new PacketHandler(fishingHandler);
-            chatHandler = new ChatHandler();
+            chatHandler = new ChatHandler(tickDriver);
             keyBindingHandler = new KeyBindingHandler(packetHandler);
-            lookMovementHandler = new LookMovementHandler();
-            shiftKeyHandler = new ShiftKeyHandler();
-            jumpHandler = new JumpHandler();
+            lookMovementHandler = new LookMovementHandler(tickDriver);
+            shiftKeyHandler = new ShiftKeyHandler(tickDriver);
+            jumpHandler = new JumpHandler(tickDriver);
             positionTracker = new PositionTracker();
             
             // Connect handlers
-            FishingUtils.setPacketHandler(packetHandler);
+            FishingUtils.setStateTracker(stateTracker);
+            packetHandler.setClock(clock);
+            packetHandler.setStateTracker(stateTracker);
+            packetHandler.setChatHandler(chatHandler);
+            packetHandler.setNotifications(notificationService);
+            chatHandler.setNotifications(notificationService);
+            fishingHandler.setNotifications(notificationService);
+            keyBindingHandler.setNotifications(notificationService);
+            positionTracker.setNotifications(notificationService);
+            stateTracker.addListener(fishingHandler);
             fishingHandler.setShiftKeyHandler(shiftKeyHandler);
             fishingHandler.setJumpHandler(jumpHandler);
             fishingHandler.setPositionTracker(positionTracker);
+            fishingHandler.setHookTrajectory(packetHandler.getHookTrajectory());
+            
+            // Per-tick work, in this order: the packet events and the state sample first, then safety tracking so
+            // the controller sees it on the same tick, then the right clicks, then the look movement; the timers
+            // that are due run after them and the notifications they all posted are shown last
+            tickDriver.setPacketHandler(packetHandler);
+            tickDriver.setStateTracker(stateTracker);
+            tickDriver.setNotifications(notificationService);
+            tickDriver.addTickListener(positionTracker);
+            tickDriver.addTickListener(fishingHandler);
+            tickDriver.addTickListener(lookMovementHandler);
+            
+            // Debug records go to a log file on a background thread, only the summary shows in chat
+            DebugLog.setEnabledCheck(() -> GoFishConfig.enableDebugNotifications);
+            DebugLog.setMirror((level, source, message) -> notificationService.debug(message));
+            File gameDir = event.getModConfigurationDirectory().getParentFile();
+            debugLogAppender = new DebugLogAppender(DebugLog.getBuffer(), new File(gameDir, DEBUG_LOG_FILE));
+            debugLogAppender.start();
+            
+            // Load the chat events, the bundled catalog stays active if the override is invalid
+            try {
+                chatHandler.reloadCatalog();
+            } catch (Exception e) {
+                System.err.println("[GoFish] Error loading chat events: " + e.getMessage());
+            }
             
             // Register our handlers
             MinecraftForge.EVENT_BUS.register(packetHandler);
             MinecraftForge.EVENT_BUS.register(chatHandler);
-            MinecraftForge.EVENT_BUS.register(fishingHandler);
+            MinecraftForge.EVENT_BUS.register(tickDriver);
             MinecraftForge.EVENT_BUS.register(keyBindingHandler);
-            MinecraftForge.EVENT_BUS.register(lookMovementHandler);
-            MinecraftForge.EVENT_BUS.register(shiftKeyHandler);
-            MinecraftForge.EVENT_BUS.register(jumpHandler);
-            MinecraftForge.EVENT_BUS.register(positionTracker);
             
             // Log that the mod is starting
             System.out.println("[GoFish] Initializing GoFish mod version " + VERSION);
@@ -141,6 +197,9 @@ public class GoFishMod
                    "§b/gofish recasttime <min> <max> §f- Set auto-recast delay range (ms)\n" +
                    "§b/gofish miss [on|off|chance|timing] §f- Control miss chance settings\n" +
                    "§b/gofish config [save|load|list|delete] <name> §f- Manage configurations\n" +
+                   "§b/gofish stats detect §f- Show and reset bite detection counters\n" +
+                   "§b/gofish capture [on|off|dump] §f- Control the packet capture\n" +
+                   "§b/gofish trace [clear] §f- Show the last fishing state transitions\n" +
                    "§b/gofish reload §f- Reload configuration";
         }
         
@@ -155,7 +214,7 @@ public class GoFishMod
                 if (args.length == 0) {
                     // Display help
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fAvailable commands: ")));
-                    sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish reload &f- Reload configuration")));
+                    sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish reload &f- Reload configuration and chat events")));
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish autocatch [on|off] &f- Toggle auto-catch")));
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish packetlogging [on|off] &f- Toggle packet logging")));
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish castignore <time> &f- Set cast ignore time (ms)")));
@@ -168,6 +227,9 @@ public class GoFishMod
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish recasttime <min> <max> &f- Set auto-recast delay range (ms)")));
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish miss [on|off|chance|timing] &f- Control miss chance settings")));
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish config [save|load|list|delete] <name> &f- Manage configurations")));
+                    sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish stats detect &f- Show and reset bite detection counters")));
+                    sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish capture [on|off|dump] &f- Control the packet capture")));
+                    sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish trace [clear] &f- Show the last fishing state transitions")));
                     return;
                 }
                 
@@ -177,6 +239,18 @@ public class GoFishMod
                     // Reload config
                     GoFishConfig.loadConfig();
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fConfiguration reloaded! ")));
+                    
+                    // Reload the chat events
+                    if (GoFishMod.instance != null && GoFishMod.instance.chatHandler != null) {
+                        try {
+                            ChatEventCatalog catalog = GoFishMod.instance.chatHandler.reloadCatalog();
+                            sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fLoaded &e" + catalog.getEventCount() + 
+                                "&f chat events from &e" + catalog.getSource())));
+                        } catch (Exception e) {
+                            System.err.println("[GoFish] Error loading chat events: " + e.getMessage());
+                            sender.addChatMessage(new ChatComponentText(formatColorCodes("&c[GoFish] &fChat events not reloaded: " + e.getMessage())));
+                        }
+                    }
                 } else if (subCommand.equals("autocatch")) {
                     // Toggle auto-catch
                     if (args.length > 1) {
@@ -394,6 +468,7 @@ public class GoFishMod
                         if (option.equals("on") || option.equals("enable") || option.equals("true")) {
                             GoFishConfig.enableDebugNotifications = true;
                             sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &aDebug notifications enabled! ")));
+                            sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fFull debug log: &e" + DEBUG_LOG_FILE)));
                         } else if (option.equals("off") || option.equals("disable") || option.equals("false")) {
                             GoFishConfig.enableDebugNotifications = false;
                             sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &cDebug notifications disabled! ")));
@@ -732,7 +807,7 @@ public class GoFishMod
                 } else if (subCommand.equals("help")) {
                     // Show help for all commands
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fAvailable commands: ")));
-                    sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish reload &f- Reload configuration")));
+                    sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish reload &f- Reload configuration and chat events")));
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish autocatch [on|off] &f- Toggle auto-catch")));
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish packetlogging [on|off] &f- Toggle packet logging")));
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish castignore <time> &f- Set cast ignore time (ms)")));
@@ -745,6 +820,9 @@ public class GoFishMod
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish recasttime <min> <max> &f- Set auto-recast delay range (ms)")));
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish miss [on|off|chance|timing] &f- Control miss chance settings")));
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish config [save|load|list|delete] <name> &f- Manage configurations")));
+                    sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish stats detect &f- Show and reset bite detection counters")));
+                    sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish capture [on|off|dump] &f- Control the packet capture")));
+                    sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish trace [clear] &f- Show the last fishing state transitions")));
                 } else if (subCommand.equals("config")) {
                     // Handle config commands
                     if (args.length > 1) {
@@ -816,6 +894,62 @@ public class GoFishMod
                         sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish config list &f- List all saved configurations")));
                         sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish config delete <name> &f- Delete a saved configuration")));
                     }
+                } else if (subCommand.equals("capture")) {
+                    // Control the packet capture ring
+                    if (args.length > 1) {
+                        String option = args[1].toLowerCase();
+                        if (option.equals("on") || option.equals("enable") || option.equals("true")) {
+                            GoFishConfig.enablePacketLogging = true;
+                            GoFishConfig.saveConfig();
+                            sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &aPacket capture enabled! ")));
+                        } else if (option.equals("off") || option.equals("disable") || option.equals("false")) {
+                            GoFishConfig.enablePacketLogging = false;
+                            GoFishConfig.saveConfig();
+                            sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &cPacket capture disabled! ")));
+                        } else if (option.equals("dump")) {
+                            if (GoFishMod.instance == null || GoFishMod.instance.packetHandler == null) {
+                                sender.addChatMessage(new ChatComponentText(formatColorCodes("&c[GoFish] &fPacket handler is not available.")));
+                            } else {
+                                try {
+                                    File file = GoFishMod.instance.packetHandler.dumpCapture();
+                                    sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fCapture saved to &e" + file.getName())));
+                                } catch (Exception e) {
+                                    System.err.println("[GoFish] Error writing packet capture: " + e.getMessage());
+                                    sender.addChatMessage(new ChatComponentText(formatColorCodes("&c[GoFish] &fFailed to write capture: " + e.getMessage())));
+                                }
+                            }
+                        } else {
+                            sender.addChatMessage(new ChatComponentText(formatColorCodes("&c[GoFish] &fInvalid option. Use 'on', 'off' or 'dump'.")));
+                        }
+                    } else {
+                        // Display current settings
+                        sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fPacket capture is currently " + 
+                            (GoFishConfig.enablePacketLogging ? "&aEnabled" : "&cDisabled") + "&f.")));
+                        if (GoFishMod.instance != null && GoFishMod.instance.packetHandler != null) {
+                            PacketCaptureRing ring = GoFishMod.instance.packetHandler.getCaptureRing();
+                            sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fRecorded &e" + ring.getWrittenCount() + 
+                                "&f packets (last &e" + ring.getCapacity() + "&f are kept).")));
+                        }
+                        sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fUse &e/gofish capture on|off|dump&f to change.")));
+                    }
+                } else if (subCommand.equals("trace")) {
+                    // Show the state transitions of the cast/reel cycle
+                    if (fishingHandler == null) {
+                        sender.addChatMessage(new ChatComponentText(formatColorCodes("&c[GoFish] &fFishing handler is not available.")));
+                    } else if (args.length > 1 && args[1].toLowerCase().equals("clear")) {
+                        fishingHandler.getTrace().clear();
+                        sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fFishing trace cleared.")));
+                    } else {
+                        showTrace(sender);
+                    }
+                } else if (subCommand.equals("stats")) {
+                    // Handle statistics commands
+                    if (args.length > 1 && args[1].toLowerCase().equals("detect")) {
+                        showDetectionStats(sender);
+                    } else {
+                        sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fStats Commands:")));
+                        sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &f- &e/gofish stats detect &f- Show and reset bite detection counters")));
+                    }
                 } else {
                     sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &cUnknown command. Use /gofish for help.")));
                 }
@@ -826,6 +960,49 @@ public class GoFishMod
             }
         }
         
+        /**
+         * Show the bite detection counters since the last call, then reset them
+         */
+        private void showDetectionStats(ICommandSender sender) {
+            if (GoFishMod.instance == null || GoFishMod.instance.packetHandler == null) {
+                sender.addChatMessage(new ChatComponentText(formatColorCodes("&c[GoFish] &fPacket handler is not available.")));
+                return;
+            }
+            
+            long[][] counts = GoFishMod.instance.packetHandler.getDetectionStats().sumThenReset();
+            sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fBite detection since last reset:")));
+            
+            for (int type = 0; type < DetectionStats.PACKET_TYPE_COUNT; type++) {
+                StringBuilder line = new StringBuilder("&b[GoFish] &e" + DetectionStats.getPacketTypeName(type) + "&f:");
+                boolean any = false;
+                for (int reason = 0; reason < DetectionStats.REASON_COUNT; reason++) {
+                    if (counts[reason][type] == 0) continue;
+                    
+                    line.append(any ? ", " : " ")
+                        .append(reason == DetectionStats.ACCEPTED ? "&a" : "&7")
+                        .append(DetectionStats.getReasonName(reason)).append(" &f").append(counts[reason][type]);
+                    any = true;
+                }
+                if (!any) {
+                    line.append(" &7none");
+                }
+                sender.addChatMessage(new ChatComponentText(formatColorCodes(line.toString())));
+            }
+        }
+        
+        /**
+         * Show the last state transitions of the cast/reel cycle, oldest first
+         */
+        private void showTrace(ICommandSender sender) {
+            FishingTrace trace = fishingHandler.getTrace();
+            sender.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fFishing state: &e" + fishingHandler.getFishingState() +
+                "&f, last &e" + trace.size() + "&f of " + trace.getCapacity() + " transitions:")));
+            
+            for (String line : trace.format(fishingHandler.getClock().millis())) {
+                sender.addChatMessage(new ChatComponentText(formatColorCodes("&7" + line)));
+            }
+        }
+        
         /**
          * Show help for look movement commands
          */
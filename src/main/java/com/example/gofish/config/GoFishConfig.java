@@ -63,6 +63,13 @@ public class GoFishConfig {
     public static boolean useRandomCastIgnoreTime = true; // Use random cast ignore time between min and max
     public static int biteCooldown = 1000; // Cooldown between bite detections in ms
     
+    // Bite signal fusion settings - a bite is reported once the weights of the signals seen in the window reach the threshold
+    public static double biteSoundWeight = 0.6;     // Splash sound near the hook
+    public static double biteParticleWeight = 0.5;  // Splash particles near the hook
+    public static double biteVelocityWeight = 0.3;  // Sudden vertical hook movement
+    public static double biteScoreThreshold = 0.5;  // Score needed to report a bite
+    public static int biteFusionWindow = 250;       // Time in ms to collect signals of one bite
+    
     // Random look movement settings
     public static boolean enableRandomLookMovements = false;
     public static float randomLookFovRange = 5.0f; // Degrees of FOV for random movements
@@ -114,6 +121,13 @@ public class GoFishConfig {
         }
     }
     
+    /**
+     * Get the directory of the config file, or null before init
+     */
+    public static File getConfigDir() {
+        return configFileRef != null ? configFileRef.getParentFile() : null;
+    }
+    
     /**
      * Load the configuration from file
      */
@@ -548,6 +562,48 @@ public class GoFishConfig {
                 Integer.MAX_VALUE
             ).getInt();
             
+            // Bite signal fusion settings
+            biteSoundWeight = config.get(
+                "advanced",
+                "biteSoundWeight",
+                0.6,
+                "Weight of a splash sound near the hook when scoring a bite (0.0-1.0)",
+                0.0,
+                1.0
+            ).getDouble();
+            biteParticleWeight = config.get(
+                "advanced",
+                "biteParticleWeight",
+                0.5,
+                "Weight of splash particles near the hook when scoring a bite (0.0-1.0)",
+                0.0,
+                1.0
+            ).getDouble();
+            biteVelocityWeight = config.get(
+                "advanced",
+                "biteVelocityWeight",
+                0.3,
+                "Weight of a sudden vertical hook movement when scoring a bite (0.0-1.0)",
+                0.0,
+                1.0
+            ).getDouble();
+            biteScoreThreshold = config.get(
+                "advanced",
+                "biteScoreThreshold",
+                0.5,
+                "Combined signal weight needed to report a bite (0.01+)",
+                0.01,
+                Float.MAX_VALUE
+            ).getDouble();
+            biteFusionWindow = config.get(
+                "advanced",
+                "biteFusionWindow",
+                250,
+                "Time in milliseconds to collect the signals of one bite (50-2000)",
+                50,
+                2000
+            ).getInt();
+            
             if (config.hasChanged()) {
                 config.save();
             }
@@ -607,6 +663,11 @@ public class GoFishConfig {
             config.get("advanced", "minCastIgnoreTime", 500).set(minCastIgnoreTime);
             config.get("advanced", "maxCastIgnoreTime", 5000).set(maxCastIgnoreTime);
             config.get("advanced", "biteCooldown", 1000).set(biteCooldown);
+            config.get("advanced", "biteSoundWeight", 0.6).set(biteSoundWeight);
+            config.get("advanced", "biteParticleWeight", 0.5).set(biteParticleWeight);
+            config.get("advanced", "biteVelocityWeight", 0.3).set(biteVelocityWeight);
+            config.get("advanced", "biteScoreThreshold", 0.5).set(biteScoreThreshold);
+            config.get("advanced", "biteFusionWindow", 250).set(biteFusionWindow);
             
             // Random look movement settings
             config.get("lookmovements", "enableRandomLookMovements", false).set(enableRandomLookMovements);
@@ -706,6 +767,11 @@ public class GoFishConfig {
             props.setProperty("maxRotationDifference", String.valueOf(maxRotationDifference));
             props.setProperty("enableLiquidDetection", String.valueOf(enableLiquidDetection));
             props.setProperty("maxLiquidFailures", String.valueOf(maxLiquidFailures));
+            props.setProperty("biteSoundWeight", String.valueOf(biteSoundWeight));
+            props.setProperty("biteParticleWeight", String.valueOf(biteParticleWeight));
+            props.setProperty("biteVelocityWeight", String.valueOf(biteVelocityWeight));
+            props.setProperty("biteScoreThreshold", String.valueOf(biteScoreThreshold));
+            props.setProperty("biteFusionWindow", String.valueOf(biteFusionWindow));
             
             // Save to file with comment
             FileOutputStream out = new FileOutputStream(namedConfigFile);
@@ -788,6 +854,11 @@ public class GoFishConfig {
             maxRotationDifference = Double.parseDouble(props.getProperty("maxRotationDifference", String.valueOf(maxRotationDifference)));
             enableLiquidDetection = Boolean.parseBoolean(props.getProperty("enableLiquidDetection", String.valueOf(enableLiquidDetection)));
             maxLiquidFailures = Integer.parseInt(props.getProperty("maxLiquidFailures", String.valueOf(maxLiquidFailures)));
+            biteSoundWeight = Double.parseDouble(props.getProperty("biteSoundWeight", String.valueOf(biteSoundWeight)));
+            biteParticleWeight = Double.parseDouble(props.getProperty("biteParticleWeight", String.valueOf(biteParticleWeight)));
+            biteVelocityWeight = Double.parseDouble(props.getProperty("biteVelocityWeight", String.valueOf(biteVelocityWeight)));
+            biteScoreThreshold = Double.parseDouble(props.getProperty("biteScoreThreshold", String.valueOf(biteScoreThreshold)));
+            biteFusionWindow = Integer.parseInt(props.getProperty("biteFusionWindow", String.valueOf(biteFusionWindow)));
             
             // Save to main config file as well
             saveConfig();
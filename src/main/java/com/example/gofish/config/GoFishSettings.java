@@ -0,0 +1,121 @@
+package com.example.gofish.config;
+
+import com.example.gofish.core.BiteSignalFusion;
+import com.example.gofish.core.FishingSettings;
+
+/**
+ * FishingSettings backed by the static fields of GoFishConfig
+ * Reads the fields on every call, so config GUI and command changes apply immediately.
+ */
+public class GoFishSettings implements FishingSettings {
+
+    @Override
+    public boolean isEnabled() {
+        return GoFishConfig.enableNotifications;
+    }
+
+    @Override
+    public double getSignalWeight(int signal) {
+        if (signal == BiteSignalFusion.SIGNAL_SOUND) {
+            return GoFishConfig.biteSoundWeight;
+        } else if (signal == BiteSignalFusion.SIGNAL_PARTICLE) {
+            return GoFishConfig.biteParticleWeight;
+        }
+        return GoFishConfig.biteVelocityWeight;
+    }
+
+    @Override
+    public double getScoreThreshold() {
+        return GoFishConfig.biteScoreThreshold;
+    }
+
+    @Override
+    public long getFusionWindow() {
+        return GoFishConfig.biteFusionWindow;
+    }
+
+    @Override
+    public boolean isAutoCatchEnabled() {
+        return GoFishConfig.enableAutoCatch;
+    }
+
+    @Override
+    public void setAutoCatchEnabled(boolean enabled) {
+        GoFishConfig.enableAutoCatch = enabled;
+    }
+
+    @Override
+    public int getMinCatchDelay() {
+        return GoFishConfig.minCatchDelay;
+    }
+
+    @Override
+    public int getMaxCatchDelay() {
+        return GoFishConfig.maxCatchDelay;
+    }
+
+    @Override
+    public boolean isMissChanceEnabled() {
+        return GoFishConfig.enableMissChance;
+    }
+
+    @Override
+    public int getMissChancePercentage() {
+        return GoFishConfig.missChancePercentage;
+    }
+
+    @Override
+    public int getMinMissTimingOffset() {
+        return GoFishConfig.minMissTimingOffset;
+    }
+
+    @Override
+    public int getMaxMissTimingOffset() {
+        return GoFishConfig.maxMissTimingOffset;
+    }
+
+    @Override
+    public boolean isAutoRecastEnabled() {
+        return GoFishConfig.enableAutoRecast;
+    }
+
+    @Override
+    public void setAutoRecastEnabled(boolean enabled) {
+        GoFishConfig.enableAutoRecast = enabled;
+    }
+
+    @Override
+    public int getMinRecastDelay() {
+        return GoFishConfig.minRecastDelay;
+    }
+
+    @Override
+    public int getMaxRecastDelay() {
+        return GoFishConfig.maxRecastDelay;
+    }
+
+    @Override
+    public long getCastIgnoreTime() {
+        return GoFishConfig.castIgnoreTime;
+    }
+
+    @Override
+    public long getBiteCooldown() {
+        return GoFishConfig.biteCooldown;
+    }
+
+    @Override
+    public boolean isLiquidDetectionEnabled() {
+        return GoFishConfig.enableLiquidDetection;
+    }
+
+    @Override
+    public int getMaxLiquidFailures() {
+        return GoFishConfig.maxLiquidFailures;
+    }
+
+    @Override
+    public void save() {
+        GoFishConfig.saveConfig();
+    }
+}
@@ -1,39 +1,82 @@
 package com.example.gofish.handlers;
 
 import com.example.gofish.config.GoFishConfig;
+import com.example.gofish.core.ChatEventCatalog;
+import com.example.gofish.core.Clock;
+import com.example.gofish.core.DebugLog;
+import com.example.gofish.core.FishingChatMatcher;
+import com.example.gofish.core.TimerWheel;
 import com.example.gofish.utils.FishingUtils;
 import net.minecraft.client.Minecraft;
-import net.minecraft.util.ChatComponentText;
-import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.client.event.ClientChatReceivedEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 
 public class ChatHandler {
 
-    // Regular expressions for detecting fishing events in chat
-    private static final Pattern FISH_CATCH_PATTERN = Pattern.compile("(?:&r)?&a(?:You caught a |You caught an )(?:&r)?&[0-9a-f](.+?)(?:&r)?&a!");
-    private static final Pattern SEA_CREATURE_PATTERN = Pattern.compile("(?:&r)?&a(?:A |An )(.+?)(?:&r)?&a surfaces!");
-    private static final Pattern TREASURE_PATTERN = Pattern.compile("(?:&r)?&a(?:You found a |You found an )(?:&r)?&[0-9a-f](.+?)(?:&r)?&a!");
+    // Catalog in the config directory that replaces the bundled one
+    public static final String CATALOG_FILE_NAME = "gofish_chat_events.txt";
     
-    // Sound resources
-    private static final ResourceLocation FISH_CAUGHT_SOUND = new ResourceLocation("random.pop");
-    private static final ResourceLocation SEA_CREATURE_SOUND = new ResourceLocation("mob.guardian.elder.hit");
-    private static final ResourceLocation TREASURE_SOUND = new ResourceLocation("random.levelup");
+    // Detects fishing events in chat
+    private final FishingChatMatcher chatMatcher = new FishingChatMatcher();
     
-    // Debug mode for development
-    private static final boolean DEBUG_MODE = false;
+    private static final DebugLog LOG = DebugLog.get("Chat");
+    
+    // How long after a spawn alert the sea creature chat line counts as its confirmation
+    private static final long SPAWN_CONFIRM_WINDOW = 5000;
+    
+    // Spawn alerts waiting for their chat line at once, a double hook raises two
+    private static final int MAX_UNCONFIRMED_ALERTS = 4;
+    
+    // Shared chat and sound output
+    private NotificationService notifications = null;
+    
+    // Time spawn alerts are matched with their chat line by, the tick driver's
+    private final Clock clock;
+    
+    // Spawn alerts still waiting for their chat line, oldest first
+    private final String[] unconfirmedNames = new String[MAX_UNCONFIRMED_ALERTS];
+    private final long[] unconfirmedTimes = new long[MAX_UNCONFIRMED_ALERTS];
+    private int unconfirmedCount = 0;
+    
+    // Withdraws the oldest alert once its chat line can't come anymore
+    private final TimerWheel timers;
+    private final TimerWheel.Timer withdrawTimer;
+    
+    public ChatHandler(TickDriver tickDriver) {
+        this.clock = tickDriver.getClock();
+        this.timers = tickDriver.getTimers();
+        this.withdrawTimer = timers.newTimer("spawn alert withdrawal", this::withdrawExpiredAlerts);
+    }
     
     /**
-     * Convert & color codes to § color codes
-     * @param message The message with & color codes
-     * @return The message with § color codes
+     * Set the service that shows the chat event notifications
      */
-    private static String formatColorCodes(String message) {
-        char sectionSign = '\u00A7';
-        return message.replace('&', sectionSign);
+    public void setNotifications(NotificationService notifications) {
+        this.notifications = notifications;
+    }
+    
+    /**
+     * Load the chat event catalog, from the config directory if it has one, otherwise the bundled one
+     * The new catalog is only swapped in once it compiled, so an invalid file keeps the current one.
+     * @return The loaded catalog
+     * @throws IOException if the catalog can't be read or is invalid
+     */
+    public ChatEventCatalog reloadCatalog() throws IOException {
+        File configDir = GoFishConfig.getConfigDir();
+        File catalogFile = configDir != null ? new File(configDir, CATALOG_FILE_NAME) : null;
+        
+        ChatEventCatalog catalog;
+        if (catalogFile != null && catalogFile.isFile()) {
+            catalog = ChatEventCatalog.load(new FileInputStream(catalogFile), catalogFile.getName());
+        } else {
+            catalog = ChatEventCatalog.loadDefault();
+        }
+        chatMatcher.setCatalog(catalog);
+        return catalog;
     }
     
     @SubscribeEvent
@@ -55,25 +98,13 @@ public class ChatHandler {
             
             String message = event.message.getFormattedText();
             
-            if (DEBUG_MODE) {
-                // Log raw chat messages for debugging
-                System.out.println("[GoFish] Raw chat message: " + message);
-            }
-            
-            // Check if the message matches any of our fishing patterns
-            Matcher fishCatchMatcher = FISH_CATCH_PATTERN.matcher(message);
-            Matcher seaCreatureMatcher = SEA_CREATURE_PATTERN.matcher(message);
-            Matcher treasureMatcher = TREASURE_PATTERN.matcher(message);
+            // Log raw chat messages for debugging
+            LOG.debug("Raw chat message: {}", message);
             
-            if (fishCatchMatcher.find()) {
-                String fishName = fishCatchMatcher.group(1);
-                handleFishCaught(fishName);
-            } else if (seaCreatureMatcher.find()) {
-                String creatureName = seaCreatureMatcher.group(1);
-                handleSeaCreature(creatureName);
-            } else if (treasureMatcher.find()) {
-                String treasureName = treasureMatcher.group(1);
-                handleTreasure(treasureName);
+            // Check if the message matches any event of the catalog
+            FishingChatMatcher.Match match = chatMatcher.match(message);
+            if (match != null) {
+                handleChatEvent(match);
             }
         } catch (Exception e) {
             // Log any errors but don't crash the game
@@ -82,80 +113,140 @@ public class ChatHandler {
     }
     
     /**
-     * Handle when a fish is caught
+     * Alert about a sea creature spotted in the spawn packets, ahead of its chat line
+     * The alert uses the notification and sound of the catalog's first sea creature event. It is withdrawn
+     * if no sea creature chat line confirms it in time, the creature was someone else's then.
+     * @param name Name from the creature's nametag
+     * @param time Time the spawn was seen
      */
-    private void handleFishCaught(String fishName) {
+    public void onSeaCreatureSpawned(String name, long time) {
         try {
             Minecraft mc = Minecraft.getMinecraft();
-            if (mc == null || mc.thePlayer == null) return;
+            if (mc == null || mc.thePlayer == null || notifications == null) return;
+            if (!GoFishConfig.enableNotifications) return;
             
-            if (DEBUG_MODE) {
-                System.out.println("[GoFish] Fish caught: " + fishName);
-            }
+            ChatEventCatalog.Event event = chatMatcher.getCatalog().getFirstEvent(FishingChatMatcher.TYPE_SEA_CREATURE);
+            if (event == null) return;
             
-            // Show message if enabled
-            if (GoFishConfig.showFishCaughtMessages) {
-                mc.thePlayer.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fCaught: &e" + fishName)));
-            }
+            LOG.info("Sea creature spawned: {}", name);
             
-            // Play sound if enabled
-            if (GoFishConfig.playSoundOnFishCaught) {
-                mc.thePlayer.playSound(FISH_CAUGHT_SOUND.toString(), 1.0F, 1.0F);
+            addUnconfirmedAlert(name, time);
+            
+            String notification = event.formatNotification(name);
+            if (notification != null && isMessageEnabled(event.type)) {
+                notifications.post(getCategory(event.type), notification);
+            }
+            if (event.sound != null && isSoundEnabled(event.type)) {
+                notifications.playSound(getCategory(event.type), event.sound);
             }
         } catch (Exception e) {
-            System.err.println("[GoFish] Error handling fish caught: " + e.getMessage());
+            System.err.println("[GoFish] Error handling sea creature spawn: " + e.getMessage());
         }
     }
     
     /**
-     * Handle when a sea creature appears
+     * Check if a sea creature chat line confirms an alert already shown at spawn time
      */
-    private void handleSeaCreature(String creatureName) {
-        try {
-            Minecraft mc = Minecraft.getMinecraft();
-            if (mc == null || mc.thePlayer == null) return;
-            
-            if (DEBUG_MODE) {
-                System.out.println("[GoFish] Sea creature: " + creatureName);
-            }
-            
-            // Show message if enabled
-            if (GoFishConfig.showSeaCreatureMessages) {
-                mc.thePlayer.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fSea Creature: &c" + creatureName)));
-            }
-            
-            // Play sound if enabled
-            if (GoFishConfig.playSoundOnSeaCreature) {
-                mc.thePlayer.playSound(SEA_CREATURE_SOUND.toString(), 1.0F, 1.0F);
-            }
-        } catch (Exception e) {
-            System.err.println("[GoFish] Error handling sea creature: " + e.getMessage());
+    private boolean confirmSpawnAlert(long time) {
+        withdrawExpiredAlerts(time);
+        if (unconfirmedCount == 0) return false;
+        
+        removeUnconfirmedAlert();
+        return true;
+    }
+    
+    private void addUnconfirmedAlert(String name, long time) {
+        if (unconfirmedCount == MAX_UNCONFIRMED_ALERTS) {
+            withdrawAlert(unconfirmedNames[0]);
+            removeUnconfirmedAlert();
+        }
+        unconfirmedNames[unconfirmedCount] = name;
+        unconfirmedTimes[unconfirmedCount] = time;
+        unconfirmedCount++;
+        if (unconfirmedCount == 1) {
+            timers.schedule(withdrawTimer, time + SPAWN_CONFIRM_WINDOW);
         }
     }
     
     /**
-     * Handle when treasure is found
+     * Drop the oldest unconfirmed alert and move the timer to the next one
      */
-    private void handleTreasure(String treasureName) {
+    private void removeUnconfirmedAlert() {
+        unconfirmedCount--;
+        System.arraycopy(unconfirmedNames, 1, unconfirmedNames, 0, unconfirmedCount);
+        System.arraycopy(unconfirmedTimes, 1, unconfirmedTimes, 0, unconfirmedCount);
+        unconfirmedNames[unconfirmedCount] = null;
+        
+        if (unconfirmedCount > 0) {
+            timers.schedule(withdrawTimer, unconfirmedTimes[0] + SPAWN_CONFIRM_WINDOW);
+        } else {
+            timers.cancel(withdrawTimer);
+        }
+    }
+    
+    /**
+     * Withdraw every alert whose chat line didn't come within the confirm window
+     */
+    private void withdrawExpiredAlerts(long now) {
+        while (unconfirmedCount > 0 && now - unconfirmedTimes[0] >= SPAWN_CONFIRM_WINDOW) {
+            withdrawAlert(unconfirmedNames[0]);
+            removeUnconfirmedAlert();
+        }
+    }
+    
+    private void withdrawAlert(String name) {
+        LOG.info("Sea creature alert not confirmed by chat: {}", name);
+        if (notifications != null && isMessageEnabled(FishingChatMatcher.TYPE_SEA_CREATURE)) {
+            notifications.post(NotificationService.CATEGORY_SEA_CREATURE,
+                               "&b[GoFish] &7No chat line for the " + name + ", it wasn't your sea creature");
+        }
+    }
+    
+    /**
+     * Show the notification and play the sound of a recognized event, as far as the config allows
+     */
+    private void handleChatEvent(FishingChatMatcher.Match match) {
         try {
             Minecraft mc = Minecraft.getMinecraft();
-            if (mc == null || mc.thePlayer == null) return;
+            if (mc == null || mc.thePlayer == null || notifications == null) return;
+            
+            LOG.debug("Chat event {}: {}", match.event.id, match.name);
             
-            if (DEBUG_MODE) {
-                System.out.println("[GoFish] Treasure: " + treasureName);
+            // The spawn packets already raised this sea creature, the chat line only confirms it
+            if (match.type == FishingChatMatcher.TYPE_SEA_CREATURE && confirmSpawnAlert(clock.millis())) {
+                LOG.debug("Sea creature confirmed by chat: {}", match.name);
+                return;
             }
             
             // Show message if enabled
-            if (GoFishConfig.showTreasureMessages) {
-                mc.thePlayer.addChatMessage(new ChatComponentText(formatColorCodes("&b[GoFish] &fTreasure: &d" + treasureName)));
+            String notification = match.event.formatNotification(match.name);
+            if (notification != null && isMessageEnabled(match.type)) {
+                notifications.post(getCategory(match.type), notification);
             }
             
             // Play sound if enabled
-            if (GoFishConfig.playSoundOnFishCaught) {
-                mc.thePlayer.playSound(TREASURE_SOUND.toString(), 1.0F, 1.0F);
+            if (match.event.sound != null && isSoundEnabled(match.type)) {
+                notifications.playSound(getCategory(match.type), match.event.sound);
             }
         } catch (Exception e) {
-            System.err.println("[GoFish] Error handling treasure: " + e.getMessage());
+            System.err.println("[GoFish] Error handling chat event: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+    
+    private static int getCategory(int type) {
+        return type == FishingChatMatcher.TYPE_SEA_CREATURE ? NotificationService.CATEGORY_SEA_CREATURE : NotificationService.CATEGORY_FISHING;
+    }
+    
+    private static boolean isMessageEnabled(int type) {
+        switch (type) {
+            case FishingChatMatcher.TYPE_FISH_CAUGHT: return GoFishConfig.showFishCaughtMessages;
+            case FishingChatMatcher.TYPE_SEA_CREATURE: return GoFishConfig.showSeaCreatureMessages;
+            case FishingChatMatcher.TYPE_TREASURE: return GoFishConfig.showTreasureMessages;
+            default: return true;
+        }
+    }
+    
+    private static boolean isSoundEnabled(int type) {
+        return type == FishingChatMatcher.TYPE_SEA_CREATURE ? GoFishConfig.playSoundOnSeaCreature : GoFishConfig.playSoundOnFishCaught;
+    }
+}
\ No newline at end of file
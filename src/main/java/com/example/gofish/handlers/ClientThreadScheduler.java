@@ -0,0 +1,64 @@
+package com.example.gofish.handlers;
+
+import com.example.gofish.core.Clock;
+import com.example.gofish.core.PreciseScheduler;
+import com.example.gofish.core.TimerWheel;
+import net.minecraft.client.Minecraft;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a task on the client thread at a point in time, between ticks if need be
+ * A daemon thread sleeps until the task is due, then hands it to Minecraft.addScheduledTask, which runs it
+ * at the start of the next frame rather than at the next tick. The task therefore runs within a frame of
+ * its due time, a few milliseconds at usual frame rates instead of up to a whole tick.
+ * Schedule and cancel on the client thread only.
+ */
+public class ClientThreadScheduler implements PreciseScheduler {
+
+    private final Clock clock;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "GoFish scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Last task scheduled, cancelling it is harmless once it was handed to the client thread
+    private ScheduledFuture<?> pending = null;
+
+    public ClientThreadScheduler(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void schedule(long dueTime, TimerWheel.Task task) {
+        cancel();
+        long delay = Math.max(0, dueTime - clock.millis());
+        pending = executor.schedule(() -> Minecraft.getMinecraft().addScheduledTask(() -> run(task)),
+                                    delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void cancel() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+
+    private void run(TimerWheel.Task task) {
+        try {
+            Minecraft mc = Minecraft.getMinecraft();
+            if (mc.thePlayer == null) return;
+
+            task.run(clock.millis());
+        } catch (Exception e) {
+            // Log any errors but don't crash the game
+            System.err.println("[GoFish] Error in precisely scheduled task: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
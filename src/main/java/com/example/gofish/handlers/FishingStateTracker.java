@@ -0,0 +1,148 @@
+package com.example.gofish.handlers;
+
+import com.example.gofish.core.FishingSnapshot;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.projectile.EntityFishHook;
+import net.minecraft.item.ItemFishingRod;
+import net.minecraft.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Samples the player's fishing state once per client tick
+ * All handlers read the cached state, and cast/reel transitions are reported to listeners exactly once.
+ */
+public class FishingStateTracker {
+
+    /**
+     * Listener for fishing state transitions (called on the client thread)
+     */
+    public interface Listener {
+        /**
+         * Called on the tick the player's fishing hook first appears
+         */
+        void onCast(long time, int hookEntityId);
+
+        /**
+         * Called on the tick the player's fishing hook disappears
+         */
+        void onReel(long time);
+    }
+
+    private final List<Listener> listeners = new ArrayList<>();
+
+    // State as of the last sample
+    private boolean holdingRod = false;
+    private boolean fishing = false;
+    private boolean wasFishing = false;
+    private long lastCastTime = 0;
+    private long lastReelTime = 0;
+
+    // Same state published for the packet thread
+    private volatile FishingSnapshot snapshot = FishingSnapshot.EMPTY;
+
+    /**
+     * Register a listener for cast/reel transitions
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Check if the player was fishing at the last sample
+     */
+    public boolean isFishing() {
+        return fishing;
+    }
+
+    /**
+     * Check if the player was fishing at the sample before the last one
+     */
+    public boolean wasFishing() {
+        return wasFishing;
+    }
+
+    /**
+     * Check if the player was holding a fishing rod at the last sample
+     */
+    public boolean isHoldingRod() {
+        return holdingRod;
+    }
+
+    /**
+     * Get the time of the last detected cast
+     */
+    public long getLastCastTime() {
+        return lastCastTime;
+    }
+
+    /**
+     * Get the time of the last detected reel-in
+     */
+    public long getLastReelTime() {
+        return lastReelTime;
+    }
+
+    /**
+     * Get the latest snapshot, safe to call from any thread
+     */
+    public FishingSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Take this tick's sample, run by the tick driver before anything else reads the state
+     * Also runs without a player, so leaving a world reports the reel.
+     * @param now Time of the tick, casts and reels are stamped with it
+     */
+    public void sample(Minecraft mc, long now) {
+        try {
+            update(mc, now);
+        } catch (Exception e) {
+            // Log any errors but don't crash the game
+            System.err.println("[GoFish] Error in fishing state tracker: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Sample the held item and fishing hook, and report any transition
+     */
+    private void update(Minecraft mc, long now) {
+        wasFishing = fishing;
+
+        if (mc == null || mc.thePlayer == null) {
+            holdingRod = false;
+            fishing = false;
+            snapshot = FishingSnapshot.EMPTY;
+        } else {
+            ItemStack heldItem = mc.thePlayer.getHeldItem();
+            holdingRod = heldItem != null && heldItem.getItem() instanceof ItemFishingRod;
+
+            EntityFishHook hook = mc.thePlayer.fishEntity;
+            fishing = holdingRod && hook != null;
+
+            if (hook == null) {
+                snapshot = new FishingSnapshot(fishing, holdingRod, FishingSnapshot.NO_HOOK, 0, 0, 0);
+            } else {
+                snapshot = new FishingSnapshot(fishing, holdingRod, hook.getEntityId(), hook.posX, hook.posY, hook.posZ);
+            }
+        }
+
+        if (fishing == wasFishing) return;
+
+        if (fishing) {
+            lastCastTime = now;
+            int hookEntityId = snapshot.getHookEntityId();
+            for (Listener listener : listeners) {
+                listener.onCast(now, hookEntityId);
+            }
+        } else {
+            lastReelTime = now;
+            for (Listener listener : listeners) {
+                listener.onReel(now);
+            }
+        }
+    }
+}
@@ -1,87 +1,74 @@
 package com.example.gofish.handlers;
 
 import com.example.gofish.config.GoFishConfig;
+import com.example.gofish.core.DebugLog;
+import com.example.gofish.core.TimerWheel;
 import com.example.gofish.utils.FishingUtils;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.settings.KeyBinding;
-import net.minecraft.util.ChatComponentText;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 import java.util.Random;
 
 /**
  * Handler for periodically jumping to appear more human-like
+ * Runs from a single timer on the tick driver's wheel, due at the next jump or at the end of the current one.
  */
 public class JumpHandler {
     
+    private static final DebugLog LOG = DebugLog.get("Jump");
+    
+    // How long to wait before looking at the config and the rod again
+    private static final long RECHECK_INTERVAL = 1000;
+    
     // Random number generator
     private final Random random = new Random();
     
+    // Starts the next jump, or ends the current one
+    private final TimerWheel timers;
+    private final TimerWheel.Timer jumpTimer;
+    
     // State tracking
     private boolean isJumping = false;
-    private long nextJumpTime = 0;
-    private long jumpEndTime = 0;
-    
-    /**
-     * Convert & color codes to § color codes
-     * @param message The message with & color codes
-     * @return The message with § color codes
-     */
-    private static String formatColorCodes(String message) {
-        char sectionSign = '\u00A7';
-        return message.replace('&', sectionSign);
-    }
     
-    /**
-     * Helper method to send debug messages to chat
-     */
-    private void sendDebugMessage(Minecraft mc, String message) {
-        if (GoFishConfig.enableDebugNotifications && mc != null && mc.thePlayer != null) {
-            mc.thePlayer.addChatMessage(new ChatComponentText(formatColorCodes("&7[GoFish Debug] &f" + message)));
-        }
+    public JumpHandler(TickDriver tickDriver) {
+        this.timers = tickDriver.getTimers();
+        this.jumpTimer = timers.newTimer("jump", this::onJumpTimer);
+        scheduleNextJump(tickDriver.getClock().millis());
     }
     
     /**
      * Schedule the next jump
      */
-    private void scheduleNextJump() {
+    private void scheduleNextJump(long now) {
         // Calculate random delay between min and max
         int delay = GoFishConfig.minJumpInterval + 
                   random.nextInt(GoFishConfig.maxJumpInterval - GoFishConfig.minJumpInterval + 1);
         
-        nextJumpTime = System.currentTimeMillis() + delay;
+        timers.schedule(jumpTimer, now + delay);
         
-        if (GoFishConfig.enableDebugNotifications) {
-            Minecraft mc = Minecraft.getMinecraft();
-            if (mc != null && mc.thePlayer != null) {
-                sendDebugMessage(mc, "Next jump scheduled in " + (delay / 1000) + " seconds");
-            }
-        }
+        LOG.debug("Next jump scheduled in {} seconds", delay / 1000);
     }
     
     /**
      * Start jumping
      */
-    private void startJump(Minecraft mc) {
+    private void startJump(Minecraft mc, long now) {
         if (mc == null || mc.thePlayer == null) return;
         
         // Set state
         isJumping = true;
-        jumpEndTime = System.currentTimeMillis() + GoFishConfig.jumpDuration;
+        timers.schedule(jumpTimer, now + GoFishConfig.jumpDuration);
         
         // Press the jump key
         KeyBinding.setKeyBindState(mc.gameSettings.keyBindJump.getKeyCode(), true);
         
-        if (GoFishConfig.enableDebugNotifications) {
-            sendDebugMessage(mc, "Started jumping");
-        }
+        LOG.debug("Started jumping");
     }
     
     /**
      * Stop jumping
      */
-    private void stopJump(Minecraft mc) {
+    private void stopJump(Minecraft mc, long now) {
         if (mc == null) return;
         
         // Release the jump key
@@ -91,11 +78,9 @@ public class JumpHandler {
         isJumping = false;
         
         // Schedule next jump
-        scheduleNextJump();
+        scheduleNextJump(now);
         
-        if (GoFishConfig.enableDebugNotifications) {
-            sendDebugMessage(mc, "Stopped jumping");
-        }
+        LOG.debug("Stopped jumping");
     }
     
     /**
@@ -106,53 +91,37 @@ public class JumpHandler {
         return isJumping;
     }
     
-    @SubscribeEvent
-    public void onClientTick(TickEvent.ClientTickEvent event) {
+    /**
+     * Called when the jump timer is due
+     */
+    private void onJumpTimer(long now) {
         try {
-            // Only process on the client phase END
-            if (event.phase != TickEvent.Phase.END) return;
+            Minecraft mc = Minecraft.getMinecraft();
             
             // Check if periodic jump is enabled AND auto-catch is enabled
             if (!GoFishConfig.enablePeriodicJump || !GoFishConfig.enableAutoCatch) {
                 // If we were jumping, stop it
                 if (isJumping) {
-                    Minecraft mc = Minecraft.getMinecraft();
-                    stopJump(mc);
+                    stopJump(mc, now);
+                } else {
+                    timers.schedule(jumpTimer, now + RECHECK_INTERVAL);
                 }
                 return;
             }
             
-            // Safety check for Minecraft instance
-            Minecraft mc = Minecraft.getMinecraft();
-            if (mc == null || mc.thePlayer == null) {
-                return;
-            }
-            
-            // Initialize next jump time if needed
-            if (nextJumpTime == 0) {
-                scheduleNextJump();
-                return;
-            }
-            
-            // Handle current jump if active
+            // End the current jump
             if (isJumping) {
-                long currentTime = System.currentTimeMillis();
-                if (currentTime >= jumpEndTime) {
-                    stopJump(mc);
-                }
+                stopJump(mc, now);
                 return;
             }
             
             // Only start new jumps when fishing or holding a fishing rod
             if (!FishingUtils.isPlayerFishing() && !FishingUtils.isHoldingFishingRod()) {
+                timers.schedule(jumpTimer, now + RECHECK_INTERVAL);
                 return;
             }
             
-            // Check if it's time for a new jump
-            long currentTime = System.currentTimeMillis();
-            if (currentTime >= nextJumpTime) {
-                startJump(mc);
-            }
+            startJump(mc, now);
         } catch (Exception e) {
             // Log any errors but don't crash the game
             System.err.println("[GoFish] Error in jump handler: " + e.getMessage());
@@ -160,7 +129,7 @@ public class JumpHandler {
             
             // Reset state to prevent cascading errors
             isJumping = false;
-            nextJumpTime = System.currentTimeMillis() + 1000; // Wait a second before trying again
+            timers.schedule(jumpTimer, now + RECHECK_INTERVAL); // Wait a second before trying again
             
             // Make sure jump key is released
             try {
@@ -1,14 +1,11 @@
 package com.example.gofish.handlers;
 
 import com.example.gofish.config.GoFishConfig;
-import net.minecraft.client.Minecraft;
 import net.minecraft.client.settings.KeyBinding;
-import net.minecraft.util.ChatComponentText;
 import net.minecraftforge.fml.client.registry.ClientRegistry;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.InputEvent;
 import org.lwjgl.input.Keyboard;
-import net.minecraft.util.EnumChatFormatting;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 
 /**
@@ -21,6 +18,9 @@ public class KeyBindingHandler {
     
     private final PacketHandler packetHandler;
     
+    // Shared chat and sound output
+    private NotificationService notifications = null;
+    
     public KeyBindingHandler(PacketHandler packetHandler) {
         this.packetHandler = packetHandler;
         ClientRegistry.registerKeyBinding(TOGGLE_AUTO_FISH);
@@ -28,23 +28,33 @@ public class KeyBindingHandler {
         FMLCommonHandler.instance().bus().register(this);
     }
     
+    /**
+     * Set the service that shows the toggle messages
+     */
+    public void setNotifications(NotificationService notifications) {
+        this.notifications = notifications;
+    }
+    
+    private void sendStatus(String message) {
+        if (notifications != null) {
+            notifications.post(NotificationService.CATEGORY_STATUS, "&b[GoFish] &f" + message);
+        }
+    }
+    
     @SubscribeEvent
     public void onKeyInput(InputEvent.KeyInputEvent event) {
         if (TOGGLE_AUTO_FISH.isPressed()) {
             GoFishConfig.enableAutoCatch = !GoFishConfig.enableAutoCatch;
             GoFishConfig.enableAutoRecast = !GoFishConfig.enableAutoRecast;
             GoFishConfig.saveConfig();
-            Minecraft.getMinecraft().thePlayer.addChatMessage(new ChatComponentText(
-                    EnumChatFormatting.AQUA + "[GoFish] " + EnumChatFormatting.WHITE + "Auto-fishing " +
-                            (GoFishConfig.enableAutoCatch ? "enabled" : "disabled") + "."
-            ));
+            sendStatus("Auto-fishing " + (GoFishConfig.enableAutoCatch ? "enabled" : "disabled") + ".");
         }
         
         if (TOGGLE_PACKET_LOGGING.isPressed()) {
-            packetHandler.startPacketLogging();
-            Minecraft.getMinecraft().thePlayer.addChatMessage(new ChatComponentText(
-                    EnumChatFormatting.AQUA + "[GoFish] " + EnumChatFormatting.WHITE + "Started packet logging for 5 seconds."
-            ));
+            GoFishConfig.enablePacketLogging = !GoFishConfig.enablePacketLogging;
+            GoFishConfig.saveConfig();
+            sendStatus("Packet capture " +
+                       (GoFishConfig.enablePacketLogging ? "enabled. Use /gofish capture dump to save it." : "disabled."));
         }
     }
 } 
\ No newline at end of file
@@ -1,25 +1,34 @@
 package com.example.gofish.handlers;
 
 import com.example.gofish.config.GoFishConfig;
+import com.example.gofish.core.DebugLog;
+import com.example.gofish.core.TimerWheel;
 import com.example.gofish.utils.FishingUtils;
 import net.minecraft.client.Minecraft;
-import net.minecraft.util.ChatComponentText;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 import java.util.Random;
 
 /**
  * Handler for random look movements to simulate human behavior
+ * A timer on the tick driver's wheel starts each movement; the handler only does work every tick while
+ * a movement is in progress.
  */
-public class LookMovementHandler {
+public class LookMovementHandler implements TickDriver.TickListener {
+    
+    private static final DebugLog LOG = DebugLog.get("Look");
+    
+    // How long to wait before looking at the config and the rod again
+    private static final long RECHECK_INTERVAL = 1000;
     
     // Random number generator
     private final Random random = new Random();
     
+    // Starts the next movement
+    private final TimerWheel timers;
+    private final TimerWheel.Timer movementTimer;
+    
     // Movement state
     private boolean isMoving = false;
-    private long nextMovementTime = 0;
     private long movementEndTime = 0;
     private int movementCounter = 0;
     private static final int MOVEMENTS_BEFORE_RESET = 10; // Reset to original position every X movements
@@ -54,47 +63,29 @@ public class LookMovementHandler {
     private float targetVelocity = 0;
     private float maxVelocity = 0;
     
-    /**
-     * Convert & color codes to § color codes
-     * @param message The message with & color codes
-     * @return The message with § color codes
-     */
-    private static String formatColorCodes(String message) {
-        char sectionSign = '\u00A7';
-        return message.replace('&', sectionSign);
-    }
-    
-    /**
-     * Helper method to send debug messages to chat
-     */
-    private void sendDebugMessage(Minecraft mc, String message) {
-        if (GoFishConfig.enableDebugNotifications && mc != null && mc.thePlayer != null) {
-            mc.thePlayer.addChatMessage(new ChatComponentText(formatColorCodes("&7[GoFish Debug] &f" + message)));
-        }
+    public LookMovementHandler(TickDriver tickDriver) {
+        this.timers = tickDriver.getTimers();
+        this.movementTimer = timers.newTimer("look movement", this::onMovementTimer);
+        scheduleNextMovement(tickDriver.getClock().millis());
     }
     
     /**
      * Schedule the next random look movement
      */
-    private void scheduleNextMovement() {
+    private void scheduleNextMovement(long now) {
         // Calculate random delay between min and max
         int delay = GoFishConfig.minLookMovementDelay + 
                   random.nextInt(GoFishConfig.maxLookMovementDelay - GoFishConfig.minLookMovementDelay + 1);
         
-        nextMovementTime = System.currentTimeMillis() + delay;
+        timers.schedule(movementTimer, now + delay);
         
-        if (GoFishConfig.enableDebugNotifications) {
-            Minecraft mc = Minecraft.getMinecraft();
-            if (mc != null && mc.thePlayer != null) {
-                sendDebugMessage(mc, "Next look movement scheduled in " + delay + "ms");
-            }
-        }
+        LOG.debug("Next look movement scheduled in {}ms", delay);
     }
     
     /**
      * Start a new random look movement
      */
-    private void startNewMovement(Minecraft mc) {
+    private void startNewMovement(Minecraft mc, long now) {
         if (mc == null || mc.thePlayer == null) return;
         
         // Get current player rotation
@@ -107,8 +98,8 @@ public class LookMovementHandler {
             originalPitch = startPitch;
             originalPositionSet = true;
             
-            if (GoFishConfig.enableDebugNotifications) {
-                sendDebugMessage(mc, "Original position set: Yaw=" + originalYaw + ", Pitch=" + originalPitch);
+            if (LOG.isEnabled()) {
+                LOG.debug("Original position set: Yaw={}, Pitch={}", originalYaw, originalPitch);
             }
         }
         
@@ -138,8 +129,8 @@ public class LookMovementHandler {
                 distance = (random.nextFloat() * 0.5f + 0.5f) * Math.min(currentDistanceFromOrigin, GoFishConfig.randomLookFovRange * 0.3f);
                 angle = (angle + (random.nextFloat() * 30 - 15)) % 360; // Small random deviation in angle
                 
-                if (GoFishConfig.enableDebugNotifications) {
-                    sendDebugMessage(mc, "Centering movement triggered. Distance from origin: " + 
+                if (LOG.isEnabled()) {
+                    LOG.debug("Centering movement triggered. Distance from origin: " + 
                                    String.format("%.2f", currentDistanceFromOrigin) + 
                                    ", bias: " + String.format("%.2f", centeringBias));
                 }
@@ -175,8 +166,8 @@ public class LookMovementHandler {
             newTargetYaw = originalYaw + (newTargetYaw - originalYaw) * scale;
             newTargetPitch = originalPitch + (newTargetPitch - originalPitch) * scale;
             
-            if (GoFishConfig.enableDebugNotifications) {
-                sendDebugMessage(mc, "Movement scaled to stay within FOV range. Scale: " + 
+            if (LOG.isEnabled()) {
+                LOG.debug("Movement scaled to stay within FOV range. Scale: " + 
                                String.format("%.2f", scale));
             }
         }
@@ -216,10 +207,10 @@ public class LookMovementHandler {
         // Set movement state
         isMoving = true;
         currentProgress = 0;
-        movementEndTime = System.currentTimeMillis() + GoFishConfig.lookMovementDuration;
+        movementEndTime = now + GoFishConfig.lookMovementDuration;
         
-        if (GoFishConfig.enableDebugNotifications) {
-            sendDebugMessage(mc, "Starting curved look movement: " +
+        if (LOG.isEnabled()) {
+            LOG.debug("Starting curved look movement: " +
                            "Yaw " + String.format("%.2f", startYaw) + " -> " + String.format("%.2f", targetYaw) + ", " +
                            "Pitch " + String.format("%.2f", startPitch) + " -> " + String.format("%.2f", targetPitch) +
                            " (distance from origin: " + String.format("%.2f", targetDistanceFromOrigin) + ")");
@@ -229,11 +220,10 @@ public class LookMovementHandler {
     /**
      * Update the current look movement
      */
-    private void updateMovement(Minecraft mc) {
+    private void updateMovement(Minecraft mc, long currentTime) {
         if (mc == null || mc.thePlayer == null) return;
         
         // Calculate progress (0.0 to 1.0)
-        long currentTime = System.currentTimeMillis();
         long elapsedTime = currentTime - (movementEndTime - GoFishConfig.lookMovementDuration);
         currentProgress = Math.min(1.0f, (float) elapsedTime / GoFishConfig.lookMovementDuration);
         
@@ -258,19 +248,17 @@ public class LookMovementHandler {
         mc.thePlayer.rotationPitch = newPitch;
         
         // Debug velocity information
-        if (GoFishConfig.enableDebugNotifications && random.nextInt(10) == 0) { // Only show occasionally to avoid spam
-            sendDebugMessage(mc, "Movement velocity: " + String.format("%.2f", currentVelocity) + 
+        if (LOG.isEnabled() && random.nextInt(10) == 0) { // Only show occasionally to avoid spam
+            LOG.debug("Movement velocity: " + String.format("%.2f", currentVelocity) + 
                            " (progress: " + String.format("%.2f", currentProgress) + ")");
         }
         
         // Check if movement is complete
         if (currentTime >= movementEndTime) {
             isMoving = false;
-            scheduleNextMovement();
+            scheduleNextMovement(currentTime);
             
-            if (GoFishConfig.enableDebugNotifications) {
-                sendDebugMessage(mc, "Look movement completed");
-            }
+            LOG.debug("Look movement completed");
         }
     }
     
@@ -352,12 +340,7 @@ public class LookMovementHandler {
      */
     public void resetOriginalPosition() {
         originalPositionSet = false;
-        if (GoFishConfig.enableDebugNotifications) {
-            Minecraft mc = Minecraft.getMinecraft();
-            if (mc != null && mc.thePlayer != null) {
-                sendDebugMessage(mc, "Original position reset");
-            }
-        }
+        LOG.debug("Original position reset");
     }
     
     /**
@@ -371,76 +354,83 @@ public class LookMovementHandler {
         return value + (random.nextFloat() * 2 - 1) * amount;
     }
     
-    @SubscribeEvent
-    public void onClientTick(TickEvent.ClientTickEvent event) {
+    /**
+     * Move the view along the current movement, does nothing between movements
+     */
+    @Override
+    public void onTick(Minecraft mc, long now) {
+        if (!isMoving) return;
+        
         try {
-            // Only process on the client phase END
-            if (event.phase != TickEvent.Phase.END) return;
-            
-            // Check if random look movements are enabled AND auto-catch is enabled
-            if (!GoFishConfig.enableRandomLookMovements || !GoFishConfig.enableAutoCatch) return;
-            
-            // Safety check for Minecraft instance
-            Minecraft mc = Minecraft.getMinecraft();
-            if (mc == null || mc.thePlayer == null) {
+            // Stop moving as soon as the movements are turned off or fishing stops
+            if (!GoFishConfig.enableRandomLookMovements || !GoFishConfig.enableAutoCatch || !FishingUtils.isPlayerFishing()) {
+                isMoving = false;
+                timers.schedule(movementTimer, now + RECHECK_INTERVAL);
                 return;
             }
             
-            // Check if player is fishing
-            boolean isFishing = FishingUtils.isPlayerFishing();
-            
-            // Reset original position if not fishing
-            if (!isFishing && originalPositionSet) {
-                resetOriginalPosition();
+            updateMovement(mc, now);
+        } catch (Exception e) {
+            handleError(e, now);
+        }
+    }
+    
+    /**
+     * Called when the next movement is due
+     */
+    private void onMovementTimer(long now) {
+        try {
+            // Check if random look movements are enabled AND auto-catch is enabled
+            if (!GoFishConfig.enableRandomLookMovements || !GoFishConfig.enableAutoCatch) {
+                timers.schedule(movementTimer, now + RECHECK_INTERVAL);
                 return;
             }
             
-            // Only apply when fishing
-            if (!isFishing) {
+            // Only apply when fishing, and reset the original position if not
+            if (!FishingUtils.isPlayerFishing()) {
+                if (originalPositionSet) {
+                    resetOriginalPosition();
+                }
+                timers.schedule(movementTimer, now + RECHECK_INTERVAL);
                 return;
             }
             
-            // Initialize next movement time if needed
-            if (nextMovementTime == 0) {
-                scheduleNextMovement();
-                return;
-            }
+            Minecraft mc = Minecraft.getMinecraft();
             
-            // Handle current movement if active
-            if (isMoving) {
-                updateMovement(mc);
-                return;
+            // If we've made several movements, occasionally reset back to original position
+            if (movementCounter >= MOVEMENTS_BEFORE_RESET && random.nextFloat() < 0.6f) {
+                // Force a movement back to the original position
+                forceReturnToCenter(mc, now);
+                movementCounter = 0;
+            } else {
+                // Regular random movement
+                startNewMovement(mc, now);
+                movementCounter++;
             }
             
-            // Check if it's time for a new movement
-            long currentTime = System.currentTimeMillis();
-            if (currentTime >= nextMovementTime) {
-                // If we've made several movements, occasionally reset back to original position
-                if (movementCounter >= MOVEMENTS_BEFORE_RESET && random.nextFloat() < 0.6f) {
-                    // Force a movement back to the original position
-                    forceReturnToCenter(mc);
-                    movementCounter = 0;
-                } else {
-                    // Regular random movement
-                    startNewMovement(mc);
-                    movementCounter++;
-                }
+            // Keep the timer going if no movement could start
+            if (!isMoving && !movementTimer.isPending()) {
+                scheduleNextMovement(now);
             }
         } catch (Exception e) {
-            // Log any errors but don't crash the game
-            System.err.println("[GoFish] Error in look movement handler: " + e.getMessage());
-            e.printStackTrace();
-            
-            // Reset state to prevent cascading errors
-            isMoving = false;
-            nextMovementTime = System.currentTimeMillis() + 1000; // Wait a second before trying again
+            handleError(e, now);
         }
     }
     
+    private void handleError(Exception e, long now) {
+        // Log any errors but don't crash the game
+        System.err.println("[GoFish] Error in look movement handler: " + e.getMessage());
+        e.printStackTrace();
+        
+        // Reset state to prevent cascading errors
+        isMoving = false;
+        timers.schedule(movementTimer, now + RECHECK_INTERVAL); // Wait a second before trying again
+    }
+    
     /**
      * Force a return to the original center position
      */
-    private void forceReturnToCenter(Minecraft mc) {
+    private void forceReturnToCenter(Minecraft mc, long now) {
         if (mc == null || mc.thePlayer == null || !originalPositionSet) return;
         
         // Get current position
@@ -459,7 +449,7 @@ public class LookMovementHandler {
         
         // If we're already close to center, no need for a centering movement
         if (distanceToCenter < 0.5f) {
-            scheduleNextMovement();
+            scheduleNextMovement(now);
             return;
         }
         
@@ -476,10 +466,10 @@ public class LookMovementHandler {
         // Set movement state - slightly faster return to center
         isMoving = true;
         currentProgress = 0;
-        movementEndTime = System.currentTimeMillis() + (int)(GoFishConfig.lookMovementDuration * 0.8f);
+        movementEndTime = now + (int)(GoFishConfig.lookMovementDuration * 0.8f);
         
-        if (GoFishConfig.enableDebugNotifications) {
-            sendDebugMessage(mc, "Returning to center position: " +
+        if (LOG.isEnabled()) {
+            LOG.debug("Returning to center position: " +
                            "Yaw " + String.format("%.2f", startYaw) + " -> " + String.format("%.2f", targetYaw) + ", " +
                            "Pitch " + String.format("%.2f", startPitch) + " -> " + String.format("%.2f", targetPitch) +
                            " (distance: " + String.format("%.2f", distanceToCenter) + ")");
@@ -0,0 +1,232 @@
+package com.example.gofish.handlers;
+
+import com.example.gofish.config.GoFishConfig;
+import net.minecraft.client.Minecraft;
+import net.minecraft.util.ChatComponentText;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Chat messages and sounds of all handlers, shown once per client tick
+ * Identical messages posted in the same tick are shown once, and every category has a budget of
+ * messages and sounds per second, so a burst of fishing events can't flood the chat or the sound engine.
+ * A repeated message is only formatted once, but every post gets a new chat component.
+ */
+public class NotificationService {
+
+    // Categories, each with its own rate limit
+    public static final int CATEGORY_DEBUG = 0;
+    public static final int CATEGORY_FISHING = 1;
+    public static final int CATEGORY_SEA_CREATURE = 2;
+    public static final int CATEGORY_STATUS = 3;
+    private static final int CATEGORY_COUNT = 4;
+
+    public static final String DEBUG_PREFIX = "&7[GoFish Debug] &f";
+
+    // Messages and sounds each category may show per rate window
+    private static final int[] MESSAGE_LIMITS = {5, 4, 4, 8};
+    private static final int[] SOUND_LIMITS = {0, 2, 3, 2};
+    private static final long RATE_WINDOW = 1000;
+
+    // Notifications a single tick can hold, anything beyond is dropped
+    private static final int MAX_PENDING_MESSAGES = 32;
+    private static final int MAX_PENDING_SOUNDS = 8;
+
+    // Number of formatted texts kept for repeated messages
+    private static final int FORMAT_CACHE_SIZE = 64;
+
+    // Messages posted this tick, duplicates only raise the count
+    private final String[] pendingMessages = new String[MAX_PENDING_MESSAGES];
+    private final int[] pendingMessageCategories = new int[MAX_PENDING_MESSAGES];
+    private final int[] pendingMessageCounts = new int[MAX_PENDING_MESSAGES];
+    private int pendingMessageCount = 0;
+
+    // Sounds requested this tick, each sound plays at most once
+    private final String[] pendingSounds = new String[MAX_PENDING_SOUNDS];
+    private final int[] pendingSoundCategories = new int[MAX_PENDING_SOUNDS];
+    private int pendingSoundCount = 0;
+
+    // Rate window of every category, only touched on the client thread
+    private final long[] windowStarts = new long[CATEGORY_COUNT];
+    private final int[] messagesInWindow = new int[CATEGORY_COUNT];
+    private final int[] soundsInWindow = new int[CATEGORY_COUNT];
+    private int suppressedInWindow = 0;
+    private long suppressedTotal = 0;
+
+    // Formatted text by message text, least recently used first. Only the text is cached: the chat GUI keeps
+    // the component it is given, so every message needs a component of its own.
+    private final Map<String, String> formatted = new LinkedHashMap<String, String>(FORMAT_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > FORMAT_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Convert & color codes to § color codes
+     * @param message The message with & color codes
+     * @return The message with § color codes
+     */
+    private static String formatColorCodes(String message) {
+        char sectionSign = '\u00A7';
+        return message.replace('&', sectionSign);
+    }
+
+    /**
+     * Queue a chat message for the end of the tick
+     * @param message The whole message with & color codes
+     */
+    public synchronized void post(int category, String message) {
+        for (int i = 0; i < pendingMessageCount; i++) {
+            if (pendingMessages[i].equals(message)) {
+                pendingMessageCounts[i]++;
+                return;
+            }
+        }
+
+        if (pendingMessageCount == MAX_PENDING_MESSAGES) {
+            suppressedTotal++;
+            return;
+        }
+        pendingMessages[pendingMessageCount] = message;
+        pendingMessageCategories[pendingMessageCount] = category;
+        pendingMessageCounts[pendingMessageCount] = 1;
+        pendingMessageCount++;
+    }
+
+    /**
+     * Queue a debug message, dropped right away unless debug notifications are enabled
+     */
+    public void debug(String message) {
+        if (GoFishConfig.enableDebugNotifications) {
+            post(CATEGORY_DEBUG, DEBUG_PREFIX + message);
+        }
+    }
+
+    /**
+     * Queue a sound for the end of the tick
+     * @param sound Name of the sound, played at the player
+     */
+    public synchronized void playSound(int category, String sound) {
+        for (int i = 0; i < pendingSoundCount; i++) {
+            if (pendingSounds[i].equals(sound)) return;
+        }
+
+        if (pendingSoundCount == MAX_PENDING_SOUNDS) {
+            suppressedTotal++;
+            return;
+        }
+        pendingSounds[pendingSoundCount] = sound;
+        pendingSoundCategories[pendingSoundCount] = category;
+        pendingSoundCount++;
+    }
+
+    /**
+     * Get the number of messages and sounds dropped by the rate limits since the game started
+     */
+    public synchronized long getSuppressedCount() {
+        return suppressedTotal;
+    }
+
+    /**
+     * Show everything posted during the tick
+     * Run by the tick driver as its last step, so messages posted by the handlers and timers go out in the same tick.
+     * @param now Time of the tick, the rate windows are measured with it
+     */
+    public void flush(long now) {
+        try {
+            showPending(now);
+        } catch (Exception e) {
+            System.err.println("[GoFish] Error showing notifications: " + e.getMessage());
+        }
+    }
+
+    private synchronized void showPending(long now) {
+        if (pendingMessageCount == 0 && pendingSoundCount == 0 && suppressedInWindow == 0) return;
+
+        Minecraft mc = Minecraft.getMinecraft();
+        if (mc == null || mc.thePlayer == null) {
+            // Nobody to show them to, e.g. while changing servers
+            clearPending();
+            return;
+        }
+
+        for (int i = 0; i < pendingMessageCount; i++) {
+            int category = pendingMessageCategories[i];
+            if (!allow(category, now, messagesInWindow, MESSAGE_LIMITS)) {
+                suppressedInWindow++;
+                suppressedTotal++;
+                continue;
+            }
+
+            int count = pendingMessageCounts[i];
+            String message = count > 1 ? pendingMessages[i] + " &7(x" + count + ")" : pendingMessages[i];
+            mc.thePlayer.addChatMessage(new ChatComponentText(getFormatted(message)));
+        }
+
+        for (int i = 0; i < pendingSoundCount; i++) {
+            int category = pendingSoundCategories[i];
+            if (!allow(category, now, soundsInWindow, SOUND_LIMITS)) {
+                suppressedTotal++;
+                continue;
+            }
+            mc.thePlayer.playSound(pendingSounds[i], 1.0F, 1.0F);
+        }
+
+        // Say once per window how many messages were held back
+        if (suppressedInWindow > 0 && isWindowOver(now)) {
+            mc.thePlayer.addChatMessage(new ChatComponentText(
+                formatColorCodes("&7[GoFish] " + suppressedInWindow + " more notifications suppressed")));
+            suppressedInWindow = 0;
+        }
+
+        clearPending();
+    }
+
+    /**
+     * Count a notification against the budget of its category
+     * @return false if the category used up its budget for the current window
+     */
+    private boolean allow(int category, long now, int[] usedInWindow, int[] limits) {
+        if (now - windowStarts[category] >= RATE_WINDOW) {
+            windowStarts[category] = now;
+            messagesInWindow[category] = 0;
+            soundsInWindow[category] = 0;
+        }
+        if (usedInWindow[category] >= limits[category]) return false;
+
+        usedInWindow[category]++;
+        return true;
+    }
+
+    private boolean isWindowOver(long now) {
+        for (int category = 0; category < CATEGORY_COUNT; category++) {
+            if (now - windowStarts[category] < RATE_WINDOW) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the message with its color codes converted, formatted on first use
+     */
+    private String getFormatted(String message) {
+        String text = formatted.get(message);
+        if (text == null) {
+            text = formatColorCodes(message);
+            formatted.put(message, text);
+        }
+        return text;
+    }
+
+    private void clearPending() {
+        for (int i = 0; i < pendingMessageCount; i++) {
+            pendingMessages[i] = null;
+        }
+        for (int i = 0; i < pendingSoundCount; i++) {
+            pendingSounds[i] = null;
+        }
+        pendingMessageCount = 0;
+        pendingSoundCount = 0;
+    }
+}
@@ -1,55 +1,103 @@
 package com.example.gofish.handlers;
 
 import com.example.gofish.config.GoFishConfig;
+import com.example.gofish.config.GoFishSettings;
+import com.example.gofish.core.BiteDetector;
+import com.example.gofish.core.BiteGate;
+import com.example.gofish.core.BiteSignalFusion;
+import com.example.gofish.core.Clock;
+import com.example.gofish.core.DebugLog;
+import com.example.gofish.core.DetectionStats;
+import com.example.gofish.core.FishingEventQueue;
+import com.example.gofish.core.FishingSnapshot;
+import com.example.gofish.core.HookTrajectoryTracker;
+import com.example.gofish.core.PacketCaptureRing;
+import com.example.gofish.core.SeaCreatureDetector;
+import com.example.gofish.core.SystemClock;
+import com.example.gofish.utils.EntityIdAccessors;
 import com.example.gofish.utils.FishingUtils;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import net.minecraft.client.Minecraft;
-import net.minecraft.network.Packet;
+import net.minecraft.entity.DataWatcher;
+import net.minecraft.item.ItemFishingRod;
+import net.minecraft.item.ItemStack;
+import net.minecraft.network.play.client.C08PacketPlayerBlockPlacement;
+import net.minecraft.network.play.server.S01PacketJoinGame;
+import net.minecraft.network.play.server.S02PacketChat;
+import net.minecraft.network.play.server.S07PacketRespawn;
 import net.minecraft.network.play.server.S12PacketEntityVelocity;
+import net.minecraft.network.play.server.S13PacketDestroyEntities;
 import net.minecraft.network.play.server.S14PacketEntity;
+import net.minecraft.network.play.server.S18PacketEntityTeleport;
 import net.minecraft.network.play.server.S19PacketEntityStatus;
+import net.minecraft.network.play.server.S1CPacketEntityMetadata;
 import net.minecraft.network.play.server.S29PacketSoundEffect;
 import net.minecraft.network.play.server.S2APacketParticles;
 import net.minecraft.network.play.server.S2CPacketSpawnGlobalEntity;
 import net.minecraft.network.play.server.S0EPacketSpawnObject;
-import net.minecraft.util.ChatComponentText;
-import net.minecraft.util.EnumParticleTypes;
-import net.minecraft.entity.projectile.EntityFishHook;
+import net.minecraft.network.play.server.S0FPacketSpawnMob;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.network.FMLNetworkEvent;
 
-import java.lang.reflect.Field;
-import java.util.HashSet;
-import java.util.Set;
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
-public class PacketHandler {
+public class PacketHandler implements FishingStateTracker.Listener {
+    
+    private static final DebugLog LOG = DebugLog.get("Packets");
     
     // Constants for packet analysis
-    private static final int FISHING_BOBBER_ENTITY_ID = 90;
     private static final String SPLASH_PARTICLE_NAME = "splash";
     private static final String WAKE_PARTICLE_NAME = "wake";
     private static final String WATER_BUBBLE_PARTICLE_NAME = "bubble";
     private static final String FISHING_HOOK_SOUND = "random.splash";
     private static final String FISH_CAUGHT_MESSAGE = "&r&aYou caught a &r";
-    private static final String SPLASH_SOUND = "random.splash";
-    private static final String WATER_SPLASH_SOUND = "game.player.swim.splash";
     
-    // Packet logging state
-    private boolean isLoggingPackets = false;
-    private long packetLoggingStartTime = 0;
-    private static final long packetLoggingDuration = 10000; // 10 seconds
-    private Set<String> loggedPacketTypes = new HashSet<>();
+    // Direction sent with C08PacketPlayerBlockPlacement when using the held item in the air
+    private static final int USE_ITEM_DIRECTION = 255;
+    
+    // Packet capture, recorded while packet logging is enabled and dumped on request
+    private static final int CAPTURE_CAPACITY = 16384;
+    private final PacketCaptureRing captureRing = new PacketCaptureRing(CAPTURE_CAPACITY);
+    
+    // Cast-ignore and cooldown check of detected bites, only touched on the client thread
+    private final BiteGate biteGate = new BiteGate();
+    
+    // Source of the per-tick player and hook state, read by the packet thread
+    private volatile FishingStateTracker stateTracker = null;
+    
+    // Events detected on the Netty thread, handled on the client thread
+    private static final int EVENT_QUEUE_CAPACITY = 256;
+    private final FishingEventQueue eventQueue = new FishingEventQueue(EVENT_QUEUE_CAPACITY);
+    private final FishingEventQueue.Consumer eventConsumer = this::handleFishingEvent;
+    
+    // Accept/reject counters of the bite detection, cheap enough to always record
+    private final DetectionStats detectionStats = new DetectionStats();
     
-    // Fishing state
-    private long lastHookCastTime = 0;
-    private long lastBiteTime = 0;
-    private int fishingHookEntityId = -1;
+    // Where the local bobber landed, fed by the packet thread and polled by the fishing handler
+    private final HookTrajectoryTracker hookTrajectory = new HookTrajectoryTracker();
+    
+    // Detection settings, read straight from the config so changes apply to the next packet
+    private final GoFishSettings settings = new GoFishSettings();
     
     // Reference to the fishing handler for callbacks
     private final FishingHandler fishingHandler;
     
+    // Shows sea creature alerts, set once the chat handler exists
+    private ChatHandler chatHandler = null;
+    
+    // Shared chat and sound output
+    private NotificationService notifications = null;
+    
+    // Time bites, sea creatures and captured packets are stamped with, read on the netty thread
+    private volatile Clock clock = SystemClock.INSTANCE;
+    
     /**
      * Convert & color codes to § color codes
      * @param message The message with & color codes
@@ -76,45 +124,88 @@ public class PacketHandler {
     }
     
     /**
-     * Helper method to safely get entity ID from any packet using reflection
+     * Get the accept/reject counters of the bite detection
      */
-    private int getEntityIdFromPacket(Object packet) {
-        try {
-            // Try common method names first
-            try {
-                return (int) packet.getClass().getMethod("getEntityID").invoke(packet);
-            } catch (Exception e1) {
-                try {
-                    return (int) packet.getClass().getMethod("getEntityId").invoke(packet);
-                } catch (Exception e2) {
-                    // If methods fail, try to find a field with "entityId" in the name
-                    for (Field field : packet.getClass().getDeclaredFields()) {
-                        if (field.getName().toLowerCase().contains("entityid") || 
-                            field.getName().toLowerCase().contains("entity_id") ||
-                            field.getName().toLowerCase().contains("eid")) {
-                            field.setAccessible(true);
-                            return (int) field.get(packet);
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            // Silently fail and return -1
+    public DetectionStats getDetectionStats() {
+        return detectionStats;
+    }
+    
+    /**
+     * Get the trajectory tracker of the local bobber
+     */
+    public HookTrajectoryTracker getHookTrajectory() {
+        return hookTrajectory;
+    }
+    
+    /**
+     * Set the chat handler that alerts about sea creatures seen in the spawn packets
+     */
+    public void setChatHandler(ChatHandler chatHandler) {
+        this.chatHandler = chatHandler;
+    }
+    
+    /**
+     * Set the service that shows bite notifications
+     */
+    public void setNotifications(NotificationService notifications) {
+        this.notifications = notifications;
+    }
+    
+    /**
+     * Set the clock packets are stamped with, the tick driver's
+     */
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+    
+    /**
+     * Set the fishing state tracker and listen for casts
+     */
+    public void setStateTracker(FishingStateTracker stateTracker) {
+        this.stateTracker = stateTracker;
+        if (stateTracker != null) {
+            stateTracker.addListener(this);
         }
-        return -1;
+    }
+    
+    /**
+     * Get the fishing snapshot from the last client tick, safe to call from the packet thread
+     */
+    private FishingSnapshot currentSnapshot() {
+        FishingStateTracker tracker = stateTracker;
+        return tracker != null ? tracker.getSnapshot() : FishingSnapshot.EMPTY;
+    }
+    
+    /**
+     * Helper method to safely get entity ID from any packet
+     * The accessor for each packet class is looked up once and cached
+     */
+    private int getEntityIdFromPacket(Object packet) {
+        return EntityIdAccessors.getEntityId(packet);
+    }
+    
+    /**
+     * Create the packet interceptor for one connection
+     * @param onHypixel Inspect fishing packets, otherwise they are only counted
+     */
+    public ChannelDuplexHandler createChannelHandler(boolean onHypixel) {
+        return new FishingPacketHandler(onHypixel);
     }
     
     @SubscribeEvent
     public void onClientConnectedToServer(FMLNetworkEvent.ClientConnectedToServerEvent event) {
         try {
+            // Decide once per connection whether fishing packets need to be inspected at all
+            Minecraft mc = Minecraft.getMinecraft();
+            boolean onHypixel = !event.isLocal && mc != null && mc.getCurrentServerData() != null &&
+                                FishingUtils.isHypixelAddress(mc.getCurrentServerData().serverIP);
+            
             // Add our packet interceptor when client connects to server
-            event.manager.channel().pipeline().addBefore("packet_handler", "gofish_packet_handler", new FishingPacketHandler());
+            event.manager.channel().pipeline().addBefore("packet_handler", "gofish_packet_handler", createChannelHandler(onHypixel));
             
-            // Only try to send a message if the player is not null
-            if (GoFishConfig.enableDebugNotifications && Minecraft.getMinecraft() != null && Minecraft.getMinecraft().thePlayer != null) {
-                Minecraft.getMinecraft().thePlayer.addChatMessage(
-                    new ChatComponentText(formatColorCodes("&b[GoFish] &fPacket handler initialized"))
-                );
+            // Runs on the Netty thread, the notification service shows the message on the next client tick
+            if (GoFishConfig.enableDebugNotifications && notifications != null) {
+                notifications.post(NotificationService.CATEGORY_DEBUG, "&b[GoFish] &fPacket handler initialized");
             }
         } catch (Exception e) {
             // Log any errors that occur during initialization
@@ -138,149 +229,206 @@ public class PacketHandler {
     
     /**
      * Update the hook cast time to avoid false detections
+     * @param castTime Time the cast was detected by the state tracker
+     */
+    public void updateHookCastTime(long castTime) {
+        biteGate.onCast(castTime);
+        LOG.debug("Hook cast time updated");
+    }
+    
+    @Override
+    public void onCast(long time, int hookEntityId) {
+        updateHookCastTime(time);
+    }
+    
+    @Override
+    public void onReel(long time) {
+        // Nothing to do, bites are only accepted while the snapshot shows a hook
+    }
+    
+    /**
+     * Queue a bite decided on the packet thread for the client thread
      */
-    public void updateHookCastTime() {
-        lastHookCastTime = System.currentTimeMillis();
-        if (GoFishConfig.enableDebugNotifications) {
-            System.out.println(formatColorCodes("[GoFish] Hook cast time updated"));
+    private void onDetectedBite(int hookEntityId, int signalMask, long firstSignalTime, long time) {
+        if (isCapturing()) {
+            captureRing.record(time, PacketCaptureRing.KIND_BITE, hookEntityId, 0, signalMask, 0, 0, 0, 0, 0, 0);
         }
-        
-        // Update fishing hook entity ID
-        updateFishingHookEntityId();
+        eventQueue.offer(FishingEventQueue.EVENT_BITE, time, signalMask);
     }
     
     /**
-     * Update the fishing hook entity ID for packet analysis
+     * Queue a sea creature spotted on the packet thread for the client thread
      */
-    private void updateFishingHookEntityId() {
+    private void onSeaCreature(int entityId, String name, long time) {
+        eventQueue.offer(FishingEventQueue.EVENT_SEA_CREATURE, time, entityId, name);
+    }
+    
+    /**
+     * Drain the events queued by the packet thread, run by the tick driver as its first step
+     * Runs before the handlers' tick code so the fishing handler sees the events in the same tick, and without
+     * a player too, so events from the world that was left are dropped instead of handled in the next one.
+     */
+    public void drainEvents() {
         try {
-            // Get the fishing hook entity
-            net.minecraft.entity.projectile.EntityFishHook hook = FishingUtils.getFishingHook();
-            if (hook != null) {
-                fishingHookEntityId = hook.getEntityId();
-                if (GoFishConfig.enableDebugNotifications) {
-                    System.out.println(formatColorCodes("[GoFish] Fishing hook entity ID updated: " + fishingHookEntityId));
-                }
-            }
+            eventQueue.drain(eventConsumer);
         } catch (Exception e) {
-            System.err.println(formatColorCodes("[GoFish] Error updating fishing hook entity ID: " + e.getMessage()));
+            System.err.println(formatColorCodes("[GoFish] Error handling fishing event: " + e.getMessage()));
         }
     }
     
     /**
-     * Start logging packets for a short duration
+     * Handle a single event from the packet thread (client thread only)
      */
-    public void startPacketLogging() {
-        packetLoggingStartTime = System.currentTimeMillis();
-        if (GoFishConfig.enableDebugNotifications && Minecraft.getMinecraft() != null && Minecraft.getMinecraft().thePlayer != null) {
-            Minecraft.getMinecraft().thePlayer.addChatMessage(
-                new ChatComponentText(formatColorCodes("&b[GoFish] &fStarted packet logging for " + (packetLoggingDuration / 1000) + " seconds"))
-            );
+    private void handleFishingEvent(int type, long time, double value, Object payload) {
+        Minecraft mc = Minecraft.getMinecraft();
+        if (mc == null || mc.thePlayer == null) return;
+        
+        switch (type) {
+            case FishingEventQueue.EVENT_BITE:
+                handleBite(time, value);
+                break;
+            case FishingEventQueue.EVENT_SEA_CREATURE:
+                if (chatHandler != null) {
+                    chatHandler.onSeaCreatureSpawned((String) payload, time);
+                }
+                break;
+            default:
+                break;
         }
     }
     
     /**
-     * Log packet types during the logging duration
+     * Check a bite from the packet thread and pass it on to the fishing handler
      */
-    private void logPacketType(Packet packet) {
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - packetLoggingStartTime < packetLoggingDuration) {
-            String packetType = packet.getClass().getSimpleName();
+    private void handleBite(long time, double value) {
+        // Drop bites right after the cast or another bite
+        int decision = biteGate.check(time, settings.getCastIgnoreTime(), settings.getBiteCooldown());
+        detectionStats.record(decision, DetectionStats.PACKET_BITE);
+        if (decision != DetectionStats.ACCEPTED) {
+            return;
+        }
+        
+        if (notifications != null) {
+            if (GoFishConfig.enableDebugNotifications) {
+                int signals = (int) value;
+                StringBuilder detail = new StringBuilder("Detected bite from:");
+                if (BiteSignalFusion.hasSignal(signals, BiteSignalFusion.SIGNAL_SOUND)) detail.append(" splash sound");
+                if (BiteSignalFusion.hasSignal(signals, BiteSignalFusion.SIGNAL_PARTICLE)) detail.append(" splash particles");
+                if (BiteSignalFusion.hasSignal(signals, BiteSignalFusion.SIGNAL_VELOCITY)) detail.append(" hook velocity");
+                notifications.post(NotificationService.CATEGORY_DEBUG, "&b[GoFish] &f" + detail);
+            }
             
-            // Only log each packet type once to avoid spam
-            if (!loggedPacketTypes.contains(packetType)) {
-                loggedPacketTypes.add(packetType);
-                System.out.println(formatColorCodes("[GoFish] Detected packet type: " + packetType));
-                
-                // Also show in chat if debug mode is on
-                if (GoFishConfig.enableDebugNotifications && Minecraft.getMinecraft() != null && Minecraft.getMinecraft().thePlayer != null) {
-                    Minecraft.getMinecraft().thePlayer.addChatMessage(
-                        new ChatComponentText(formatColorCodes("&b[GoFish] &fDetected packet: &e" + packetType))
-                    );
-                }
+            // Only show notification if enabled
+            if (GoFishConfig.showFishCaughtMessages) {
+                // Notify the player that a fish was caught
+                notifications.post(NotificationService.CATEGORY_FISHING, "&b[GoFish] &fFish on the hook! Reel it in!");
             }
             
-            // Log detailed information for specific packet types
-            logDetailedPacketInfo(packet);
+            // Play sound if enabled
+            if (GoFishConfig.playSoundOnFishCaught) {
+                notifications.playSound(NotificationService.CATEGORY_FISHING, "random.orb");
+            }
+        }
+        
+        // Call the fishing handler's onFishBite method
+        if (fishingHandler != null) {
+            fishingHandler.onFishBite(time);
         }
     }
     
     /**
-     * Log detailed information for specific packet types that might be related to fishing
+     * Get the packet capture ring
      */
-    private void logDetailedPacketInfo(Packet packet) {
-        try {
-            if (packet instanceof S29PacketSoundEffect) {
-                S29PacketSoundEffect soundPacket = (S29PacketSoundEffect) packet;
-                String soundName = soundPacket.getSoundName();
-                float volume = soundPacket.getVolume();
-                float pitch = soundPacket.getPitch();
-                
-                System.out.println(formatColorCodes("[GoFish] Sound packet: " + soundName + 
-                                   " (volume=" + volume + ", pitch=" + pitch + ")"));
-                
-                // Also show in chat if debug mode is on
-                if (GoFishConfig.enableDebugNotifications && Minecraft.getMinecraft() != null && Minecraft.getMinecraft().thePlayer != null) {
-                    Minecraft.getMinecraft().thePlayer.addChatMessage(
-                        new ChatComponentText(formatColorCodes("&b[GoFish] &fSound: &e" + soundName + 
-                                             " &f(volume=" + volume + ", pitch=" + pitch + ")"))
-                    );
-                }
-            } else if (packet instanceof S2APacketParticles) {
-                S2APacketParticles particlePacket = (S2APacketParticles) packet;
-                EnumParticleTypes particleType = particlePacket.getParticleType();
-                
-                System.out.println(formatColorCodes("[GoFish] Particle packet: " + particleType.getParticleName()));
-                
-                // Also show in chat if debug mode is on
-                if (GoFishConfig.enableDebugNotifications && Minecraft.getMinecraft() != null && Minecraft.getMinecraft().thePlayer != null) {
-                    Minecraft.getMinecraft().thePlayer.addChatMessage(
-                        new ChatComponentText(formatColorCodes("&b[GoFish] &fParticle: &e" + particleType.getParticleName()))
-                    );
-                }
-            } else if (packet instanceof S12PacketEntityVelocity) {
-                S12PacketEntityVelocity velocityPacket = (S12PacketEntityVelocity) packet;
-                int entityId = velocityPacket.getEntityID();
-                double motionX = velocityPacket.getMotionX() / 8000.0;
-                double motionY = velocityPacket.getMotionY() / 8000.0;
-                double motionZ = velocityPacket.getMotionZ() / 8000.0;
-                
-                System.out.println(formatColorCodes("[GoFish] Velocity packet: entityId=" + entityId + 
-                                   " (motionX=" + String.format("%.2f", motionX) + 
-                                   ", motionY=" + String.format("%.2f", motionY) + 
-                                   ", motionZ=" + String.format("%.2f", motionZ) + ")"));
-                
-                // Also show in chat if debug mode is on
-                if (GoFishConfig.enableDebugNotifications && Minecraft.getMinecraft() != null && Minecraft.getMinecraft().thePlayer != null) {
-                    Minecraft.getMinecraft().thePlayer.addChatMessage(
-                        new ChatComponentText(formatColorCodes("&b[GoFish] &fVelocity: entityId=" + entityId + 
-                                             " &f(motionY=" + String.format("%.2f", motionY) + ")"))
-                    );
-                }
-            }
-        } catch (Exception e) {
-            // Silently ignore errors in packet logging
-        }
+    public PacketCaptureRing getCaptureRing() {
+        return captureRing;
+    }
+    
+    /**
+     * Write the captured packets to a new file in the captures folder
+     * @return the file the capture was written to
+     */
+    public File dumpCapture() throws Exception {
+        File captureDir = new File(Minecraft.getMinecraft().mcDataDir, "gofish/captures");
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File captureFile = new File(captureDir, "capture-" + timestamp + ".bin");
+        
+        int records = captureRing.dump(captureFile);
+        System.out.println("[GoFish] Wrote " + records + " captured packets to " + captureFile.getPath());
+        return captureFile;
+    }
+    
+    /**
+     * Check if packets should be captured right now
+     */
+    private static boolean isCapturing() {
+        return GoFishConfig.enablePacketLogging;
+    }
+    
+    /**
+     * Handler for a single packet class in the dispatch table
+     */
+    private interface PacketRoute<T> {
+        void handle(T packet);
     }
     
     /**
      * Inner class to handle packet interception
      */
     private class FishingPacketHandler extends ChannelDuplexHandler {
+        
+        // Packet class -> handler, built once per connection. Packets without a route are passed straight through.
+        private final Map<Class<?>, PacketRoute<Object>> routes = new HashMap<>();
+        
+        // Bobber tracking and bite decisions for this connection, only touched on the Netty thread
+        private final BiteDetector detector = new BiteDetector(settings, PacketHandler.this::currentSnapshot,
+                                                               detectionStats, hookTrajectory, PacketHandler.this::onDetectedBite);
+        
+        // Sea creatures surfacing at our bobber, shares the bobber positions of the bite detection
+        private final SeaCreatureDetector seaCreatures = new SeaCreatureDetector(detector.getBobbers(), PacketHandler.this::onSeaCreature);
+        
+        FishingPacketHandler(boolean onHypixel) {
+            // Only inspect fishing packets on Hypixel
+            if (onHypixel) {
+                route(S29PacketSoundEffect.class, this::handleSoundPacket);
+                route(S2APacketParticles.class, this::handleParticlePacket);
+                route(S12PacketEntityVelocity.class, this::handleVelocityPacket);
+                
+                // Bobber tracking
+                route(S01PacketJoinGame.class, this::handleJoinGamePacket);
+                route(S07PacketRespawn.class, this::handleRespawnPacket);
+                route(S0EPacketSpawnObject.class, this::handleSpawnObjectPacket);
+                route(S13PacketDestroyEntities.class, this::handleDestroyEntitiesPacket);
+                route(S14PacketEntity.S15PacketEntityRelMove.class, this::handleEntityMovePacket);
+                route(S14PacketEntity.S17PacketEntityLookMove.class, this::handleEntityMovePacket);
+                // Look-only moves can still carry the ground flag of a landed hook
+                route(S14PacketEntity.S16PacketEntityLook.class, this::handleEntityMovePacket);
+                route(S18PacketEntityTeleport.class, this::handleEntityTeleportPacket);
+                
+                // Sea creatures and their nametags, seen before the chat line announces them
+                route(S0FPacketSpawnMob.class, this::handleSpawnMobPacket);
+                route(S1CPacketEntityMetadata.class, this::handleEntityMetadataPacket);
+                
+                // Only recorded, catch messages tell the capture replay which bites were real
+                route(S02PacketChat.class, this::handleChatPacket);
+            } else {
+                // Only count what the Hypixel gate skips
+                route(S29PacketSoundEffect.class, packet -> detectionStats.record(DetectionStats.NOT_ON_HYPIXEL, DetectionStats.PACKET_SOUND));
+                route(S2APacketParticles.class, packet -> detectionStats.record(DetectionStats.NOT_ON_HYPIXEL, DetectionStats.PACKET_PARTICLE));
+                route(S12PacketEntityVelocity.class, packet -> detectionStats.record(DetectionStats.NOT_ON_HYPIXEL, DetectionStats.PACKET_VELOCITY));
+            }
+        }
+        
+        @SuppressWarnings("unchecked")
+        private <T> void route(Class<T> packetClass, PacketRoute<? super T> route) {
+            routes.put(packetClass, (PacketRoute<Object>) route);
+        }
+        
         @Override
         public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
             try {
-                // Process incoming packets
-                if (msg instanceof Packet && Minecraft.getMinecraft() != null && Minecraft.getMinecraft().thePlayer != null) {
-                    // Log packet types if logging is active
-                    if (System.currentTimeMillis() - packetLoggingStartTime < packetLoggingDuration) {
-                        logPacketType((Packet) msg);
-                    }
-                    
-                    // Use a more relaxed check - just verify we're on Hypixel
-                    if (FishingUtils.isOnHypixel() && isFishingPacket(msg)) {
-                        handleFishingPacket((Packet) msg);
-                    }
+                PacketRoute<Object> route = routes.get(msg.getClass());
+                if (route != null) {
+                    route.handle(msg);
                 }
             } catch (Exception e) {
                 // Log any errors but don't crash the game
@@ -293,235 +441,187 @@ public class PacketHandler {
         
         @Override
         public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
-            // Process outgoing packets if needed
+            // Record rod clicks so a capture shows when the player cast and reeled
+            if (msg instanceof C08PacketPlayerBlockPlacement && isCapturing()) {
+                try {
+                    recordUseItem((C08PacketPlayerBlockPlacement) msg);
+                } catch (Exception e) {
+                    System.err.println(formatColorCodes("[GoFish] Error processing packet: " + e.getMessage()));
+                }
+            }
+            
             super.write(ctx, msg, promise);
         }
         
+        private void recordUseItem(C08PacketPlayerBlockPlacement placementPacket) {
+            if (placementPacket.getPlacedBlockDirection() != USE_ITEM_DIRECTION) return;
+            
+            ItemStack stack = placementPacket.getStack();
+            boolean holdingRod = stack != null && stack.getItem() instanceof ItemFishingRod;
+            captureRing.record(clock.millis(), PacketCaptureRing.KIND_USE_ITEM, EntityIdAccessors.NO_ENTITY_ID,
+                               holdingRod ? 1 : 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        
         /**
-         * Determine if a packet is related to fishing
+         * Splash sounds near the hook indicate a bite
+         * Runs on the Netty thread, so detected bites are only queued for the client thread
          */
-        private boolean isFishingPacket(Object packet) {
-            // Safety check
-            if (Minecraft.getMinecraft() == null || Minecraft.getMinecraft().thePlayer == null) {
-                return false;
+        private void handleSoundPacket(S29PacketSoundEffect soundPacket) {
+            long currentTime = clock.millis();
+            String soundName = soundPacket.getSoundName();
+            if (isCapturing()) {
+                captureRing.record(currentTime, PacketCaptureRing.KIND_SOUND, EntityIdAccessors.NO_ENTITY_ID,
+                                   captureRing.getSoundId(soundName), 0,
+                                   soundPacket.getX(), soundPacket.getY(), soundPacket.getZ(), 0, 0, 0);
             }
             
-            // Only process fishing packets if the player is actually fishing
-            if (!FishingUtils.isPlayerFishing()) {
-                // If player just started fishing, update the cast time
-                if (packet instanceof S29PacketSoundEffect) {
-                    S29PacketSoundEffect soundPacket = (S29PacketSoundEffect) packet;
-                    String soundName = soundPacket.getSoundName();
-                    
-                    // If we hear a splash and we're not currently fishing, it might be a new cast
-                    if ((soundName.equals(SPLASH_SOUND) || soundName.equals(WATER_SPLASH_SOUND))) {
-                        updateHookCastTime();
-                    }
-                }
-                return false;
+            detector.onSound(soundName, soundPacket.getX(), soundPacket.getY(), soundPacket.getZ(), currentTime);
+        }
+        
+        /**
+         * Water splash particles often appear when a fish bites
+         */
+        private void handleParticlePacket(S2APacketParticles particlePacket) {
+            long currentTime = clock.millis();
+            int particleId = particlePacket.getParticleType().getParticleID();
+            if (isCapturing()) {
+                captureRing.record(currentTime, PacketCaptureRing.KIND_PARTICLE, EntityIdAccessors.NO_ENTITY_ID,
+                                   particleId, particlePacket.getParticleCount(),
+                                   particlePacket.getXCoordinate(), particlePacket.getYCoordinate(), particlePacket.getZCoordinate(), 0, 0, 0);
             }
             
-            // Only process if notifications are enabled
-            if (!GoFishConfig.enableNotifications) {
-                return false;
+            detector.onParticle(particleId, particlePacket.getXCoordinate(), particlePacket.getYCoordinate(),
+                                particlePacket.getZCoordinate(), currentTime);
+        }
+        
+        /**
+         * A sudden vertical velocity change of our hook indicates a bite
+         */
+        private void handleVelocityPacket(S12PacketEntityVelocity velocityPacket) {
+            long currentTime = clock.millis();
+            if (isCapturing()) {
+                captureRing.record(currentTime, PacketCaptureRing.KIND_VELOCITY, velocityPacket.getEntityID(), 0, 0, 0, 0, 0,
+                                   velocityPacket.getMotionX(), velocityPacket.getMotionY(), velocityPacket.getMotionZ());
             }
             
-            // Ignore packets that are too close to the cast time
-            if (System.currentTimeMillis() - lastHookCastTime < GoFishConfig.castIgnoreTime) {
-                return false;
+            detector.onVelocity(velocityPacket.getEntityID(), velocityPacket.getMotionY(), currentTime);
+        }
+        
+        /**
+         * The join packet carries our own entity ID, which owns our bobber
+         */
+        private void handleJoinGamePacket(S01PacketJoinGame joinPacket) {
+            if (isCapturing()) {
+                captureRing.record(clock.millis(), PacketCaptureRing.KIND_JOIN_GAME, joinPacket.getEntityId(), 0, 0, 0, 0, 0, 0, 0, 0);
             }
             
-            // Check for splash sound effect packet
-            if (packet instanceof S29PacketSoundEffect) {
-                S29PacketSoundEffect soundPacket = (S29PacketSoundEffect) packet;
-                String soundName = soundPacket.getSoundName();
-                
-                // Check for various splash sounds that might indicate a fish bite
-                return soundName.equals(SPLASH_SOUND) || soundName.equals(WATER_SPLASH_SOUND);
+            detector.onJoinGame(joinPacket.getEntityId());
+            seaCreatures.clear();
+        }
+        
+        private void handleRespawnPacket(S07PacketRespawn respawnPacket) {
+            if (isCapturing()) {
+                captureRing.record(clock.millis(), PacketCaptureRing.KIND_RESPAWN, EntityIdAccessors.NO_ENTITY_ID,
+                                   respawnPacket.getDimensionID(), 0, 0, 0, 0, 0, 0, 0);
             }
             
-            // Check for water splash particles
-            if (packet instanceof S2APacketParticles) {
-                S2APacketParticles particlePacket = (S2APacketParticles) packet;
-                
-                // Water splash particles often appear when a fish bites
-                if (particlePacket.getParticleType() == EnumParticleTypes.WATER_SPLASH) {
-                    return true;
-                }
+            detector.onRespawn();
+            seaCreatures.clear();
+        }
+        
+        private void handleSpawnObjectPacket(S0EPacketSpawnObject spawnPacket) {
+            long currentTime = clock.millis();
+            if (isCapturing()) {
+                captureRing.record(currentTime, PacketCaptureRing.KIND_SPAWN_OBJECT, spawnPacket.getEntityID(),
+                                   spawnPacket.getType(), spawnPacket.func_149009_m(),
+                                   spawnPacket.getX() / 32.0, spawnPacket.getY() / 32.0, spawnPacket.getZ() / 32.0,
+                                   spawnPacket.getSpeedX(), spawnPacket.getSpeedY(), spawnPacket.getSpeedZ());
             }
             
-            // Check for entity velocity changes for the fishing hook
-            if (packet instanceof S12PacketEntityVelocity && fishingHookEntityId != -1) {
-                S12PacketEntityVelocity velocityPacket = (S12PacketEntityVelocity) packet;
-                if (velocityPacket.getEntityID() == fishingHookEntityId) {
-                    // If the hook has significant vertical velocity, it might be a bite
-                    double motionY = velocityPacket.getMotionY() / 8000.0;
-                    if (Math.abs(motionY) > 0.2) {
-                        return true;
-                    }
+            detector.onSpawnObject(spawnPacket.getEntityID(), spawnPacket.getType(), spawnPacket.func_149009_m(),
+                                   spawnPacket.getX(), spawnPacket.getY(), spawnPacket.getZ(), currentTime);
+            seaCreatures.onSpawnObject(spawnPacket.getEntityID(), spawnPacket.getType(),
+                                       spawnPacket.getX(), spawnPacket.getY(), spawnPacket.getZ(), currentTime);
+        }
+        
+        private void handleDestroyEntitiesPacket(S13PacketDestroyEntities destroyPacket) {
+            if (isCapturing()) {
+                long currentTime = clock.millis();
+                for (int entityId : destroyPacket.getEntityIDs()) {
+                    captureRing.record(currentTime, PacketCaptureRing.KIND_DESTROY, entityId, 0, 0, 0, 0, 0, 0, 0, 0);
                 }
             }
             
-            return false;
+            for (int entityId : destroyPacket.getEntityIDs()) {
+                detector.onDestroyEntity(entityId);
+                seaCreatures.onDestroyEntity(entityId);
+            }
+        }
+        
+        private void handleEntityMovePacket(S14PacketEntity movePacket) {
+            long currentTime = clock.millis();
+            int entityId = getEntityIdFromPacket(movePacket);
+            if (isCapturing()) {
+                captureRing.record(currentTime, PacketCaptureRing.KIND_MOVE, entityId,
+                                   movePacket.getOnGround() ? 1 : 0, 0, 0, 0, 0,
+                                   movePacket.func_149062_c(), movePacket.func_149061_d(), movePacket.func_149064_e());
+            }
+            
+            detector.onEntityMove(entityId, movePacket.func_149062_c(), movePacket.func_149061_d(), movePacket.func_149064_e(),
+                                  movePacket.getOnGround(), currentTime);
+            // Moves arrive every tick, so a mob that never gets a nametag is still reported in time
+            seaCreatures.expire(currentTime);
+        }
+        
+        private void handleEntityTeleportPacket(S18PacketEntityTeleport teleportPacket) {
+            long currentTime = clock.millis();
+            if (isCapturing()) {
+                captureRing.record(currentTime, PacketCaptureRing.KIND_TELEPORT, teleportPacket.getEntityId(),
+                                   teleportPacket.getOnGround() ? 1 : 0, 0,
+                                   teleportPacket.getX() / 32.0, teleportPacket.getY() / 32.0, teleportPacket.getZ() / 32.0, 0, 0, 0);
+            }
+            
+            detector.onEntityTeleport(teleportPacket.getEntityId(), teleportPacket.getX(), teleportPacket.getY(),
+                                      teleportPacket.getZ(), teleportPacket.getOnGround(), currentTime);
+        }
+        
+        private void handleSpawnMobPacket(S0FPacketSpawnMob spawnPacket) {
+            seaCreatures.onSpawnMob(spawnPacket.getEntityID(), spawnPacket.getX(), spawnPacket.getY(), spawnPacket.getZ(),
+                                    getCustomName(spawnPacket.func_149027_c()), clock.millis());
         }
         
         /**
-         * Handle fishing-related packets
+         * Nametags of armor stands arrive in a metadata packet right after their spawn
          */
-        private void handleFishingPacket(Packet packet) {
-            // Safety check
-            if (Minecraft.getMinecraft() == null || Minecraft.getMinecraft().thePlayer == null) {
-                return;
-            }
+        private void handleEntityMetadataPacket(S1CPacketEntityMetadata metadataPacket) {
+            if (seaCreatures.getCandidateCount() == 0) return;
             
-            // Check for cooldown to prevent spam
-            long currentTime = System.currentTimeMillis();
-            if (currentTime - lastBiteTime < GoFishConfig.biteCooldown) {
-                return;
+            String customName = getCustomName(metadataPacket.func_149376_c());
+            if (customName != null) {
+                seaCreatures.onEntityName(metadataPacket.getEntityId(), customName, clock.millis());
             }
+        }
+        
+        /**
+         * Get the custom name out of an entity's metadata
+         * @return The name, or null if the metadata doesn't set one
+         */
+        private String getCustomName(List<DataWatcher.WatchableObject> metadata) {
+            if (metadata == null) return null;
             
-            if (packet instanceof S29PacketSoundEffect) {
-                S29PacketSoundEffect soundPacket = (S29PacketSoundEffect) packet;
-                
-                // Get the coordinates of the sound
-                double x = soundPacket.getX();
-                double y = soundPacket.getY();
-                double z = soundPacket.getZ();
-                
-                // Get fishing hook position
-                net.minecraft.entity.projectile.EntityFishHook fishHook = FishingUtils.getFishingHook();
-                if (fishHook == null) return;
-                
-                double hookX = fishHook.posX;
-                double hookY = fishHook.posY;
-                double hookZ = fishHook.posZ;
-                
-                // Calculate distance between sound and fishing hook
-                double distance = Math.sqrt(
-                    Math.pow(x - hookX, 2) + 
-                    Math.pow(y - hookY, 2) + 
-                    Math.pow(z - hookZ, 2)
-                );
-                
-                // If the splash is close to the fishing hook (likely a fish bite)
-                // Use a larger detection radius for Hypixel
-                if (distance < 2.0) {
-                    lastBiteTime = currentTime;
-                    
-                    if (GoFishConfig.enableDebugNotifications) {
-                        Minecraft.getMinecraft().thePlayer.addChatMessage(
-                            new ChatComponentText(formatColorCodes("&b[GoFish] &fDetected splash near hook: distance=" + 
-                                                 String.format("%.2f", distance)))
-                        );
-                    }
-                    
-                    // Only show notification if enabled
-                    if (GoFishConfig.showFishCaughtMessages) {
-                        // Notify the player that a fish was caught
-                        Minecraft.getMinecraft().thePlayer.addChatMessage(
-                            new ChatComponentText(formatColorCodes("&b[GoFish] &fFish on the hook! Reel it in!"))
-                        );
-                    }
-                    
-                    // Play sound if enabled
-                    if (GoFishConfig.playSoundOnFishCaught) {
-                        Minecraft.getMinecraft().thePlayer.playSound("random.orb", 1.0F, 1.0F);
-                    }
-                    
-                    // Call the fishing handler's onFishBite method
-                    if (fishingHandler != null) {
-                        fishingHandler.onFishBite();
-                    }
-                }
-            } else if (packet instanceof S2APacketParticles) {
-                S2APacketParticles particlePacket = (S2APacketParticles) packet;
-                
-                // Get the coordinates of the particles
-                double x = particlePacket.getXCoordinate();
-                double y = particlePacket.getYCoordinate();
-                double z = particlePacket.getZCoordinate();
-                
-                // Get fishing hook position
-                net.minecraft.entity.projectile.EntityFishHook fishHook = FishingUtils.getFishingHook();
-                if (fishHook == null) return;
-                
-                double hookX = fishHook.posX;
-                double hookY = fishHook.posY;
-                double hookZ = fishHook.posZ;
-                
-                // Calculate distance between particles and fishing hook
-                double distance = Math.sqrt(
-                    Math.pow(x - hookX, 2) + 
-                    Math.pow(y - hookY, 2) + 
-                    Math.pow(z - hookZ, 2)
-                );
-                
-                // If the particles are close to the fishing hook (likely a fish bite)
-                if (distance < 1.5) {
-                    lastBiteTime = currentTime;
-                    
-                    if (GoFishConfig.enableDebugNotifications) {
-                        Minecraft.getMinecraft().thePlayer.addChatMessage(
-                            new ChatComponentText(formatColorCodes("&b[GoFish] &fDetected particles near hook: distance=" + 
-                                                 String.format("%.2f", distance)))
-                        );
-                    }
-                    
-                    // Only show notification if enabled
-                    if (GoFishConfig.showFishCaughtMessages) {
-                        // Notify the player that a fish was caught
-                        Minecraft.getMinecraft().thePlayer.addChatMessage(
-                            new ChatComponentText(formatColorCodes("&b[GoFish] &fFish on the hook! Reel it in!"))
-                        );
-                    }
-                    
-                    // Play sound if enabled
-                    if (GoFishConfig.playSoundOnFishCaught) {
-                        Minecraft.getMinecraft().thePlayer.playSound("random.orb", 1.0F, 1.0F);
-                    }
-                    
-                    // Call the fishing handler's onFishBite method
-                    if (fishingHandler != null) {
-                        fishingHandler.onFishBite();
-                    }
-                }
-            } else if (packet instanceof S12PacketEntityVelocity && fishingHookEntityId != -1) {
-                S12PacketEntityVelocity velocityPacket = (S12PacketEntityVelocity) packet;
-                
-                if (velocityPacket.getEntityID() == fishingHookEntityId) {
-                    double motionY = velocityPacket.getMotionY() / 8000.0;
-                    
-                    // If the hook has significant vertical velocity, it might be a bite
-                    if (Math.abs(motionY) > 0.2) {
-                        lastBiteTime = currentTime;
-                        
-                        if (GoFishConfig.enableDebugNotifications) {
-                            Minecraft.getMinecraft().thePlayer.addChatMessage(
-                                new ChatComponentText(formatColorCodes("&b[GoFish] &fDetected hook velocity change: motionY=" + 
-                                                     String.format("%.2f", motionY)))
-                            );
-                        }
-                        
-                        // Only show notification if enabled
-                        if (GoFishConfig.showFishCaughtMessages) {
-                            // Notify the player that a fish was caught
-                            Minecraft.getMinecraft().thePlayer.addChatMessage(
-                                new ChatComponentText(formatColorCodes("&b[GoFish] &fFish on the hook! Reel it in!"))
-                            );
-                        }
-                        
-                        // Play sound if enabled
-                        if (GoFishConfig.playSoundOnFishCaught) {
-                            Minecraft.getMinecraft().thePlayer.playSound("random.orb", 1.0F, 1.0F);
-                        }
-                        
-                        // Call the fishing handler's onFishBite method
-                        if (fishingHandler != null) {
-                            fishingHandler.onFishBite();
-                        }
-                    }
+            for (DataWatcher.WatchableObject entry : metadata) {
+                if (entry.getDataValueId() == SeaCreatureDetector.CUSTOM_NAME_INDEX && entry.getObject() instanceof String) {
+                    return (String) entry.getObject();
                 }
             }
+            return null;
+        }
+        
+        private void handleChatPacket(S02PacketChat chatPacket) {
+            if (!isCapturing() || chatPacket.getChatComponent() == null) return;
+            
+            captureRing.recordChat(clock.millis(), chatPacket.getType(),
+                                   chatPacket.getChatComponent().getUnformattedText());
         }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,16 +1,16 @@
 package com.example.gofish.handlers;
 
 import com.example.gofish.config.GoFishConfig;
+import com.example.gofish.core.DebugLog;
 import net.minecraft.client.Minecraft;
-import net.minecraft.util.ChatComponentText;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 /**
  * Handler class to monitor player position and rotation for safety features
  * If player moves or looks too far from original position, auto-fishing will be disabled
  */
-public class PositionTracker {
+public class PositionTracker implements TickDriver.TickListener {
+    
+    private static final DebugLog LOG = DebugLog.get("Position");
     
     // Track player position
     private double lastX = 0;
@@ -26,29 +26,22 @@ public class PositionTracker {
     private boolean movementDetected = false;
     private boolean rotationDetected = false;
     
-    /**
-     * Convert & color codes to § color codes
-     */
-    private static String formatColorCodes(String message) {
-        char sectionSign = '\u00A7';
-        return message.replace('&', sectionSign);
-    }
+    // Shared chat and sound output
+    private NotificationService notifications = null;
     
     /**
-     * Helper method to send debug messages to chat
+     * Set the service that shows this handler's messages
      */
-    private void sendDebugMessage(Minecraft mc, String message) {
-        if (GoFishConfig.enableDebugNotifications && mc != null && mc.thePlayer != null) {
-            mc.thePlayer.addChatMessage(new ChatComponentText(formatColorCodes("&7[GoFish Debug] &f" + message)));
-        }
+    public void setNotifications(NotificationService notifications) {
+        this.notifications = notifications;
     }
     
     /**
      * Send notification message to chat
      */
     private void sendNotification(Minecraft mc, String message) {
-        if (mc != null && mc.thePlayer != null) {
-            mc.thePlayer.addChatMessage(new ChatComponentText(formatColorCodes("&c[GoFish] &f" + message)));
+        if (notifications != null) {
+            notifications.post(NotificationService.CATEGORY_STATUS, "&c[GoFish] &f" + message);
         }
     }
     
@@ -81,32 +74,26 @@ public class PositionTracker {
         return "Unknown";
     }
     
-    @SubscribeEvent
-    public void onClientTick(TickEvent.ClientTickEvent event) {
+    /**
+     * Compare the player's position and rotation with where tracking started, every tick
+     */
+    @Override
+    public void onTick(Minecraft mc, long now) {
         try {
-            // Only process on the client phase END
-            if (event.phase != TickEvent.Phase.END) return;
-            
             // Only track if auto-catch is enabled
             if (!GoFishConfig.enableAutoCatch) {
                 resetTracking();
                 return;
             }
             
-            // Safety check for Minecraft instance
-            Minecraft mc = Minecraft.getMinecraft();
-            if (mc == null || mc.thePlayer == null) {
-                return;
-            }
-            
             // Track position
             if (!positionInitialized) {
                 lastX = mc.thePlayer.posX;
                 lastZ = mc.thePlayer.posZ;
                 positionInitialized = true;
                 
-                if (GoFishConfig.enableDebugNotifications) {
-                    sendDebugMessage(mc, "Initialized position tracking at X: " + lastX + ", Z: " + lastZ);
+                if (LOG.isEnabled()) {
+                    LOG.debug("Initialized position tracking at X: {}, Z: {}", lastX, lastZ);
                 }
             } else {
                 // Check if player moved
@@ -121,7 +108,7 @@ public class PositionTracker {
                     && GoFishConfig.enableSafetyFeatures) {
                     if (!movementDetected) {
                         sendNotification(mc, "Movement detected! Auto-fishing disabled for safety.");
-                        sendDebugMessage(mc, "Movement of " + deltaX + ", " + deltaZ + " blocks detected!");
+                        LOG.debug("Movement of {}, {} blocks detected", deltaX, deltaZ);
                         movementDetected = true;
                     }
                 }
@@ -133,8 +120,8 @@ public class PositionTracker {
                 lastPitch = mc.thePlayer.rotationPitch;
                 rotationInitialized = true;
                 
-                if (GoFishConfig.enableDebugNotifications) {
-                    sendDebugMessage(mc, "Initialized rotation tracking at Yaw: " + lastYaw + ", Pitch: " + lastPitch);
+                if (LOG.isEnabled()) {
+                    LOG.debug("Initialized rotation tracking at Yaw: {}, Pitch: {}", lastYaw, lastPitch);
                 }
             } else {
                 // Check if player rotated too far
@@ -156,7 +143,7 @@ public class PositionTracker {
                 if ((yawDiff > allowedRotation || pitchDiff > allowedRotation) && GoFishConfig.enableSafetyFeatures) {
                     if (!rotationDetected) {
                         sendNotification(mc, "Looking too far from original view! Auto-fishing disabled for safety.");
-                        sendDebugMessage(mc, "Rotation of " + yawDiff + " yaw, " + pitchDiff + " pitch detected!");
+                        LOG.debug("Rotation of {} yaw, {} pitch detected", yawDiff, pitchDiff);
                         rotationDetected = true;
                     }
                 }
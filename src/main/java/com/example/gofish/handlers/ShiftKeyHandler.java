@@ -1,28 +1,41 @@
 package com.example.gofish.handlers;
 
 import com.example.gofish.config.GoFishConfig;
+import com.example.gofish.core.DebugLog;
+import com.example.gofish.core.TimerWheel;
 import com.example.gofish.utils.FishingUtils;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.settings.KeyBinding;
-import net.minecraft.util.ChatComponentText;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 import java.util.Random;
 
 /**
  * Handler for periodically holding down the shift key
  * This simulates a player sneaking occasionally to appear more human-like
+ * Runs from a single timer on the tick driver's wheel, due at the next press or at the end of the current one.
  */
 public class ShiftKeyHandler {
     
+    private static final DebugLog LOG = DebugLog.get("Shift");
+    
+    // How long to wait before looking at the config and the rod again
+    private static final long RECHECK_INTERVAL = 1000;
+    
     // Random number generator
     private final Random random = new Random();
     
+    // Starts the next shift hold, or ends the current one
+    private final TimerWheel timers;
+    private final TimerWheel.Timer shiftTimer;
+    
     // State tracking
     private boolean isHoldingShift = false;
-    private long nextShiftTime = 0;
-    private long shiftEndTime = 0;
+    
+    public ShiftKeyHandler(TickDriver tickDriver) {
+        this.timers = tickDriver.getTimers();
+        this.shiftTimer = timers.newTimer("shift", this::onShiftTimer);
+        scheduleNextShift(tickDriver.getClock().millis());
+    }
     
     /**
      * Public method to check if shift is currently active
@@ -32,47 +45,23 @@ public class ShiftKeyHandler {
         return isHoldingShift;
     }
     
-    /**
-     * Convert & color codes to § color codes
-     * @param message The message with & color codes
-     * @return The message with § color codes
-     */
-    private static String formatColorCodes(String message) {
-        char sectionSign = '\u00A7';
-        return message.replace('&', sectionSign);
-    }
-    
-    /**
-     * Helper method to send debug messages to chat
-     */
-    private void sendDebugMessage(Minecraft mc, String message) {
-        if (GoFishConfig.enableDebugNotifications && mc != null && mc.thePlayer != null) {
-            mc.thePlayer.addChatMessage(new ChatComponentText(formatColorCodes("&7[GoFish Debug] &f" + message)));
-        }
-    }
-    
     /**
      * Schedule the next shift key press
      */
-    private void scheduleNextShift() {
+    private void scheduleNextShift(long now) {
         // Calculate random delay between min and max
         int delay = GoFishConfig.minShiftInterval + 
                   random.nextInt(GoFishConfig.maxShiftInterval - GoFishConfig.minShiftInterval + 1);
         
-        nextShiftTime = System.currentTimeMillis() + delay;
+        timers.schedule(shiftTimer, now + delay);
         
-        if (GoFishConfig.enableDebugNotifications) {
-            Minecraft mc = Minecraft.getMinecraft();
-            if (mc != null && mc.thePlayer != null) {
-                sendDebugMessage(mc, "Next shift scheduled in " + (delay / 1000) + " seconds");
-            }
-        }
+        LOG.debug("Next shift scheduled in {} seconds", delay / 1000);
     }
     
     /**
      * Start holding the shift key
      */
-    private void startShiftHold(Minecraft mc) {
+    private void startShiftHold(Minecraft mc, long now) {
         if (mc == null || mc.thePlayer == null) return;
         
         // Calculate random duration between min and max
@@ -81,20 +70,18 @@ public class ShiftKeyHandler {
         
         // Set state
         isHoldingShift = true;
-        shiftEndTime = System.currentTimeMillis() + duration;
+        timers.schedule(shiftTimer, now + duration);
         
         // Press the shift key
         KeyBinding.setKeyBindState(mc.gameSettings.keyBindSneak.getKeyCode(), true);
         
-        if (GoFishConfig.enableDebugNotifications) {
-            sendDebugMessage(mc, "Started holding shift key for " + (duration / 1000) + " seconds");
-        }
+        LOG.debug("Started holding shift key for {} seconds", duration / 1000);
     }
     
     /**
      * Stop holding the shift key
      */
-    private void stopShiftHold(Minecraft mc) {
+    private void stopShiftHold(Minecraft mc, long now) {
         if (mc == null) return;
         
         // Release the shift key
@@ -104,60 +91,42 @@ public class ShiftKeyHandler {
         isHoldingShift = false;
         
         // Schedule next shift
-        scheduleNextShift();
+        scheduleNextShift(now);
         
-        if (GoFishConfig.enableDebugNotifications) {
-            sendDebugMessage(mc, "Released shift key");
-        }
+        LOG.debug("Released shift key");
     }
     
-    @SubscribeEvent
-    public void onClientTick(TickEvent.ClientTickEvent event) {
+    /**
+     * Called when the shift timer is due
+     */
+    private void onShiftTimer(long now) {
         try {
-            // Only process on the client phase END
-            if (event.phase != TickEvent.Phase.END) return;
+            Minecraft mc = Minecraft.getMinecraft();
             
             // Check if periodic shift is enabled AND auto-catch is enabled
             if (!GoFishConfig.enablePeriodicShift || !GoFishConfig.enableAutoCatch) {
                 // If we were holding shift, release it
                 if (isHoldingShift) {
-                    Minecraft mc = Minecraft.getMinecraft();
-                    stopShiftHold(mc);
+                    stopShiftHold(mc, now);
+                } else {
+                    timers.schedule(shiftTimer, now + RECHECK_INTERVAL);
                 }
                 return;
             }
             
-            // Safety check for Minecraft instance
-            Minecraft mc = Minecraft.getMinecraft();
-            if (mc == null || mc.thePlayer == null) {
-                return;
-            }
-            
-            // Initialize next shift time if needed
-            if (nextShiftTime == 0) {
-                scheduleNextShift();
-                return;
-            }
-            
-            // Handle current shift if active
+            // End the current shift hold
             if (isHoldingShift) {
-                long currentTime = System.currentTimeMillis();
-                if (currentTime >= shiftEndTime) {
-                    stopShiftHold(mc);
-                }
+                stopShiftHold(mc, now);
                 return;
             }
             
             // Only start new shifts when fishing
             if (!FishingUtils.isPlayerFishing() && !FishingUtils.isHoldingFishingRod()) {
+                timers.schedule(shiftTimer, now + RECHECK_INTERVAL);
                 return;
             }
             
-            // Check if it's time for a new shift
-            long currentTime = System.currentTimeMillis();
-            if (currentTime >= nextShiftTime) {
-                startShiftHold(mc);
-            }
+            startShiftHold(mc, now);
         } catch (Exception e) {
             // Log any errors but don't crash the game
             System.err.println("[GoFish] Error in shift key handler: " + e.getMessage());
@@ -165,7 +134,7 @@ public class ShiftKeyHandler {
             
             // Reset state to prevent cascading errors
             isHoldingShift = false;
-            nextShiftTime = System.currentTimeMillis() + 1000; // Wait a second before trying again
+            timers.schedule(shiftTimer, now + RECHECK_INTERVAL); // Wait a second before trying again
             
             // Make sure shift key is released
             try {
@@ -178,4 +147,4 @@ public class ShiftKeyHandler {
             }
         }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
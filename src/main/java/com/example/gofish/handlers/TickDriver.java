@@ -0,0 +1,119 @@
+package com.example.gofish.handlers;
+
+import com.example.gofish.core.Clock;
+import com.example.gofish.core.TimerWheel;
+import net.minecraft.client.Minecraft;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The one client tick subscriber of the fishing handlers
+ * Checks the tick phase once and reads the clock once, then runs every step of the tick in a fixed order:
+ * the events queued by the packet thread, the fishing state sample, the per-tick listeners in the order
+ * they were added, the timers on the wheel that are due, and last the notifications all of them posted.
+ * The listeners and timers need a player; draining, sampling and flushing also run without one, so
+ * whatever belongs to a world that was left is dropped. Handlers that only act at a point in time
+ * schedule a timer instead of polling the clock every tick. Every handler reads the time from the
+ * driver's clock, so the whole mod agrees on what time it is.
+ */
+public class TickDriver {
+
+    // One slot per client tick, a turn of the wheel covers 12.8 seconds
+    private static final long TICK_LENGTH = 50;
+    private static final int WHEEL_SLOTS = 256;
+
+    /**
+     * Code that has to run on every tick
+     */
+    public interface TickListener {
+        void onTick(Minecraft mc, long now);
+    }
+
+    private final Clock clock;
+    private final TimerWheel timers;
+    private final List<TickListener> listeners = new ArrayList<>();
+
+    // Fixed steps around the listeners, each optional
+    private PacketHandler packetHandler;
+    private FishingStateTracker stateTracker;
+    private NotificationService notifications;
+
+    public TickDriver(Clock clock) {
+        this.clock = clock;
+        this.timers = new TimerWheel(TICK_LENGTH, WHEEL_SLOTS, clock.millis());
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    public TimerWheel getTimers() {
+        return timers;
+    }
+
+    /**
+     * Set the packet handler whose queued events are drained first thing every tick
+     */
+    public void setPacketHandler(PacketHandler packetHandler) {
+        this.packetHandler = packetHandler;
+    }
+
+    /**
+     * Set the state tracker sampled right after the events, before any listener reads it
+     */
+    public void setStateTracker(FishingStateTracker stateTracker) {
+        this.stateTracker = stateTracker;
+    }
+
+    /**
+     * Set the notification service flushed last every tick
+     */
+    public void setNotifications(NotificationService notifications) {
+        this.notifications = notifications;
+    }
+
+    /**
+     * Add a listener, listeners run in the order they were added
+     */
+    public void addTickListener(TickListener listener) {
+        listeners.add(listener);
+    }
+
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent event) {
+        // Only process on the client phase END
+        if (event.phase != TickEvent.Phase.END) return;
+
+        Minecraft mc = Minecraft.getMinecraft();
+        long now = clock.millis();
+
+        if (packetHandler != null) {
+            packetHandler.drainEvents();
+        }
+        if (stateTracker != null) {
+            stateTracker.sample(mc, now);
+        }
+
+        // The handlers have nothing to drive without a player, due timers run once one is back
+        if (mc != null && mc.thePlayer != null) {
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).onTick(mc, now);
+            }
+
+            try {
+                timers.advance(now);
+            } catch (Exception e) {
+                // Log any errors but don't crash the game, the timers that didn't run yet run next tick
+                System.err.println("[GoFish] Error in scheduled task: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+
+        if (notifications != null) {
+            notifications.flush(now);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.gofish.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Registry of entity ID accessors for packet classes
+ * The reflective lookup runs once per class; afterwards reading the ID is a single method handle call.
+ * Classes without an entity ID are cached as well, so they never trigger another lookup.
+ */
+public final class EntityIdAccessors {
+
+    public static final int NO_ENTITY_ID = -1;
+
+    // Getter names used by the MCP mappings
+    private static final String[] GETTER_NAMES = { "getEntityID", "getEntityId" };
+
+    // Obfuscated (SRG) names of the entity ID field in the entity packets, used outside the dev environment
+    private static final String[] KNOWN_FIELD_NAMES = {
+        "field_149074_a", // S14PacketEntity
+        "field_149164_a", // S19PacketEntityStatus
+        "field_149417_a", // S12PacketEntityVelocity
+        "field_149458_a", // S18PacketEntityTeleport
+        "field_149018_a", // S0EPacketSpawnObject
+        "field_149042_a", // S0FPacketSpawnMob
+        "field_149379_a"  // S1CPacketEntityMetadata
+    };
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(int.class, Object.class);
+
+    // Shared accessor for classes that have no entity ID
+    private static final MethodHandle NO_ACCESSOR =
+        MethodHandles.dropArguments(MethodHandles.constant(int.class, NO_ENTITY_ID), 0, Object.class);
+
+    private static final ClassValue<MethodHandle> ACCESSORS = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return findAccessor(type);
+        }
+    };
+
+    private EntityIdAccessors() {
+    }
+
+    /**
+     * Get the entity ID carried by a packet
+     * @param packet Any packet object
+     * @return the entity ID, or NO_ENTITY_ID if the packet has none
+     */
+    public static int getEntityId(Object packet) {
+        if (packet == null) return NO_ENTITY_ID;
+
+        try {
+            return (int) ACCESSORS.get(packet.getClass()).invokeExact(packet);
+        } catch (Throwable t) {
+            return NO_ENTITY_ID;
+        }
+    }
+
+    /**
+     * Check if packets of the given class carry an entity ID
+     */
+    public static boolean hasEntityId(Class<?> packetClass) {
+        return ACCESSORS.get(packetClass) != NO_ACCESSOR;
+    }
+
+    /**
+     * Look up the accessor for a class. Only called once per class.
+     */
+    private static MethodHandle findAccessor(Class<?> type) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        // Try common method names first
+        for (String name : GETTER_NAMES) {
+            try {
+                Method method = type.getMethod(name);
+                if (method.getReturnType() == int.class) {
+                    return lookup.unreflect(method).asType(ACCESSOR_TYPE);
+                }
+            } catch (Exception e) {
+                // Not available, try the next name
+            }
+        }
+
+        // Fall back to the entity ID field, which may be declared in a superclass (e.g. S15PacketEntityRelMove)
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            Field field = findEntityIdField(current);
+            if (field != null) {
+                try {
+                    field.setAccessible(true);
+                    return lookup.unreflectGetter(field).asType(ACCESSOR_TYPE);
+                } catch (Exception e) {
+                    System.err.println("[GoFish] Error creating entity ID accessor for " + type.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+
+        return NO_ACCESSOR;
+    }
+
+    /**
+     * Find an int field holding the entity ID in a single class
+     */
+    private static Field findEntityIdField(Class<?> type) {
+        Field[] fields = type.getDeclaredFields();
+
+        for (String knownName : KNOWN_FIELD_NAMES) {
+            for (Field field : fields) {
+                if (field.getType() == int.class && field.getName().equals(knownName)) {
+                    return field;
+                }
+            }
+        }
+
+        for (Field field : fields) {
+            if (field.getType() != int.class) continue;
+
+            String name = field.getName().toLowerCase();
+            if (name.contains("entityid") || name.contains("entity_id") || name.contains("eid")) {
+                return field;
+            }
+        }
+
+        return null;
+    }
+}
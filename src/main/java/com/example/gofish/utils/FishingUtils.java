@@ -1,6 +1,6 @@
 package com.example.gofish.utils;
 
-import com.example.gofish.handlers.PacketHandler;
+import com.example.gofish.handlers.FishingStateTracker;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.projectile.EntityFishHook;
@@ -14,54 +14,31 @@ import net.minecraft.scoreboard.Scoreboard;
  */
 public class FishingUtils {
     
-    // Track previous fishing state to detect when casting happens
-    private static boolean wasFishing = false;
-    private static PacketHandler packetHandler = null;
+    // Per-tick fishing state, sampled once so these checks have no side effects
+    private static FishingStateTracker stateTracker = null;
+
+    // Treat every server as Hypixel, for testing against the local stand-in server (-Dgofish.assumeHypixel=true)
+    private static final boolean ASSUME_HYPIXEL = Boolean.getBoolean("gofish.assumeHypixel");
 
     /**
-     * Set the packet handler for communication
+     * Set the fishing state tracker that backs the fishing checks
      */
-    public static void setPacketHandler(PacketHandler handler) {
-        packetHandler = handler;
+    public static void setStateTracker(FishingStateTracker tracker) {
+        stateTracker = tracker;
     }
     
     /**
      * Check if the player is currently fishing
-     * @return true if the player is fishing, false otherwise
+     * @return true if the player was fishing at the last client tick, false otherwise
      */
     public static boolean isPlayerFishing() {
-        try {
-            Minecraft mc = Minecraft.getMinecraft();
-            if (mc == null) return false;
-            
-            EntityPlayer player = mc.thePlayer;
-            if (player == null) return false;
-            
-            // Check if player is holding a fishing rod
-            ItemStack heldItem = player.getHeldItem();
-            if (heldItem == null || !(heldItem.getItem() instanceof ItemFishingRod)) {
-                return false;
-            }
-            
-            // Check if player has a fishing hook in the water
-            boolean isFishing = player.fishEntity != null;
-            
-            // Detect when player starts fishing (casting)
-            if (isFishing && !wasFishing) {
-                // Player just cast their rod
-                if (packetHandler != null) {
-                    packetHandler.updateHookCastTime();
-                }
-            }
-            
-            // Update previous state
-            wasFishing = isFishing;
-            
-            return isFishing;
-        } catch (Exception e) {
-            System.err.println("[GoFish] Error checking if player is fishing: " + e.getMessage());
-            return false;
+        if (stateTracker != null) {
+            return stateTracker.isFishing();
         }
+        
+        // No tracker yet, fall back to reading the player directly
+        EntityFishHook hook = getFishingHook();
+        return hook != null && isHoldingRodNow();
     }
     
     /**
@@ -69,7 +46,7 @@ public class FishingUtils {
      * @return true if the player was fishing, false otherwise
      */
     public static boolean wasFishing() {
-        return wasFishing;
+        return stateTracker != null && stateTracker.wasFishing();
     }
     
     /**
@@ -77,6 +54,17 @@ public class FishingUtils {
      * @return true if the player is holding a fishing rod, false otherwise
      */
     public static boolean isHoldingFishingRod() {
+        if (stateTracker != null) {
+            return stateTracker.isHoldingRod();
+        }
+        
+        return isHoldingRodNow();
+    }
+    
+    /**
+     * Read the held item directly, only used before the state tracker is set
+     */
+    private static boolean isHoldingRodNow() {
         try {
             Minecraft mc = Minecraft.getMinecraft();
             if (mc == null) return false;
@@ -123,8 +111,7 @@ public class FishingUtils {
             
             // Check if connected to Hypixel
             if (mc.getCurrentServerData() != null) {
-                String serverIP = mc.getCurrentServerData().serverIP.toLowerCase();
-                if (serverIP == null || !(serverIP.contains("hypixel.net") || serverIP.contains("hypixel.io"))) {
+                if (!isHypixelAddress(mc.getCurrentServerData().serverIP)) {
                     return false;
                 }
                 
@@ -166,16 +153,25 @@ public class FishingUtils {
             Minecraft mc = Minecraft.getMinecraft();
             if (mc == null || mc.thePlayer == null || mc.getCurrentServerData() == null) return false;
             
-            String serverIP = mc.getCurrentServerData().serverIP;
-            if (serverIP == null) return false;
-            
-            serverIP = serverIP.toLowerCase();
-            return serverIP.contains("hypixel.net") || serverIP.contains("hypixel.io");
+            return isHypixelAddress(mc.getCurrentServerData().serverIP);
         } catch (Exception e) {
             System.err.println("[GoFish] Error checking if on Hypixel: " + e.getMessage());
             return false;
         }
     }
+    
+    /**
+     * Check if a server address belongs to Hypixel
+     * @param serverIP The server address as entered by the player
+     * @return true if the address is a Hypixel address, false otherwise
+     */
+    public static boolean isHypixelAddress(String serverIP) {
+        if (ASSUME_HYPIXEL) return true;
+        if (serverIP == null) return false;
+        
+        serverIP = serverIP.toLowerCase();
+        return serverIP.contains("hypixel.net") || serverIP.contains("hypixel.io");
+    }
 
     /**
      * Check if the player's fishing hook is in a valid liquid (water or lava)
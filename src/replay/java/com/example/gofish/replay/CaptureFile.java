@@ -0,0 +1,91 @@
+package com.example.gofish.replay;
+
+import com.example.gofish.core.PacketCaptureRing;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * A packet capture written by PacketCaptureRing.dump(), loaded into parallel arrays
+ * Reads version 1 files (no chat text) and version 2 files.
+ */
+public class CaptureFile {
+
+    public final String[] soundNames;
+    public final int count;
+    public final long[] times;
+    public final int[] kinds;
+    public final int[] entityIds;
+    public final int[] auxs;
+    public final int[] datas;
+    public final double[] xs;
+    public final double[] ys;
+    public final double[] zs;
+    public final int[] motionXs;
+    public final int[] motionYs;
+    public final int[] motionZs;
+    public final String[] texts;
+
+    private CaptureFile(String[] soundNames, int count) {
+        this.soundNames = soundNames;
+        this.count = count;
+        this.times = new long[count];
+        this.kinds = new int[count];
+        this.entityIds = new int[count];
+        this.auxs = new int[count];
+        this.datas = new int[count];
+        this.xs = new double[count];
+        this.ys = new double[count];
+        this.zs = new double[count];
+        this.motionXs = new int[count];
+        this.motionYs = new int[count];
+        this.motionZs = new int[count];
+        this.texts = new String[count];
+    }
+
+    /**
+     * Load a capture file
+     * @throws IOException if the file can't be read or isn't a capture
+     */
+    public static CaptureFile read(File file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != PacketCaptureRing.MAGIC) {
+                throw new IOException("Not a GoFish capture: " + file.getPath());
+            }
+            int version = in.readInt();
+            if (version < 1 || version > PacketCaptureRing.VERSION) {
+                throw new IOException("Unsupported capture version " + version + ": " + file.getPath());
+            }
+
+            String[] soundNames = new String[in.readInt()];
+            for (int i = 0; i < soundNames.length; i++) {
+                soundNames[i] = in.readUTF();
+            }
+
+            CaptureFile capture = new CaptureFile(soundNames, in.readInt());
+            for (int i = 0; i < capture.count; i++) {
+                capture.times[i] = in.readLong();
+                capture.kinds[i] = in.readInt();
+                capture.entityIds[i] = in.readInt();
+                capture.auxs[i] = in.readInt();
+                capture.datas[i] = in.readInt();
+                capture.xs[i] = in.readDouble();
+                capture.ys[i] = in.readDouble();
+                capture.zs[i] = in.readDouble();
+                capture.motionXs[i] = in.readInt();
+                capture.motionYs[i] = in.readInt();
+                capture.motionZs[i] = in.readInt();
+                if (version >= 2 && capture.kinds[i] == PacketCaptureRing.KIND_CHAT) {
+                    capture.texts[i] = in.readUTF();
+                }
+            }
+            return capture;
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,659 @@
+package com.example.gofish.replay;
+
+import com.example.gofish.core.BiteDetector;
+import com.example.gofish.core.BiteGate;
+import com.example.gofish.core.BiteSignalFusion;
+import com.example.gofish.core.BobberRegistry;
+import com.example.gofish.core.DetectionStats;
+import com.example.gofish.core.FishingChatMatcher;
+import com.example.gofish.core.FishingController;
+import com.example.gofish.core.FishingSettings;
+import com.example.gofish.core.FishingSnapshot;
+import com.example.gofish.core.GameInput;
+import com.example.gofish.core.GameMessages;
+import com.example.gofish.core.GameState;
+import com.example.gofish.core.HookTrajectoryTracker;
+import com.example.gofish.core.ManualClock;
+import com.example.gofish.core.PacketCaptureRing;
+import com.example.gofish.core.PreciseScheduler;
+import com.example.gofish.core.TimerWheel;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Replays a packet capture through the bite detection and the fishing controller without starting Minecraft
+ * Records are fed to the same BiteDetector and BiteGate the mod uses, in capture order and with the
+ * capture timestamps as virtual time on a manual clock. Accepted bites go to a FishingController that
+ * ticks every 50ms of that time and runs its catches between ticks, as in game. The controller only
+ * shadows the recorded player: its clicks are timed and reported but can't change the recording, and
+ * auto-recast is off because the recorded casts decide when a hook is out.
+ * The player's own reels tell which bites were real: a reel that is followed by a catch message or by an
+ * item flying out of the water landed a fish.
+ *
+ * Usage: CaptureReplay <capture.bin> [--sound-weight w] [--particle-weight w] [--velocity-weight w]
+ *        [--threshold s] [--window ms] [--cast-ignore ms] [--cooldown ms] [--bite-window ms]
+ *        [--min-catch-delay ms] [--max-catch-delay ms] [--seed n] [--verbose]
+ */
+public class CaptureReplay implements FishingSettings, GameState, GameInput, GameMessages, PreciseScheduler {
+
+    private static final long TICK_MILLIS = 50;
+
+    // Object type of dropped items in S0EPacketSpawnObject, a caught fish flies out of the water as one
+    private static final int ITEM_OBJECT_TYPE = 2;
+    private static final double CATCH_ITEM_RADIUS_SQ = 2.0 * 2.0;
+
+    // Time after a reel in which its catch message or item has to show up
+    private static final long CATCH_CONFIRM_WINDOW = 3000;
+
+    // Recognizes the catch, sea creature and treasure messages
+    private static final FishingChatMatcher CHAT_MATCHER = new FishingChatMatcher();
+
+    // Detection settings, same defaults as GoFishConfig
+    private double soundWeight = 0.6;
+    private double particleWeight = 0.5;
+    private double velocityWeight = 0.3;
+    private double scoreThreshold = 0.5;
+    private long fusionWindow = 250;
+    private long castIgnoreTime = 2000;
+    private long biteCooldown = 1000;
+
+    // Catch settings, same defaults as GoFishConfig
+    private int minCatchDelay = 80;
+    private int maxCatchDelay = 500;
+    private long controllerSeed = 0;
+
+    // A detection counts as real if the player landed a fish this long after it
+    private long biteWindow = 1500;
+    private boolean verbose = false;
+
+    private final DetectionStats stats = new DetectionStats();
+    private final HookTrajectoryTracker hookTrajectory = new HookTrajectoryTracker();
+    private final BiteGate biteGate = new BiteGate();
+    private final BiteDetector detector = new BiteDetector(this, this::getSnapshot, stats, hookTrajectory, this::onBite);
+
+    private final List<Detection> detections = new ArrayList<>();
+    private final List<Reel> reels = new ArrayList<>();
+    private int casts = 0;
+    private int liveBites = 0;
+
+    // The controller in virtual time, set up at the first record
+    private final ManualClock clock = new ManualClock(0);
+    private TimerWheel timers;
+    private FishingController controller;
+    private long nextTick;
+    private boolean autoCatch = true;
+    private boolean hookOut = false;
+
+    // Catch scheduled between ticks, and the bite it is for
+    private TimerWheel.Task scheduledCatch = null;
+    private long scheduledCatchTime = 0;
+    private Detection lastDetection = null;
+
+    private static class Detection {
+        final long time;
+        final long firstSignalTime;
+        final int signalMask;
+        Reel reel; // The successful reel this bite led to, or null for a false positive
+        long catchTime = -1; // When the controller reeled in for this bite, or -1
+
+        Detection(long time, long firstSignalTime, int signalMask) {
+            this.time = time;
+            this.firstSignalTime = firstSignalTime;
+            this.signalMask = signalMask;
+        }
+    }
+
+    private static class Reel {
+        final long time;
+        final double hookX;
+        final double hookY;
+        final double hookZ;
+        boolean caught = false;
+        boolean detected = false;
+
+        Reel(long time, double hookX, double hookY, double hookZ) {
+            this.time = time;
+            this.hookX = hookX;
+            this.hookY = hookY;
+            this.hookZ = hookZ;
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: CaptureReplay <capture.bin> [--sound-weight w] [--particle-weight w] [--velocity-weight w]"
+                               + " [--threshold s] [--window ms] [--cast-ignore ms] [--cooldown ms] [--bite-window ms]"
+                               + " [--min-catch-delay ms] [--max-catch-delay ms] [--seed n] [--verbose]");
+            System.exit(2);
+        }
+
+        try {
+            CaptureReplay replay = new CaptureReplay();
+            replay.parseOptions(args);
+
+            CaptureFile capture = CaptureFile.read(new File(args[0]));
+            long start = System.nanoTime();
+            replay.run(capture);
+            long elapsed = System.nanoTime() - start;
+
+            replay.printReport(capture, elapsed);
+        } catch (Exception e) {
+            System.err.println("[GoFish] Error replaying capture: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private void parseOptions(String[] args) {
+        for (int i = 1; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--verbose")) {
+                verbose = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--sound-weight": soundWeight = Double.parseDouble(value); break;
+                case "--particle-weight": particleWeight = Double.parseDouble(value); break;
+                case "--velocity-weight": velocityWeight = Double.parseDouble(value); break;
+                case "--threshold": scoreThreshold = Double.parseDouble(value); break;
+                case "--window": fusionWindow = Long.parseLong(value); break;
+                case "--cast-ignore": castIgnoreTime = Long.parseLong(value); break;
+                case "--cooldown": biteCooldown = Long.parseLong(value); break;
+                case "--bite-window": biteWindow = Long.parseLong(value); break;
+                case "--min-catch-delay": minCatchDelay = Integer.parseInt(value); break;
+                case "--max-catch-delay": maxCatchDelay = Integer.parseInt(value); break;
+                case "--seed": controllerSeed = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+    }
+
+    /**
+     * Feed every record of a capture through the detection and the controller
+     */
+    private void run(CaptureFile capture) {
+        long startTime = capture.count > 0 ? capture.times[0] : 0;
+        clock.set(startTime);
+        timers = new TimerWheel(TICK_MILLIS, 256, startTime);
+        controller = new FishingController(this, this, this, this, new Random(controllerSeed), timers);
+        controller.setCatchScheduler(this);
+        nextTick = startTime;
+
+        for (int i = 0; i < capture.count; i++) {
+            long time = capture.times[i];
+            int entityId = capture.entityIds[i];
+            int aux = capture.auxs[i];
+
+            advanceTo(time);
+
+            switch (capture.kinds[i]) {
+                case PacketCaptureRing.KIND_SOUND:
+                    detector.onSound(capture.soundNames[aux], capture.xs[i], capture.ys[i], capture.zs[i], time);
+                    break;
+                case PacketCaptureRing.KIND_PARTICLE:
+                    detector.onParticle(aux, capture.xs[i], capture.ys[i], capture.zs[i], time);
+                    break;
+                case PacketCaptureRing.KIND_VELOCITY:
+                    detector.onVelocity(entityId, capture.motionYs[i], time);
+                    break;
+                case PacketCaptureRing.KIND_SPAWN_OBJECT:
+                    handleSpawn(capture, i);
+                    break;
+                case PacketCaptureRing.KIND_DESTROY:
+                    detector.onDestroyEntity(entityId);
+                    break;
+                case PacketCaptureRing.KIND_MOVE:
+                    detector.onEntityMove(entityId, capture.motionXs[i], capture.motionYs[i], capture.motionZs[i], aux != 0, time);
+                    break;
+                case PacketCaptureRing.KIND_TELEPORT:
+                    detector.onEntityTeleport(entityId, BobberRegistry.toFixed(capture.xs[i]), BobberRegistry.toFixed(capture.ys[i]),
+                                              BobberRegistry.toFixed(capture.zs[i]), aux != 0, time);
+                    break;
+                case PacketCaptureRing.KIND_JOIN_GAME:
+                    detector.onJoinGame(entityId);
+                    break;
+                case PacketCaptureRing.KIND_RESPAWN:
+                    detector.onRespawn();
+                    break;
+                case PacketCaptureRing.KIND_BITE:
+                    liveBites++;
+                    break;
+                case PacketCaptureRing.KIND_CHAT:
+                    if (isCatchMessage(capture.texts[i])) {
+                        confirmLastReel(time);
+                    }
+                    break;
+                case PacketCaptureRing.KIND_USE_ITEM:
+                    // A rod click while our hook is out reels it in
+                    BobberRegistry bobbers = detector.getBobbers();
+                    if (aux == 1 && bobbers.hasLocalBobber()) {
+                        reels.add(new Reel(time, bobbers.getLocalBobberX() / 32.0, bobbers.getLocalBobberY() / 32.0,
+                                           bobbers.getLocalBobberZ() / 32.0));
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            updateHook(time);
+        }
+
+        // Let the catch of a bite at the very end run
+        if (capture.count > 0) {
+            advanceTo(capture.times[capture.count - 1] + maxCatchDelay + TICK_MILLIS);
+        }
+
+        matchDetections();
+    }
+
+    /**
+     * Run the controller's ticks and its catches between them up to a point in virtual time
+     */
+    private void advanceTo(long time) {
+        while (true) {
+            boolean catchFirst = scheduledCatch != null && scheduledCatchTime <= nextTick;
+            long next = catchFirst ? scheduledCatchTime : nextTick;
+            if (next > time) break;
+
+            clock.set(next);
+            if (catchFirst) {
+                TimerWheel.Task task = scheduledCatch;
+                scheduledCatch = null;
+                task.run(next);
+            } else {
+                controller.tick(next);
+                timers.advance(next);
+                nextTick += TICK_MILLIS;
+            }
+        }
+        clock.set(time);
+    }
+
+    /**
+     * Tell the controller when our hook appeared or disappeared, as the state tracker would
+     */
+    private void updateHook(long time) {
+        BobberRegistry bobbers = detector.getBobbers();
+        boolean out = bobbers.hasLocalBobber();
+        if (out == hookOut) return;
+
+        hookOut = out;
+        if (out) {
+            controller.onCast(time, bobbers.getLocalBobberId());
+        } else {
+            controller.onReel(time);
+        }
+    }
+
+    private void handleSpawn(CaptureFile capture, int i) {
+        long time = capture.times[i];
+        int type = capture.auxs[i];
+
+        if (type == ITEM_OBJECT_TYPE) {
+            // The catch of a successful reel spawns at the hook
+            Reel reel = getLastReel();
+            if (reel != null) {
+                double dx = capture.xs[i] - reel.hookX;
+                double dy = capture.ys[i] - reel.hookY;
+                double dz = capture.zs[i] - reel.hookZ;
+                if (dx * dx + dy * dy + dz * dz < CATCH_ITEM_RADIUS_SQ) {
+                    confirmLastReel(time);
+                }
+            }
+            return;
+        }
+
+        int previousBobber = detector.getBobbers().getLocalBobberId();
+        detector.onSpawnObject(capture.entityIds[i], type, capture.datas[i], BobberRegistry.toFixed(capture.xs[i]),
+                               BobberRegistry.toFixed(capture.ys[i]), BobberRegistry.toFixed(capture.zs[i]), time);
+
+        // The state tracker reports a cast once our hook exists
+        int localBobber = detector.getBobbers().getLocalBobberId();
+        if (localBobber != BobberRegistry.NO_BOBBER && localBobber != previousBobber) {
+            biteGate.onCast(time);
+            casts++;
+        }
+    }
+
+    private Reel getLastReel() {
+        return reels.isEmpty() ? null : reels.get(reels.size() - 1);
+    }
+
+    private void confirmLastReel(long time) {
+        Reel reel = getLastReel();
+        if (reel != null && time - reel.time <= CATCH_CONFIRM_WINDOW) {
+            reel.caught = true;
+        }
+    }
+
+    /**
+     * Mirrors the catch patterns of the chat handler on the unformatted text
+     */
+    private static boolean isCatchMessage(String text) {
+        if (text == null) return false;
+        FishingChatMatcher.Match match = CHAT_MATCHER.match(text);
+        return match != null && match.type != FishingChatMatcher.TYPE_OTHER;
+    }
+
+    /**
+     * Hook state as the state tracker would report it, taken from the bobber registry
+     * Live, the snapshot lags up to a tick behind the packets; here it never does.
+     */
+    private FishingSnapshot getSnapshot() {
+        BobberRegistry bobbers = detector.getBobbers();
+        if (!bobbers.hasLocalBobber()) {
+            return FishingSnapshot.EMPTY;
+        }
+        return new FishingSnapshot(true, true, bobbers.getLocalBobberId(), bobbers.getLocalBobberX() / 32.0,
+                                   bobbers.getLocalBobberY() / 32.0, bobbers.getLocalBobberZ() / 32.0);
+    }
+
+    private void onBite(int hookEntityId, int signalMask, long firstSignalTime, long time) {
+        int decision = biteGate.check(time, castIgnoreTime, biteCooldown);
+        stats.record(decision, DetectionStats.PACKET_BITE);
+        if (decision == DetectionStats.ACCEPTED) {
+            Detection detection = new Detection(time, firstSignalTime, signalMask);
+            detections.add(detection);
+            lastDetection = detection;
+            controller.onFishBite(time);
+        }
+    }
+
+    /**
+     * Pair each detection with the successful reel that follows it within the bite window
+     */
+    private void matchDetections() {
+        int reelIndex = 0;
+        for (Detection detection : detections) {
+            while (reelIndex < reels.size() && reels.get(reelIndex).time < detection.time) {
+                reelIndex++;
+            }
+            for (int i = reelIndex; i < reels.size() && reels.get(i).time - detection.time <= biteWindow; i++) {
+                Reel reel = reels.get(i);
+                if (reel.caught && !reel.detected) {
+                    reel.detected = true;
+                    detection.reel = reel;
+                    break;
+                }
+            }
+        }
+    }
+
+    private void printReport(CaptureFile capture, long elapsedNanos) {
+        long firstTime = capture.count > 0 ? capture.times[0] : 0;
+        long duration = capture.count > 0 ? capture.times[capture.count - 1] - firstTime : 0;
+
+        int caught = 0;
+        int missed = 0;
+        for (Reel reel : reels) {
+            if (!reel.caught) continue;
+            caught++;
+            if (!reel.detected) missed++;
+        }
+
+        long[] latencies = new long[detections.size()];
+        long[] reactions = new long[detections.size()];
+        int truePositives = 0;
+        int controllerCatches = 0;
+        int wastedReels = 0;
+        for (Detection detection : detections) {
+            if (detection.reel == null) {
+                if (detection.catchTime >= 0) wastedReels++;
+                continue;
+            }
+            latencies[truePositives++] = detection.time - detection.firstSignalTime;
+            if (detection.catchTime >= 0) {
+                reactions[controllerCatches++] = detection.catchTime - detection.firstSignalTime;
+            }
+        }
+        int falsePositives = detections.size() - truePositives;
+
+        if (verbose) {
+            for (Detection detection : detections) {
+                System.out.println(String.format("+%d ms bite [%s] after %d ms: %s, %s", detection.time - firstTime,
+                                   describeSignals(detection.signalMask), detection.time - detection.firstSignalTime,
+                                   detection.reel != null ? "real" : "false positive",
+                                   detection.catchTime >= 0 ? "controller reeled +" + (detection.catchTime - detection.time) + " ms"
+                                                            : "controller didn't reel"));
+            }
+            for (Reel reel : reels) {
+                if (reel.caught && !reel.detected) {
+                    System.out.println(String.format("+%d ms missed catch", reel.time - firstTime));
+                }
+            }
+            System.out.println();
+        }
+
+        System.out.println(String.format("Replayed %d records (%.1f s of capture) in %.1f ms",
+                           capture.count, duration / 1000.0, elapsedNanos / 1000000.0));
+        System.out.println(String.format("Casts: %d, reels: %d, catches: %d", casts, reels.size(), caught));
+        System.out.println(String.format("Detected bites: %d (%d detected live)", detections.size(), liveBites));
+        System.out.println(String.format("  true positives: %d, false positives: %d, missed catches: %d",
+                           truePositives, falsePositives, missed));
+        System.out.println(String.format("Controller catches: %d of %d real bites, %d reels on false positives",
+                           controllerCatches, truePositives, wastedReels));
+        printDistribution("Latency from first signal to decision", latencies, truePositives);
+        printDistribution("Latency from first signal to the controller's reel", reactions, controllerCatches);
+
+        System.out.println("Detection counters:");
+        long[][] counts = stats.sumThenReset();
+        for (int type = 0; type < DetectionStats.PACKET_TYPE_COUNT; type++) {
+            StringBuilder line = new StringBuilder("  ").append(DetectionStats.getPacketTypeName(type)).append(':');
+            for (int reason = 0; reason < DetectionStats.REASON_COUNT; reason++) {
+                if (counts[reason][type] > 0) {
+                    line.append(' ').append(DetectionStats.getReasonName(reason)).append('=').append(counts[reason][type]);
+                }
+            }
+            System.out.println(line);
+        }
+    }
+
+    private static void printDistribution(String label, long[] values, int count) {
+        if (count == 0) return;
+
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long value : sorted) {
+            total += value;
+        }
+        System.out.println(String.format("%s: min %d, avg %.1f, p50 %d, p95 %d, max %d ms", label,
+                           sorted[0], (double) total / count, sorted[count / 2],
+                           sorted[Math.min(count - 1, count * 95 / 100)], sorted[count - 1]));
+    }
+
+    private static String describeSignals(int signalMask) {
+        StringBuilder signals = new StringBuilder();
+        if (BiteSignalFusion.hasSignal(signalMask, BiteSignalFusion.SIGNAL_SOUND)) signals.append("sound ");
+        if (BiteSignalFusion.hasSignal(signalMask, BiteSignalFusion.SIGNAL_PARTICLE)) signals.append("particle ");
+        if (BiteSignalFusion.hasSignal(signalMask, BiteSignalFusion.SIGNAL_VELOCITY)) signals.append("velocity ");
+        return signals.toString().trim();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public double getSignalWeight(int signal) {
+        if (signal == BiteSignalFusion.SIGNAL_SOUND) {
+            return soundWeight;
+        } else if (signal == BiteSignalFusion.SIGNAL_PARTICLE) {
+            return particleWeight;
+        }
+        return velocityWeight;
+    }
+
+    @Override
+    public double getScoreThreshold() {
+        return scoreThreshold;
+    }
+
+    @Override
+    public long getFusionWindow() {
+        return fusionWindow;
+    }
+
+    @Override
+    public boolean isAutoCatchEnabled() {
+        return autoCatch;
+    }
+
+    @Override
+    public void setAutoCatchEnabled(boolean enabled) {
+        autoCatch = enabled;
+    }
+
+    @Override
+    public int getMinCatchDelay() {
+        return minCatchDelay;
+    }
+
+    @Override
+    public int getMaxCatchDelay() {
+        return maxCatchDelay;
+    }
+
+    @Override
+    public boolean isMissChanceEnabled() {
+        return false;
+    }
+
+    @Override
+    public int getMissChancePercentage() {
+        return 0;
+    }
+
+    @Override
+    public int getMinMissTimingOffset() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxMissTimingOffset() {
+        return 0;
+    }
+
+    @Override
+    public boolean isAutoRecastEnabled() {
+        return false;
+    }
+
+    @Override
+    public void setAutoRecastEnabled(boolean enabled) {
+    }
+
+    @Override
+    public int getMinRecastDelay() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxRecastDelay() {
+        return 0;
+    }
+
+    @Override
+    public long getCastIgnoreTime() {
+        return castIgnoreTime;
+    }
+
+    @Override
+    public long getBiteCooldown() {
+        return biteCooldown;
+    }
+
+    @Override
+    public boolean isLiquidDetectionEnabled() {
+        return false;
+    }
+
+    @Override
+    public int getMaxLiquidFailures() {
+        return 0;
+    }
+
+    @Override
+    public void save() {
+    }
+
+    @Override
+    public boolean isInGame() {
+        return true;
+    }
+
+    @Override
+    public boolean isFishing() {
+        return hookOut;
+    }
+
+    @Override
+    public boolean isHoldingRod() {
+        return true;
+    }
+
+    @Override
+    public boolean isHookInLiquid() {
+        return true;
+    }
+
+    @Override
+    public boolean isJumpActive() {
+        return false;
+    }
+
+    @Override
+    public boolean isSafetyTriggered() {
+        return false;
+    }
+
+    @Override
+    public String getSafetyTriggerReason() {
+        return "";
+    }
+
+    @Override
+    public String getHeldItemName() {
+        return "item.fishingRod";
+    }
+
+    @Override
+    public void setUseItemPressed(boolean pressed) {
+        // Only reels without a bite (the bite timeout) press the key, the recording answers none of them
+    }
+
+    @Override
+    public void useItem() {
+        // The controller's catch, for the last bite it was told about
+        if (lastDetection != null && lastDetection.catchTime < 0) {
+            lastDetection.catchTime = clock.millis();
+        }
+    }
+
+    @Override
+    public void sendMessage(String message) {
+        if (verbose) {
+            System.out.println(message);
+        }
+    }
+
+    @Override
+    public void schedule(long dueTime, TimerWheel.Task task) {
+        scheduledCatch = task;
+        scheduledCatchTime = dueTime;
+    }
+
+    @Override
+    public void cancel() {
+        scheduledCatch = null;
+    }
+}
@@ -0,0 +1,720 @@
+package com.example.gofish.replay;
+
+import com.example.gofish.core.FishingController;
+import com.example.gofish.core.FishingSettings;
+import com.example.gofish.core.GameInput;
+import com.example.gofish.core.GameMessages;
+import com.example.gofish.core.GameState;
+import com.example.gofish.core.ManualClock;
+import com.example.gofish.core.PreciseScheduler;
+import com.example.gofish.core.TimerWheel;
+
+import java.util.Random;
+
+/**
+ * Fuzzes the fishing state machine in virtual time without starting Minecraft
+ * Runs the FishingController on its own timer wheel against a simulated server and player, driven by random
+ * sequences of bites, lag spikes, failed and dry casts, lost hook packets, jumps, item switches, hand clicks
+ * and safety trips. Catches scheduled between ticks run at their due time, as on a client with a high
+ * frame rate. Invariants are checked after every tick. The first failing sequence is shrunk to a
+ * minimal one and printed with the controller's trace.
+ *
+ * Usage: ControllerFuzzer [--seed n] [--runs n] [--events n]
+ */
+public class ControllerFuzzer {
+
+    private static final long TICK_MILLIS = 50;
+    private static final long START_TIME = 1000000;
+
+    // Ticks run after the last event, long enough for every state timeout to fire
+    private static final int TAIL_TICKS = 1600;
+
+    // Server round trip of a click, plus whatever lag an event added
+    private static final long BASE_LATENCY = 100;
+
+    // Invariants
+    private static final int MAX_KEY_HELD_TICKS = 3;
+    private static final long IDLE_LIMIT = 3000;
+    private static final long NO_CAST_LIMIT = 12000;
+    private static final long STUCK_LIMIT = 65000;
+
+    // Events
+    private static final int BITE = 0;
+    private static final int FREEZE = 1;
+    private static final int SERVER_LAG = 2;
+    private static final int FAILED_CAST = 3;
+    private static final int DRY_CAST = 4;
+    private static final int LOST_PACKET = 5;
+    private static final int JUMP = 6;
+    private static final int SWITCH_ITEM = 7;
+    private static final int HAND_CLICK = 8;
+    private static final int SAFETY = 9;
+    private static final int ENABLE = 10;
+    private static final int DISABLE = 11;
+    private static final int EVENT_TYPE_COUNT = 12;
+
+    private static final String[] EVENT_NAMES = {
+        "BITE", "FREEZE", "SERVER_LAG", "FAILED_CAST", "DRY_CAST", "LOST_PACKET",
+        "JUMP", "SWITCH_ITEM", "HAND_CLICK", "SAFETY", "ENABLE", "DISABLE"
+    };
+
+    private long seed = System.currentTimeMillis();
+    private int runs = 1000;
+    private int eventsPerRun = 200;
+
+    private long totalTicks = 0;
+
+    public static void main(String[] args) {
+        try {
+            ControllerFuzzer fuzzer = new ControllerFuzzer();
+            fuzzer.parseOptions(args);
+            System.exit(fuzzer.fuzz() ? 0 : 1);
+        } catch (Exception e) {
+            System.err.println("[GoFish] Error fuzzing the controller: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(2);
+        }
+    }
+
+    private void parseOptions(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--runs": runs = Integer.parseInt(value); break;
+                case "--events": eventsPerRun = Integer.parseInt(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+    }
+
+    /**
+     * Run random scenarios until one fails or all runs pass
+     * @return true if every run passed
+     */
+    private boolean fuzz() {
+        System.out.println("Fuzzing the fishing controller: " + runs + " runs of " + eventsPerRun + " events, seed " + seed);
+
+        Random random = new Random(seed);
+        long start = System.nanoTime();
+        for (int run = 0; run < runs; run++) {
+            Scenario scenario = Scenario.random(random, eventsPerRun);
+            Simulation failed = run(scenario);
+            if (failed != null) {
+                printThroughput(start);
+                report(run, scenario, failed);
+                return false;
+            }
+        }
+
+        printThroughput(start);
+        System.out.println("All runs passed");
+        return true;
+    }
+
+    private void printThroughput(long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d ticks in %.2fs (%.1fM ticks/s)%n", totalTicks, seconds, totalTicks / seconds / 1e6);
+    }
+
+    /**
+     * Play a scenario from the start
+     * @return the simulation if an invariant broke, null if the scenario passed
+     */
+    private Simulation run(Scenario scenario) {
+        Simulation simulation = new Simulation(scenario.controllerSeed, scenario.size);
+        long now = START_TIME;
+        simulation.tick(now);
+
+        for (int i = 0; i < scenario.size && simulation.failure == null; i++) {
+            now = simulation.apply(scenario.types[i], scenario.args[i], now);
+            simulation.eventTimes[i] = now;
+            for (int t = 0; t < scenario.gaps[i] && simulation.failure == null; t++) {
+                now += TICK_MILLIS;
+                simulation.tick(now);
+            }
+        }
+        for (int t = 0; t < TAIL_TICKS && simulation.failure == null; t++) {
+            now += TICK_MILLIS;
+            simulation.tick(now);
+        }
+
+        totalTicks += simulation.ticks;
+        return simulation.failure != null ? simulation : null;
+    }
+
+    /**
+     * Shrink a failing scenario and print it
+     */
+    private void report(int run, Scenario scenario, Simulation failed) {
+        String invariant = failed.failure;
+        System.out.println("Run " + run + " broke: " + invariant + " - " + failed.failureDetail);
+
+        Scenario minimal = shrink(scenario, invariant);
+        Simulation replay = run(minimal);
+
+        System.out.println("Minimal sequence, " + minimal.size + " of " + scenario.size + " events:");
+        for (int i = 0; i < minimal.size; i++) {
+            if (replay.eventTimes[i] == 0) break;
+            String arg = minimal.args[i] != 0 ? " " + minimal.args[i] : "";
+            System.out.printf("  %8.2fs %s%s, then %d ticks%n", (replay.eventTimes[i] - START_TIME) / 1000.0,
+                              EVENT_NAMES[minimal.types[i]], arg, minimal.gaps[i]);
+        }
+        System.out.printf("Broke at %.2fs: %s - %s%n", (replay.failureTime - START_TIME) / 1000.0,
+                          replay.failure, replay.failureDetail);
+
+        System.out.println("Controller trace:");
+        for (String line : replay.controller.getTrace().format(replay.failureTime)) {
+            System.out.println("  " + line);
+        }
+    }
+
+    /**
+     * Remove events and shorten gaps as long as the scenario still breaks the same invariant
+     */
+    private Scenario shrink(Scenario scenario, String invariant) {
+        Scenario current = scenario;
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+
+            // Drop chunks of events, halving the chunk size down to single events
+            for (int chunk = Math.max(1, current.size / 2); chunk >= 1; chunk /= 2) {
+                int start = 0;
+                while (start + chunk <= current.size) {
+                    Scenario candidate = current.without(start, chunk);
+                    if (breaks(candidate, invariant)) {
+                        current = candidate;
+                        progress = true;
+                    } else {
+                        start += chunk;
+                    }
+                }
+            }
+
+            // Shorten the gaps and the arguments
+            for (int i = 0; i < current.size; i++) {
+                while (current.gaps[i] > 1) {
+                    Scenario candidate = current.withGap(i, current.gaps[i] / 2);
+                    if (!breaks(candidate, invariant)) break;
+                    current = candidate;
+                    progress = true;
+                }
+                while (current.args[i] > 1) {
+                    Scenario candidate = current.withArg(i, current.args[i] / 2);
+                    if (!breaks(candidate, invariant)) break;
+                    current = candidate;
+                    progress = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    private boolean breaks(Scenario scenario, String invariant) {
+        Simulation simulation = run(scenario);
+        return simulation != null && invariant.equals(simulation.failure);
+    }
+
+    /**
+     * A sequence of events, each followed by a number of ticks
+     */
+    private static class Scenario {
+        final long controllerSeed;
+        final int size;
+        final int[] types;
+        final int[] args;
+        final int[] gaps;
+
+        Scenario(long controllerSeed, int size) {
+            this.controllerSeed = controllerSeed;
+            this.size = size;
+            this.types = new int[size];
+            this.args = new int[size];
+            this.gaps = new int[size];
+        }
+
+        static Scenario random(Random random, int size) {
+            Scenario scenario = new Scenario(random.nextLong(), size);
+            for (int i = 0; i < size; i++) {
+                // A third of all events are bites, they drive the cycle
+                int type = random.nextInt(3) == 0 ? BITE : 1 + random.nextInt(EVENT_TYPE_COUNT - 1);
+                scenario.types[i] = type;
+                scenario.args[i] = randomArg(random, type);
+                // Mostly short gaps, now and then a long wait
+                scenario.gaps[i] = random.nextInt(8) == 0 ? 1 + random.nextInt(1200) : 1 + random.nextInt(60);
+            }
+            return scenario;
+        }
+
+        private static int randomArg(Random random, int type) {
+            switch (type) {
+                case FREEZE: return 100 + random.nextInt(2900);
+                case SERVER_LAG: return 50 + random.nextInt(1950);
+                case JUMP: return 5 + random.nextInt(36);
+                default: return 0;
+            }
+        }
+
+        Scenario without(int start, int count) {
+            Scenario copy = new Scenario(controllerSeed, size - count);
+            System.arraycopy(types, 0, copy.types, 0, start);
+            System.arraycopy(args, 0, copy.args, 0, start);
+            System.arraycopy(gaps, 0, copy.gaps, 0, start);
+            System.arraycopy(types, start + count, copy.types, start, size - start - count);
+            System.arraycopy(args, start + count, copy.args, start, size - start - count);
+            System.arraycopy(gaps, start + count, copy.gaps, start, size - start - count);
+            return copy;
+        }
+
+        Scenario withGap(int index, int gap) {
+            Scenario copy = without(size, 0);
+            copy.gaps[index] = gap;
+            return copy;
+        }
+
+        Scenario withArg(int index, int arg) {
+            Scenario copy = without(size, 0);
+            copy.args[index] = arg;
+            return copy;
+        }
+    }
+
+    /**
+     * The controller with a simulated server and player around it
+     * A click reaches the server after the latency and spawns or removes the hook, which the controller
+     * hears about through onCast/onReel unless the event lost that packet.
+     */
+    private static class Simulation implements GameState, GameInput, GameMessages, FishingSettings, PreciseScheduler {
+
+        // Virtual time, moved by the events and the ticks only
+        final ManualClock clock = new ManualClock(START_TIME);
+        final TimerWheel timers = new TimerWheel(TICK_MILLIS, 256, clock.millis());
+        final FishingController controller;
+        final long[] eventTimes;
+        long ticks = 0;
+
+        // Player
+        private boolean holdingRod = true;
+        private boolean useItemPressed = false;
+        private int useItemHeldTicks = 0;
+        private int jumpTicks = 0;
+        private boolean safetyTriggered = false;
+        private boolean autoCatch = true;
+        private boolean autoRecast = true;
+        // Frames stop during a freeze, so a task due then runs once the client is back
+        private long awakeSince = START_TIME;
+        private TimerWheel.Task scheduledTask = null;
+        private long scheduledDueTime = 0;
+
+        // Server
+        private boolean fishing = false;
+        private boolean hookInLiquid = true;
+        private long responseTime = -1;
+        private boolean responseSpawnsHook = false;
+        private boolean failNextCast = false;
+        private boolean dryNextCast = false;
+        private boolean loseNextPacket = false;
+        private long serverLag = 0;
+        private int nextHookId = 1000;
+
+        // Invariant tracking
+        private FishingController.State lastState = null;
+        private long stateSince = START_TIME;
+        private long idleSince = -1;
+        private long notFishingSince = -1;
+        private long lastClickTime = START_TIME;
+
+        String failure = null;
+        String failureDetail = null;
+        long failureTime = 0;
+
+        Simulation(long controllerSeed, int eventCount) {
+            eventTimes = new long[eventCount];
+            controller = new FishingController(this, this, this, this, new Random(controllerSeed), timers);
+            controller.setCatchScheduler(this);
+        }
+
+        /**
+         * Apply one event
+         * @return the time after the event, later than now only for a freeze
+         */
+        long apply(int type, int arg, long now) {
+            clock.set(now);
+            try {
+                switch (type) {
+                    case BITE:
+                        controller.onFishBite(now);
+                        break;
+                    case FREEZE:
+                        // The client hangs, no ticks until it is back
+                        awakeSince = now + arg;
+                        return now + arg;
+                    case SERVER_LAG:
+                        serverLag = arg;
+                        break;
+                    case FAILED_CAST:
+                        failNextCast = true;
+                        break;
+                    case DRY_CAST:
+                        dryNextCast = true;
+                        break;
+                    case LOST_PACKET:
+                        loseNextPacket = true;
+                        break;
+                    case JUMP:
+                        jumpTicks = arg;
+                        break;
+                    case SWITCH_ITEM:
+                        holdingRod = !holdingRod;
+                        if (!holdingRod && fishing) {
+                            // Switching away from the rod removes the hook
+                            responseTime = -1;
+                            removeHook(now);
+                        }
+                        break;
+                    case HAND_CLICK:
+                        click(now);
+                        break;
+                    case SAFETY:
+                        safetyTriggered = true;
+                        break;
+                    case ENABLE:
+                        // What /gofish autocatch on does
+                        safetyTriggered = false;
+                        autoCatch = true;
+                        autoRecast = true;
+                        controller.castRodIfNeeded(now);
+                        break;
+                    case DISABLE:
+                        autoCatch = false;
+                        autoRecast = false;
+                        break;
+                    default:
+                        break;
+                }
+            } catch (RuntimeException e) {
+                fail(now, "exception", e.toString());
+            }
+            return now;
+        }
+
+        /**
+         * One client tick: packets first, then the controller and its timers, as in the tick driver
+         */
+        void tick(long now) {
+            try {
+                runScheduledTask(now);
+            } catch (RuntimeException e) {
+                fail(now, "exception", e.toString());
+                return;
+            }
+
+            clock.set(now);
+            ticks++;
+            if (jumpTicks > 0) jumpTicks--;
+
+            try {
+                deliverResponse(now);
+                controller.tick(now);
+                timers.advance(now);
+            } catch (RuntimeException e) {
+                fail(now, "exception", e.toString());
+                return;
+            }
+
+            useItemHeldTicks = useItemPressed ? useItemHeldTicks + 1 : 0;
+            checkInvariants(now);
+        }
+
+        /**
+         * Run a task scheduled between the last tick and this one, in a frame at its due time
+         */
+        private void runScheduledTask(long now) {
+            if (scheduledTask == null || scheduledDueTime > now) return;
+
+            long frameTime = Math.max(scheduledDueTime, awakeSince);
+            TimerWheel.Task task = scheduledTask;
+            scheduledTask = null;
+
+            clock.set(frameTime);
+            deliverResponse(frameTime);
+            task.run(frameTime);
+        }
+
+        private void deliverResponse(long now) {
+            if (responseTime >= 0 && now >= responseTime) {
+                responseTime = -1;
+                if (responseSpawnsHook) {
+                    spawnHook(now);
+                } else {
+                    removeHook(now);
+                }
+            }
+        }
+
+        private void checkInvariants(long now) {
+            FishingController.State state = controller.getState();
+            if (state != lastState) {
+                lastState = state;
+                stateSince = now;
+            }
+
+            if (useItemHeldTicks > MAX_KEY_HELD_TICKS) {
+                fail(now, "use key held", useItemHeldTicks + " ticks");
+                return;
+            }
+
+            boolean shouldFish = autoCatch && autoRecast && holdingRod && !safetyTriggered;
+
+            if (state == FishingController.State.IDLE && shouldFish) {
+                if (idleSince < 0) idleSince = now;
+                if (now - idleSince > IDLE_LIMIT) {
+                    fail(now, "idle with a rod", (now - idleSince) + "ms with auto-fishing on");
+                    return;
+                }
+            } else {
+                idleSince = -1;
+            }
+
+            if (shouldFish && !fishing) {
+                if (notFishingSince < 0) notFishingSince = now;
+                long waited = now - Math.max(notFishingSince, lastClickTime);
+                if (waited > NO_CAST_LIMIT) {
+                    fail(now, "no cast", "not fishing and no click for " + waited + "ms in " + state);
+                    return;
+                }
+            } else {
+                notFishingSince = -1;
+            }
+
+            if (state != FishingController.State.IDLE && now - stateSince > STUCK_LIMIT) {
+                fail(now, "stuck", state + " for " + (now - stateSince) + "ms");
+            }
+        }
+
+        private void fail(long now, String invariant, String detail) {
+            if (failure != null) return;
+            failure = invariant;
+            failureDetail = detail;
+            failureTime = now;
+        }
+
+        private void click(long now) {
+            lastClickTime = now;
+            if (responseTime >= 0 || !holdingRod) return;
+
+            if (fishing) {
+                respond(now, false);
+            } else if (failNextCast) {
+                failNextCast = false;
+            } else {
+                respond(now, true);
+            }
+        }
+
+        private void respond(long now, boolean spawnsHook) {
+            responseTime = now + BASE_LATENCY + serverLag;
+            responseSpawnsHook = spawnsHook;
+            serverLag = 0;
+        }
+
+        private void spawnHook(long now) {
+            fishing = true;
+            hookInLiquid = !dryNextCast;
+            dryNextCast = false;
+            if (loseNextPacket) {
+                loseNextPacket = false;
+                return;
+            }
+            controller.onCast(now, nextHookId++);
+        }
+
+        private void removeHook(long now) {
+            fishing = false;
+            if (loseNextPacket) {
+                loseNextPacket = false;
+                return;
+            }
+            controller.onReel(now);
+        }
+
+        @Override
+        public boolean isInGame() {
+            return true;
+        }
+
+        @Override
+        public boolean isFishing() {
+            return fishing;
+        }
+
+        @Override
+        public boolean isHoldingRod() {
+            return holdingRod;
+        }
+
+        @Override
+        public boolean isHookInLiquid() {
+            return hookInLiquid;
+        }
+
+        @Override
+        public boolean isJumpActive() {
+            return jumpTicks > 0;
+        }
+
+        @Override
+        public boolean isSafetyTriggered() {
+            return safetyTriggered;
+        }
+
+        @Override
+        public String getSafetyTriggerReason() {
+            return "Simulated safety trip";
+        }
+
+        @Override
+        public String getHeldItemName() {
+            return holdingRod ? "item.fishingRod" : "item.stick";
+        }
+
+        @Override
+        public void setUseItemPressed(boolean pressed) {
+            if (pressed && !useItemPressed) {
+                click(clock.millis());
+            }
+            useItemPressed = pressed;
+        }
+
+        @Override
+        public void useItem() {
+            click(clock.millis());
+        }
+
+        @Override
+        public void schedule(long dueTime, TimerWheel.Task task) {
+            scheduledTask = task;
+            scheduledDueTime = dueTime;
+        }
+
+        @Override
+        public void cancel() {
+            scheduledTask = null;
+        }
+
+        @Override
+        public void sendMessage(String message) {
+        }
+
+        // Settings, same defaults as GoFishConfig
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public double getSignalWeight(int signal) {
+            return 0.5;
+        }
+
+        @Override
+        public double getScoreThreshold() {
+            return 0.5;
+        }
+
+        @Override
+        public long getFusionWindow() {
+            return 250;
+        }
+
+        @Override
+        public boolean isAutoCatchEnabled() {
+            return autoCatch;
+        }
+
+        @Override
+        public void setAutoCatchEnabled(boolean enabled) {
+            autoCatch = enabled;
+        }
+
+        @Override
+        public int getMinCatchDelay() {
+            return 80;
+        }
+
+        @Override
+        public int getMaxCatchDelay() {
+            return 500;
+        }
+
+        @Override
+        public boolean isMissChanceEnabled() {
+            return true;
+        }
+
+        @Override
+        public int getMissChancePercentage() {
+            return 10;
+        }
+
+        @Override
+        public int getMinMissTimingOffset() {
+            return -500;
+        }
+
+        @Override
+        public int getMaxMissTimingOffset() {
+            return 800;
+        }
+
+        @Override
+        public boolean isAutoRecastEnabled() {
+            return autoRecast;
+        }
+
+        @Override
+        public void setAutoRecastEnabled(boolean enabled) {
+            autoRecast = enabled;
+        }
+
+        @Override
+        public int getMinRecastDelay() {
+            return 0;
+        }
+
+        @Override
+        public int getMaxRecastDelay() {
+            return 1000;
+        }
+
+        @Override
+        public long getCastIgnoreTime() {
+            return 2000;
+        }
+
+        @Override
+        public long getBiteCooldown() {
+            return 1000;
+        }
+
+        @Override
+        public boolean isLiquidDetectionEnabled() {
+            return true;
+        }
+
+        @Override
+        public int getMaxLiquidFailures() {
+            return 2;
+        }
+
+        @Override
+        public void save() {
+        }
+    }
+}